@@ -0,0 +1,31 @@
+package bricker.audio;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.IOException;
+
+/**
+ * The output the {@link SoundMixer} writes its mixed audio to.
+ */
+public interface AudioBackend {
+    /**
+     * Opens the output for audio of a format.
+     *
+     * @param format The format of the mixed audio.
+     * @throws IOException If the output cannot be opened.
+     */
+    void open(AudioFormat format) throws IOException;
+
+    /**
+     * Writes a block of mixed audio, blocking
+     * until the output is ready to take it.
+     *
+     * @param buffer The audio bytes.
+     * @param length The number of bytes to write.
+     */
+    void write(byte[] buffer, int length);
+
+    /**
+     * Closes the output.
+     */
+    void close();
+}
@@ -0,0 +1,63 @@
+package bricker.audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import java.io.IOException;
+
+/**
+ * Writes the mixed audio to the single source data line of the sound card.
+ */
+public class LineBackend implements AudioBackend {
+    private final int bufferBytes;
+    private SourceDataLine line;
+
+    /**
+     * Constructs a LineBackend.
+     *
+     * @param bufferBytes The size of the line's buffer, in bytes.
+     */
+    public LineBackend(int bufferBytes) {
+        this.bufferBytes = bufferBytes;
+    }
+
+    /**
+     * Opens and starts the line.
+     *
+     * @param format The format of the mixed audio.
+     * @throws IOException If no line of the format is available.
+     */
+    @Override
+    public void open(AudioFormat format) throws IOException {
+        try {
+            line = AudioSystem.getSourceDataLine(format);
+            line.open(format, bufferBytes);
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            throw new IOException("No audio line for " + format, e);
+        }
+        line.start();
+    }
+
+    /**
+     * Writes a block to the line, blocking while the line's buffer is full.
+     *
+     * @param buffer The audio bytes.
+     * @param length The number of bytes to write.
+     */
+    @Override
+    public void write(byte[] buffer, int length) {
+        line.write(buffer, 0, length);
+    }
+
+    /**
+     * Stops and closes the line.
+     */
+    @Override
+    public void close() {
+        if (line != null) {
+            line.stop();
+            line.close();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package bricker.audio;
+
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * Discards the mixed audio, for headless runs and tests.
+ *
+ * <p>Each block is held for as long as it would take to play, so the mixer
+ * runs at the same pace as with a real line. Without pacing, the blocks
+ * are taken as fast as the mixer produces them.
+ */
+public class NullBackend implements AudioBackend {
+    private final boolean paced;
+    private long bytesPerSecond;
+    private volatile long bytesWritten;
+
+    /**
+     * Constructs a NullBackend.
+     *
+     * @param paced Whether to hold every block for its playing time.
+     */
+    public NullBackend(boolean paced) {
+        this.paced = paced;
+    }
+
+    /**
+     * Remembers the byte rate of the format.
+     *
+     * @param format The format of the mixed audio.
+     */
+    @Override
+    public void open(AudioFormat format) {
+        bytesPerSecond = (long) (format.getFrameRate() * format.getFrameSize());
+    }
+
+    /**
+     * Discards a block, waiting for its playing time when paced.
+     *
+     * @param buffer The audio bytes.
+     * @param length The number of bytes to write.
+     */
+    @Override
+    public void write(byte[] buffer, int length) {
+        bytesWritten += length;
+        if (paced && bytesPerSecond > 0) {
+            try {
+                Thread.sleep(length * 1000L / bytesPerSecond);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Does nothing.
+     */
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Returns the number of audio bytes discarded so far.
+     *
+     * @return The bytes written.
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+}
@@ -0,0 +1,14 @@
+package bricker.audio;
+
+/**
+ * A short sound the game objects play, such as a collision sound.
+ *
+ * <p>It is played either by danogl directly or through the
+ * {@link SoundMixer}, without the game objects telling them apart.
+ */
+public interface SoundEffect {
+    /**
+     * Starts playing the sound.
+     */
+    void play();
+}
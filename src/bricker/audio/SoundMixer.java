@@ -0,0 +1,342 @@
+package bricker.audio;
+
+import bricker.utills.Constants;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Software mixer for the sound effects of the game.
+ *
+ * <p>Every sound is decoded once into 16-bit stereo samples at the mixer's
+ * rate. Playing a sound only queues it; one mixing thread takes the queued
+ * sounds into a fixed number of voices, adds the voices up block by block and
+ * writes the blocks to a single {@link AudioBackend}. So a swarm of pucks
+ * bouncing costs the game thread a queue offer per bounce, not a line each.
+ *
+ * <p>Plays of a sound within {@code coalesceNanos} of its last play are
+ * merged into that play, since they could not be heard apart. A play that
+ * finds every voice busy, the queue full or its sound not decoded yet, is
+ * dropped. The plays, merged plays and dropped plays are counted.
+ */
+public class SoundMixer {
+    private static final int CHANNELS = 2;
+    private static final int SAMPLE_BITS = 16;
+    private static final int BYTES_PER_SAMPLE = 2;
+    private final AudioBackend backend;
+    private final AudioFormat format = new AudioFormat(
+            Constants.MIXER_SAMPLE_RATE, SAMPLE_BITS, CHANNELS, true, false);
+    private final short[][] voiceSamples;
+    private final int[] voicePositions;
+    private final ArrayBlockingQueue<short[]> pending;
+    private final long coalesceNanos;
+    private final Map<String, MixedSound> loaded = new ConcurrentHashMap<>();
+    private final AtomicLong plays = new AtomicLong();
+    private final AtomicLong mergedPlays = new AtomicLong();
+    private final AtomicLong droppedPlays = new AtomicLong();
+    private Thread mixingThread;
+    private volatile boolean running;
+
+    /**
+     * Constructs a SoundMixer.
+     *
+     * @param backend       The output the mixed audio is written to.
+     * @param voices        The most sounds played at once.
+     * @param coalesceNanos The time within which plays of one sound are merged.
+     * @throws IllegalArgumentException If there are no voices.
+     */
+    public SoundMixer(AudioBackend backend, int voices, long coalesceNanos) {
+        if (voices < 1) {
+            throw new IllegalArgumentException("A mixer needs at least one voice");
+        }
+        this.backend = backend;
+        this.voiceSamples = new short[voices][];
+        this.voicePositions = new int[voices];
+        this.pending = new ArrayBlockingQueue<>(voices);
+        this.coalesceNanos = coalesceNanos;
+    }
+
+    /**
+     * Opens the backend and starts the mixing thread.
+     *
+     * @throws IOException If the backend cannot be opened.
+     */
+    public void start() throws IOException {
+        backend.open(format);
+        running = true;
+        mixingThread = new Thread(this::mix, "bricker-mixer");
+        mixingThread.setDaemon(true);
+        mixingThread.start();
+    }
+
+    /**
+     * Stops the mixing thread and closes the backend.
+     */
+    public void close() {
+        running = false;
+        if (mixingThread != null) {
+            try {
+                mixingThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        backend.close();
+    }
+
+    /**
+     * Returns a sound effect played through the mixer, decoding the sound
+     * file on the calling thread on the first request. A sound is decoded
+     * only once: a thread asking for a sound being decoded by another one
+     * waits for it. Sounds may be loaded from any thread.
+     *
+     * @param path The path of the sound file.
+     * @return The sound effect.
+     * @throws IOException If the file cannot be read or decoded.
+     */
+    public SoundEffect load(String path) throws IOException {
+        MixedSound sound = loaded.computeIfAbsent(path, MixedSound::new);
+        sound.decode();
+        return sound;
+    }
+
+    /**
+     * Returns a sound effect played through the mixer without decoding the
+     * sound file, for a thread that must not wait for it. Its plays are
+     * dropped until the sound is loaded, usually by a loader thread.
+     *
+     * @param path The path of the sound file.
+     * @return The sound effect.
+     */
+    public SoundEffect lookup(String path) {
+        return loaded.computeIfAbsent(path, MixedSound::new);
+    }
+
+    /**
+     * Returns the number of plays queued to the mixing thread.
+     *
+     * @return The play count.
+     */
+    public long getPlays() {
+        return plays.get();
+    }
+
+    /**
+     * Returns the number of plays merged into an earlier play of the same sound.
+     *
+     * @return The merged play count.
+     */
+    public long getMergedPlays() {
+        return mergedPlays.get();
+    }
+
+    /**
+     * Returns the number of plays dropped because every voice was busy.
+     *
+     * @return The dropped play count.
+     */
+    public long getDroppedPlays() {
+        return droppedPlays.get();
+    }
+
+    /**
+     * Summarizes the play counters.
+     *
+     * @return A one-line report.
+     */
+    public String report() {
+        return String.format("plays=%d merged=%d dropped=%d voices=%d",
+                getPlays(), getMergedPlays(), getDroppedPlays(), voiceSamples.length);
+    }
+
+    /**
+     * Queues a play of a sound, or counts it as dropped if the queue is full.
+     *
+     * @param samples The samples of the sound.
+     */
+    private void queue(short[] samples) {
+        if (pending.offer(samples)) {
+            plays.incrementAndGet();
+        } else {
+            droppedPlays.incrementAndGet();
+        }
+    }
+
+    /**
+     * The loop of the mixing thread: starts the queued sounds,
+     * adds up the voices and writes the block, until closed.
+     */
+    private void mix() {
+        int[] block = new int[Constants.MIXER_BLOCK_FRAMES * CHANNELS];
+        byte[] bytes = new byte[block.length * BYTES_PER_SAMPLE];
+        while (running) {
+            short[] samples;
+            while ((samples = pending.poll()) != null) {
+                startVoice(samples);
+            }
+
+            Arrays.fill(block, 0);
+            for (int voice = 0; voice < voiceSamples.length; voice++) {
+                short[] playing = voiceSamples[voice];
+                if (playing == null) {
+                    continue;
+                }
+                int position = voicePositions[voice];
+                int length = Math.min(block.length, playing.length - position);
+                for (int i = 0; i < length; i++) {
+                    block[i] += playing[position + i];
+                }
+                voicePositions[voice] = position + length;
+                if (position + length >= playing.length) {
+                    voiceSamples[voice] = null;
+                }
+            }
+
+            for (int i = 0; i < block.length; i++) {
+                int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, block[i]));
+                bytes[i * BYTES_PER_SAMPLE] = (byte) sample;
+                bytes[i * BYTES_PER_SAMPLE + 1] = (byte) (sample >> 8);
+            }
+            backend.write(bytes, bytes.length);
+        }
+    }
+
+    /**
+     * Starts a sound on a free voice, or counts it as dropped if none is free.
+     *
+     * @param samples The samples of the sound.
+     */
+    private void startVoice(short[] samples) {
+        for (int voice = 0; voice < voiceSamples.length; voice++) {
+            if (voiceSamples[voice] == null) {
+                voiceSamples[voice] = samples;
+                voicePositions[voice] = 0;
+                return;
+            }
+        }
+        droppedPlays.incrementAndGet();
+    }
+
+    /**
+     * Decodes a sound file into interleaved stereo samples at the mixer's rate.
+     *
+     * @param path The path of the sound file.
+     * @return The samples.
+     * @throws IOException If the file cannot be read or decoded.
+     */
+    private short[] decode(String path) throws IOException {
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(new File(path))) {
+            AudioFormat sourceFormat = source.getFormat();
+            int channels = sourceFormat.getChannels();
+            AudioFormat pcmFormat = new AudioFormat(sourceFormat.getSampleRate(),
+                    SAMPLE_BITS, channels, true, false);
+            byte[] bytes;
+            try (AudioInputStream pcm = AudioSystem.getAudioInputStream(pcmFormat, source)) {
+                bytes = pcm.readAllBytes();
+            }
+
+            // Resample linearly and map the channels to stereo
+            int frames = bytes.length / (BYTES_PER_SAMPLE * channels);
+            double ratio = sourceFormat.getSampleRate() / Constants.MIXER_SAMPLE_RATE;
+            int mixedFrames = (int) (frames / ratio);
+            short[] samples = new short[mixedFrames * CHANNELS];
+            for (int frame = 0; frame < mixedFrames; frame++) {
+                double at = frame * ratio;
+                int before = (int) at;
+                int after = Math.min(before + 1, frames - 1);
+                double fraction = at - before;
+                for (int channel = 0; channel < CHANNELS; channel++) {
+                    int sourceChannel = Math.min(channel, channels - 1);
+                    int first = sampleAt(bytes, before * channels + sourceChannel);
+                    int second = sampleAt(bytes, after * channels + sourceChannel);
+                    samples[frame * CHANNELS + channel] =
+                            (short) Math.round(first + (second - first) * fraction);
+                }
+            }
+            return samples;
+        } catch (UnsupportedAudioFileException | IllegalArgumentException e) {
+            throw new IOException("Cannot decode " + path, e);
+        }
+    }
+
+    /**
+     * Reads one little-endian 16-bit sample.
+     *
+     * @param bytes The audio bytes.
+     * @param index The index of the sample.
+     * @return The sample.
+     */
+    private static int sampleAt(byte[] bytes, int index) {
+        return (short) ((bytes[index * BYTES_PER_SAMPLE] & 0xFF)
+                | (bytes[index * BYTES_PER_SAMPLE + 1] << 8));
+    }
+
+    /**
+     * A sound played through the mixer, once decoded.
+     */
+    private class MixedSound implements SoundEffect {
+        private final FutureTask<short[]> decoding;
+        private volatile short[] samples;
+        private long lastPlayNanos = Long.MIN_VALUE;
+
+        /**
+         * Constructs a MixedSound, not decoded yet.
+         *
+         * @param path The path of the sound file.
+         */
+        MixedSound(String path) {
+            this.decoding = new FutureTask<>(() -> SoundMixer.this.decode(path));
+        }
+
+        /**
+         * Decodes the sound, unless it was decoded already,
+         * or waits for the thread decoding it.
+         *
+         * @throws IOException If the file cannot be read or decoded.
+         */
+        void decode() throws IOException {
+            decoding.run();
+            try {
+                samples = decoding.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException
+                        ? (IOException) e.getCause()
+                        : new IOException("Cannot decode the sound", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while decoding the sound", e);
+            }
+        }
+
+        /**
+         * Queues the sound, unless it was played within the merge window,
+         * or drops the play if the sound is not decoded yet.
+         */
+        @Override
+        public void play() {
+            short[] samples = this.samples;
+            if (samples == null) {
+                droppedPlays.incrementAndGet();
+                return;
+            }
+            long now = System.nanoTime();
+            if (lastPlayNanos != Long.MIN_VALUE && now - lastPlayNanos < coalesceNanos) {
+                mergedPlays.incrementAndGet();
+                return;
+            }
+            lastPlayNanos = now;
+            queue(samples);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package bricker.bench;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * A minimal micro-benchmark harness.
+ *
+ * <p>A Benchmark runs an operation for a number of warmup iterations and
+ * then for a number of measured iterations. For the measured iterations it
+ * reports the throughput, the bytes allocated per operation, the allocation
+ * rate and the number of garbage collections, which is what the JMH gc
+ * profiler would show for the same code.
+ */
+public class Benchmark {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double BYTES_PER_MB = 1024 * 1024;
+
+    /**
+     * A benchmarked operation.
+     */
+    public interface Operation {
+
+        /**
+         * Prepares the state for the next iteration. Not measured.
+         *
+         * @param operations The number of operations the iteration will run.
+         */
+        default void prepare(int operations) {
+        }
+
+        /**
+         * Runs the measured operations.
+         *
+         * @param operations The number of operations to run.
+         */
+        void run(int operations);
+    }
+
+    private final String name;
+    private final int operationsPerIteration;
+    private final int warmupIterations;
+    private final int measuredIterations;
+
+    /**
+     * Constructs a Benchmark.
+     *
+     * @param name                   The name printed in the report.
+     * @param operationsPerIteration The number of operations in one iteration.
+     * @param warmupIterations       The number of iterations that are not measured.
+     * @param measuredIterations     The number of measured iterations.
+     */
+    public Benchmark(String name, int operationsPerIteration,
+                     int warmupIterations, int measuredIterations) {
+        this.name = name;
+        this.operationsPerIteration = operationsPerIteration;
+        this.warmupIterations = warmupIterations;
+        this.measuredIterations = measuredIterations;
+    }
+
+    /**
+     * Returns the name of the benchmark.
+     *
+     * @return The benchmark name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Runs the operation and returns a one-line report.
+     *
+     * @param operation The operation to measure.
+     * @return The report line.
+     */
+    public String run(Operation operation) {
+        for (int i = 0; i < warmupIterations; i++) {
+            operation.prepare(operationsPerIteration);
+            operation.run(operationsPerIteration);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long nanos = 0;
+        long bytes = 0;
+        long collections = 0;
+        for (int i = 0; i < measuredIterations; i++) {
+            operation.prepare(operationsPerIteration);
+            long gcBefore = collectionCount();
+            long bytesBefore = THREADS.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            operation.run(operationsPerIteration);
+            nanos += System.nanoTime() - start;
+            bytes += THREADS.getThreadAllocatedBytes(threadId) - bytesBefore;
+            collections += collectionCount() - gcBefore;
+        }
+
+        long operations = (long) operationsPerIteration * measuredIterations;
+        double seconds = nanos / NANOS_PER_SECOND;
+        return String.format("%-28s %14.1f ops/s %12.1f B/op %10.1f MB/s %6d gc",
+                name, operations / seconds, (double) bytes / operations,
+                bytes / BYTES_PER_MB / seconds, collections);
+    }
+
+    /**
+     * Returns the total number of collections of all garbage collectors.
+     *
+     * @return The collection count.
+     */
+    private static long collectionCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+}
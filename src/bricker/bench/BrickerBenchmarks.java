@@ -0,0 +1,344 @@
+package bricker.bench;
+
+import bricker.brick_strategies.BasicCollisionStrategy;
+import bricker.brick_strategies.CollisionStrategyFactory;
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.BrickField;
+import bricker.gameobjects.Text;
+import bricker.gameobjects.Wall;
+import bricker.headless.HeadlessImageReader;
+import bricker.headless.HeadlessSession;
+import bricker.headless.HeadlessSoundReader;
+import bricker.level.LevelFile;
+import bricker.level.LevelWriter;
+import bricker.main.HeartDrawer;
+import bricker.physics.EntityKind;
+import bricker.utills.AssetCache;
+import bricker.utills.Constants;
+import bricker.utills.GameConfig;
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+import danogl.gui.rendering.TextRenderable;
+import danogl.util.Counter;
+import danogl.util.Vector2;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmarks for the hot paths of the game.
+ *
+ * <p>All benchmarks run against a headless game world. Pass a substring of a
+ * benchmark name as the first argument to run only the matching benchmarks.
+ * The heapPerBrick entries report the retained heap of a whole headless
+ * world divided by its number of bricks.
+ */
+public class BrickerBenchmarks {
+    private static final int WARMUP = 5;
+    private static final int MEASURED = 5;
+    private static final int SMALL_BATCH = 100_000;
+    private static final int FIELD_SIDE = 100;
+    private static final int GC_ROUNDS = 3;
+    private static final int LEVEL_SIDE = 1000;
+
+    private final List<Benchmark> benchmarks = new ArrayList<>();
+    private final List<Benchmark.Operation> operations = new ArrayList<>();
+
+    /**
+     * Entry point for the benchmarks.
+     *
+     * @param args Optional name filter.
+     */
+    public static void main(String[] args) {
+        String filter = args.length > 0 ? args[0] : "";
+        BrickerBenchmarks suite = new BrickerBenchmarks();
+        suite.register();
+        for (int i = 0; i < suite.benchmarks.size(); i++) {
+            Benchmark benchmark = suite.benchmarks.get(i);
+            if (benchmark.getName().contains(filter)) {
+                System.out.println(benchmark.run(suite.operations.get(i)));
+            }
+        }
+        if ("heapPerBrick".contains(filter)) {
+            heapPerBrick(100, 100);
+            heapPerBrick(1000, 1000);
+        }
+    }
+
+    /**
+     * Prints the heap retained by a headless world per brick.
+     *
+     * @param bricksInRow  The number of bricks in each row.
+     * @param amountOfRows The number of rows of bricks.
+     */
+    private static void heapPerBrick(int bricksInRow, int amountOfRows) {
+        long before = usedHeap();
+        HeadlessSession session = new HeadlessSession(bricksInRow, amountOfRows);
+        long after = usedHeap();
+        Reference.reachabilityFence(session);
+        System.out.println(String.format("%-28s %14.1f B/brick",
+                "heapPerBrick " + bricksInRow + "x" + amountOfRows,
+                (double) (after - before) / ((long) bricksInRow * amountOfRows)));
+    }
+
+    /**
+     * Returns the used heap after a few garbage collections.
+     *
+     * @return The used heap in bytes.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Registers every benchmark of the suite.
+     */
+    private void register() {
+        add(new Benchmark("brickFieldHit", FIELD_SIDE * FIELD_SIDE, WARMUP, MEASURED),
+                new BrickFieldHit());
+        add(new Benchmark("ballBounce", SMALL_BATCH, WARMUP, MEASURED),
+                new BallBounce());
+        add(new Benchmark("randomCollisionStrategy", SMALL_BATCH, WARMUP, MEASURED),
+                new StrategyCreation());
+        add(new Benchmark("generateBricks 8x7", 100, WARMUP, MEASURED),
+                operations -> generateLevels(operations, 8, 7));
+        add(new Benchmark("generateBricks 100x100", 1, WARMUP, MEASURED),
+                operations -> generateLevels(operations, 100, 100));
+        add(new Benchmark("generateBricks 1000x1000", 1, 1, 3),
+                operations -> generateLevels(operations, 1000, 1000));
+        add(new Benchmark("levelOpen 1000x1000", 100, WARMUP, MEASURED),
+                new LevelLoad(false));
+        add(new Benchmark("levelScan 1000x1000", 1, WARMUP, MEASURED),
+                new LevelLoad(true));
+        add(new Benchmark("heartDrawerDraw", SMALL_BATCH, WARMUP, MEASURED),
+                new HeartDrawing());
+    }
+
+    /**
+     * Adds a benchmark and its operation to the suite.
+     *
+     * @param benchmark The benchmark settings.
+     * @param operation The measured operation.
+     */
+    private void add(Benchmark benchmark, Benchmark.Operation operation) {
+        benchmarks.add(benchmark);
+        operations.add(operation);
+    }
+
+    /**
+     * Builds complete game worlds. The brick grid dominates the cost on
+     * large layouts.
+     *
+     * @param operations   The number of worlds to build.
+     * @param bricksInRow  The number of bricks in each row.
+     * @param amountOfRows The number of rows of bricks.
+     */
+    private static void generateLevels(int operations, int bricksInRow, int amountOfRows) {
+        for (int i = 0; i < operations; i++) {
+            new HeadlessSession(bricksInRow, amountOfRows);
+        }
+    }
+
+    /**
+     * Creates a strategy factory bound to a headless session.
+     *
+     * @param session The session that owns the game objects.
+     * @return A new collision strategy factory.
+     */
+    private static CollisionStrategyFactory newFactory(HeadlessSession session) {
+        return new CollisionStrategyFactory(
+                new Counter(),
+                session.gameManager().gameObjects(),
+                session.gameManager().getBrickGrid(),
+                session.gameManager(),
+                new AssetCache(
+                        new HeadlessImageReader(session.window().controller()),
+                        new HeadlessSoundReader(session.window().controller()),
+                        Constants.ASSET_CACHE_SIZE),
+                new Counter(Constants.INITIAL_LIFE_AMOUNT),
+                session.gameManager().getPuckPool(),
+                session.input().listener(),
+                new Counter(),
+                new Counter(),
+                Constants.HEART_DIMENSIONS,
+                Constants.WINDOWS_DIMENSIONS,
+                new Random(),
+                GameConfig.DEFAULT);
+    }
+
+    /**
+     * Creates a silent ball in the middle of the window.
+     *
+     * @return A new ball.
+     */
+    private static Ball newBall() {
+        return new Ball(Constants.WINDOWS_DIMENSIONS.mult(Constants.HALF),
+                Constants.BALL_DIMENSIONS, null, null,
+                new Counter(Constants.INITIAL_LIFE_AMOUNT),
+                Constants.BALL_SPEED, new Random());
+    }
+
+    /**
+     * Hits every brick of a fresh field carrying random strategy ids.
+     */
+    private static class BrickFieldHit implements Benchmark.Operation {
+        private BrickField field;
+        private Ball ball;
+
+        @Override
+        public void prepare(int operations) {
+            HeadlessSession session = new HeadlessSession(
+                    Constants.DEFAULT_BRICKS_COL, Constants.DEFAULT_BRICKS_ROW);
+            CollisionStrategyFactory factory = newFactory(session);
+            field = new BrickField(Vector2.ZERO, Constants.PADDING, Constants.BRICK_LENGTH,
+                    FIELD_SIDE, FIELD_SIDE, null, new Counter(operations));
+            for (int row = 0; row < FIELD_SIDE; row++) {
+                for (int col = 0; col < FIELD_SIDE; col++) {
+                    int id = factory.RandomCollisionStrategyId(Constants.DEFAULT_BOUND, 0);
+                    field.setBrick(col, row, id, factory.strategyOf(id));
+                }
+            }
+            ball = newBall();
+        }
+
+        @Override
+        public void run(int operations) {
+            for (int i = 0; i < operations; i++) {
+                field.hit(i, ball);
+            }
+        }
+    }
+
+    /**
+     * Bounces a ball off a wall, alternating the surface normal.
+     */
+    private static class BallBounce implements Benchmark.Operation {
+        private final Ball ball = newBall();
+        private final Wall wall = new Wall(Vector2.ZERO,
+                Constants.BALL_DIMENSIONS, EntityKind.WALL);
+
+        @Override
+        public void run(int operations) {
+            for (int i = 0; i < operations; i++) {
+                ball.handleCollision(wall, (i & 1) == 0 ? Vector2.UP : Vector2.LEFT);
+            }
+        }
+    }
+
+    /**
+     * Rolls new collision strategies, including double actions.
+     */
+    private static class StrategyCreation implements Benchmark.Operation {
+        private CollisionStrategyFactory factory;
+
+        @Override
+        public void prepare(int operations) {
+            HeadlessSession session = new HeadlessSession(
+                    Constants.DEFAULT_BRICKS_COL, Constants.DEFAULT_BRICKS_ROW);
+            factory = newFactory(session);
+        }
+
+        @Override
+        public void run(int operations) {
+            for (int i = 0; i < operations; i++) {
+                factory.RandomCollisionStrategy(Constants.DEFAULT_BOUND,
+                        new BasicCollisionStrategy());
+            }
+        }
+    }
+
+    /**
+     * Opens a level file of {@value #LEVEL_SIDE}x{@value #LEVEL_SIDE} cells,
+     * and optionally reads every cell of it.
+     */
+    private static class LevelLoad implements Benchmark.Operation {
+        private final boolean scan;
+        private Path file;
+        private long sink;
+
+        LevelLoad(boolean scan) {
+            this.scan = scan;
+        }
+
+        @Override
+        public void prepare(int operations) {
+            if (file != null) {
+                return;
+            }
+            Random random = new Random(0);
+            try {
+                file = Files.createTempFile("bricker", ".lvl");
+                file.toFile().deleteOnExit();
+                try (LevelWriter writer = new LevelWriter(file, LEVEL_SIDE, LEVEL_SIDE, 0L)) {
+                    for (int i = 0; i < LEVEL_SIDE * LEVEL_SIDE; i++) {
+                        writer.writeCell(LevelFile.BRICK, (short) random.nextInt(5));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void run(int operations) {
+            try {
+                for (int i = 0; i < operations; i++) {
+                    LevelFile level = new LevelFile(file);
+                    sink += level.getCols();
+                    if (scan) {
+                        for (int row = 0; row < level.getRows(); row++) {
+                            for (int col = 0; col < level.getCols(); col++) {
+                                sink += level.getStrategyId(col, row);
+                            }
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Redraws the life display, alternating between two life counts.
+     */
+    private static class HeartDrawing implements Benchmark.Operation {
+        private Counter lifeLeft;
+        private HeartDrawer heartDrawer;
+
+        @Override
+        public void prepare(int operations) {
+            HeadlessSession session = new HeadlessSession(
+                    Constants.DEFAULT_BRICKS_COL, Constants.DEFAULT_BRICKS_ROW);
+            GameObjectCollection gameObjects = session.gameManager().gameObjects();
+            lifeLeft = new Counter(Constants.INITIAL_LIFE_AMOUNT);
+            Text text = new Text(Constants.TEXT_LOCATION, Constants.TEXT_DIMENSIONS,
+                    new TextRenderable(String.valueOf(lifeLeft.value())),
+                    lifeLeft);
+            heartDrawer = new HeartDrawer(Constants.HEART_POSITION,
+                    Constants.HEART_DIMENSIONS, lifeLeft, null, gameObjects, text);
+        }
+
+        @Override
+        public void run(int operations) {
+            for (int i = 0; i < operations; i++) {
+                if ((i & 1) == 0) {
+                    lifeLeft.decrement();
+                } else {
+                    lifeLeft.increment();
+                }
+                heartDrawer.Draw();
+            }
+        }
+    }
+}
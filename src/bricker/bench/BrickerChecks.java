@@ -0,0 +1,1025 @@
+package bricker.bench;
+
+import bricker.brick_strategies.BasicCollisionStrategy;
+import bricker.brick_strategies.CollisionStrategy;
+import bricker.brick_strategies.CollisionStrategyFactory;
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.BrickField;
+import bricker.gameobjects.Text;
+import bricker.gameobjects.Wall;
+import bricker.headless.HeadlessSession;
+import bricker.level.LevelFile;
+import bricker.level.LevelWriter;
+import bricker.main.BrickerGameManager;
+import bricker.main.HeartDrawer;
+import bricker.physics.BrickGrid;
+import bricker.physics.EntityKind;
+import bricker.physics.SweepHit;
+import bricker.physics.SweptCollisions;
+import bricker.physics.TrajectoryPredictor;
+import bricker.replay.ReplayPlayer;
+import bricker.replay.ReplayRecorder;
+import bricker.snapshot.GameSnapshot;
+import bricker.snapshot.SessionRandom;
+import bricker.utills.Constants;
+import bricker.utills.GameConfig;
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+import danogl.collisions.Layer;
+import danogl.util.Counter;
+import danogl.util.Vector2;
+
+import java.awt.Color;
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Checks of the behavior the benchmarks rely on.
+ *
+ * <p>Every check runs against a headless game world or the pure parts of
+ * the game and throws an {@link IllegalStateException} when the behavior is
+ * wrong. Pass a substring of a check name as the first argument to run only
+ * the matching checks. The process exits with status 1 if any check fails.
+ */
+public class BrickerChecks {
+    private static final int HEART_DRAWS = 10_000;
+    private static final float CELL = 10;
+    private static final int GRID_COLS = 10;
+    private static final int GRID_ROWS = 5;
+    private static final float FLOOR = 200;
+    private static final Vector2 BODY_DIMENSIONS = new Vector2(10, 10);
+    private static final int MAX_BOUNCES = 8;
+    private static final float STEP = 0.125f;
+    private static final float THIN_CELL = 2;
+    private static final float FAST_SPEED = 1024;
+    private static final float CORNER_SPEED = 160;
+    private static final float SLIDE_SPEED = 128;
+    private static final int SLIDE_STEPS = 40;
+    private static final float TOLERANCE = 1e-3f;
+    private static final long SESSION_SEED = 42;
+    private static final int REPLAY_FRAMES = 1200;
+    private static final int SNAPSHOT_FRAMES = 600;
+    private static final int RANDOM_DRAWS = 1000;
+    private static final float CONTACT_MARGIN = 20;
+    private static final Set<EntityKind> MOVING_KINDS = EnumSet.of(
+            EntityKind.BALL, EntityKind.PUCK, EntityKind.FALLING_HEART);
+    private static final Set<EntityKind> CONTACT_KINDS = EnumSet.of(
+            EntityKind.BALL, EntityKind.PUCK, EntityKind.FALLING_HEART,
+            EntityKind.PADDLE, EntityKind.TEMP_PADDLE, EntityKind.BOT_PADDLE,
+            EntityKind.WALL, EntityKind.CEILING, EntityKind.FLOOR);
+    private static final float PADDLE_SLACK = 10;
+    private static final int LEVEL_COLS = 3;
+    private static final int LEVEL_ROWS = 2;
+    private static final int ID_ROLLS = 100_000;
+    private static final int DOUBLE_ACTION_BOUND = 5;
+
+    /**
+     * A named check.
+     */
+    private interface Check {
+
+        /**
+         * Runs the check.
+         *
+         * @throws IllegalStateException If the checked behavior is wrong.
+         */
+        void run();
+    }
+
+    private final List<String> names = new ArrayList<>();
+    private final List<Check> checks = new ArrayList<>();
+
+    /**
+     * Entry point for the checks.
+     *
+     * @param args Optional name filter.
+     */
+    public static void main(String[] args) {
+        String filter = args.length > 0 ? args[0] : "";
+        BrickerChecks suite = new BrickerChecks();
+        suite.register();
+        int failures = 0;
+        for (int i = 0; i < suite.checks.size(); i++) {
+            String name = suite.names.get(i);
+            if (!name.contains(filter)) {
+                continue;
+            }
+            try {
+                suite.checks.get(i).run();
+                System.out.println("ok     " + name);
+            } catch (IllegalStateException e) {
+                failures++;
+                System.out.println("FAILED " + name + ": " + e.getMessage());
+            }
+        }
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Registers every check of the suite.
+     */
+    private void register() {
+        add("heartDrawerKeepsObjects", BrickerChecks::heartDrawerKeepsObjects);
+        add("castRayHitsBrick", BrickerChecks::castRayHitsBrick);
+        add("castRayStopsShort", BrickerChecks::castRayStopsShort);
+        add("castRayGridEdges", BrickerChecks::castRayGridEdges);
+        add("raycastFindsBricks", BrickerChecks::raycastFindsBricks);
+        add("sweptStopsTunnelling", BrickerChecks::sweptStopsTunnelling);
+        add("sweptCornerNormals", BrickerChecks::sweptCornerNormals);
+        add("sweptRestingContact", BrickerChecks::sweptRestingContact);
+        add("predictorPicksZones", BrickerChecks::predictorPicksZones);
+        add("predictorBouncesOffWall", BrickerChecks::predictorBouncesOffWall);
+        add("predictorKeepsPaths", BrickerChecks::predictorKeepsPaths);
+        add("replayReproducesSession", BrickerChecks::replayReproducesSession);
+        add("levelFileRejectsBadFiles", BrickerChecks::levelFileRejectsBadFiles);
+        add("snapshotRestoresSession", BrickerChecks::snapshotRestoresSession);
+        add("sessionRandomRestoresDraws", BrickerChecks::sessionRandomRestoresDraws);
+        add("strategyIdsFitCells", BrickerChecks::strategyIdsFitCells);
+    }
+
+    /**
+     * Adds a check to the suite.
+     *
+     * @param name  The name printed in the report.
+     * @param check The check.
+     */
+    private void add(String name, Check check) {
+        names.add(name);
+        checks.add(check);
+    }
+
+    /**
+     * Fails a check unless a condition holds.
+     *
+     * @param condition The checked condition.
+     * @param message   The failure message.
+     * @throws IllegalStateException If the condition does not hold.
+     */
+    private static void expect(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+
+    /**
+     * Fails a check unless a number is close to the expected one.
+     *
+     * @param actual   The number found.
+     * @param expected The number expected.
+     * @param what     What the number is, for the failure message.
+     * @throws IllegalStateException If the numbers differ.
+     */
+    private static void expectNear(float actual, float expected, String what) {
+        expect(Math.abs(actual - expected) <= TOLERANCE,
+                what + " is " + actual + ", expected " + expected);
+    }
+
+    /**
+     * Creates a field of {@value #GRID_COLS}x{@value #GRID_ROWS} cells of
+     * {@value #CELL} units from the origin, with bricks standing in the given cells.
+     *
+     * @param cells The column and row of every standing brick, in pairs.
+     * @return The field.
+     */
+    private static BrickField newField(int... cells) {
+        BrickField field = new BrickField(Vector2.ZERO, CELL, CELL, GRID_COLS, GRID_ROWS,
+                null, new Counter(cells.length / 2));
+        for (int i = 0; i < cells.length; i += 2) {
+            field.setStanding(cells[i], cells[i + 1]);
+        }
+        return field;
+    }
+
+    /**
+     * Creates a field of {@value #GRID_COLS}x{@value #GRID_ROWS} cells of
+     * {@value #CELL} units wide from the origin, with basic bricks, which
+     * can be hit, standing in the given cells.
+     *
+     * @param cellHeight The height of the cells.
+     * @param cells      The column and row of every standing brick, in pairs.
+     * @return The field.
+     */
+    private static BrickField newHitField(float cellHeight, int... cells) {
+        BrickField field = new BrickField(Vector2.ZERO, CELL, cellHeight, GRID_COLS, GRID_ROWS,
+                null, new Counter(cells.length / 2));
+        CollisionStrategy basic = new BasicCollisionStrategy();
+        for (int i = 0; i < cells.length; i += 2) {
+            field.setBrick(cells[i], cells[i + 1], 0, basic);
+        }
+        return field;
+    }
+
+    /**
+     * Moves every body tracked by a grid along its velocity for one step,
+     * as the engine does, then resolves their contacts with the bricks.
+     *
+     * @param grid      The grid.
+     * @param deltaTime The length of the step.
+     */
+    private static void integrate(BrickGrid grid, float deltaTime) {
+        for (Ball body : grid.getBodies()) {
+            body.setTopLeftCorner(body.getTopLeftCorner().add(body.getVelocity().mult(deltaTime)));
+        }
+        grid.resolveContacts();
+    }
+
+    /**
+     * Creates a ball or puck tracked by a grid.
+     *
+     * @param grid     The grid.
+     * @param center   The center of the body.
+     * @param velocity The velocity of the body.
+     * @return The body.
+     */
+    private static Ball newBody(BrickGrid grid, Vector2 center, Vector2 velocity) {
+        Ball body = new Ball(Vector2.ZERO, BODY_DIMENSIONS, null, null,
+                new Counter(Constants.INITIAL_LIFE_AMOUNT), Constants.BALL_SPEED, new Random(0));
+        body.setCenter(center);
+        body.setVelocity(velocity);
+        grid.track(body);
+        return body;
+    }
+
+    /**
+     * Drops a fast body onto a brick thinner than its motion in one step,
+     * and checks that it passes through without a sweep, while the sweep
+     * breaks the brick and bounces the body back from its top.
+     */
+    private static void sweptStopsTunnelling() {
+        BrickField unswept = newHitField(THIN_CELL, 2, 3);
+        BrickGrid unsweptGrid = new BrickGrid(unswept);
+        newBody(unsweptGrid, new Vector2(25, -20), new Vector2(0, FAST_SPEED));
+        integrate(unsweptGrid, STEP);
+        expect(unswept.isAlive(unswept.indexOf(2, 3)),
+                "a body hit the thin brick without a sweep, so nothing tunnels");
+
+        BrickField field = newHitField(THIN_CELL, 2, 3);
+        BrickGrid grid = new BrickGrid(field);
+        Ball body = newBody(grid, new Vector2(25, -20), new Vector2(0, FAST_SPEED));
+        new SweptCollisions(grid, Constants.MAX_SWEEP_HITS).sweep(STEP);
+        integrate(grid, STEP);
+        expect(!field.isAlive(field.indexOf(2, 3)), "a fast body passed through the thin brick");
+        expect(body.getVelocity().y() == -FAST_SPEED, "a fast body did not bounce off the thin brick");
+        expectNear(body.getTopLeftCorner().y(), -111, "the top of the body after the bounce");
+    }
+
+    /**
+     * Sends bodies diagonally at a brick, just past its top left corner, and
+     * checks that the one reaching its top last bounces off the top and
+     * the one reaching its side last bounces off the side.
+     */
+    private static void sweptCornerNormals() {
+        Ball top = sweepOnce(new Vector2(27, 23), new Vector2(CORNER_SPEED, CORNER_SPEED));
+        expect(top.getVelocity().x() == CORNER_SPEED && top.getVelocity().y() == -CORNER_SPEED,
+                "a body reaching the top of the brick last did not bounce off the top");
+        expectNear(top.getTopLeftCorner().x(), 42, "the left of the body off the top");
+        expectNear(top.getTopLeftCorner().y(), 2, "the top of the body off the top");
+
+        Ball side = sweepOnce(new Vector2(23, 27), new Vector2(CORNER_SPEED, CORNER_SPEED));
+        expect(side.getVelocity().x() == -CORNER_SPEED && side.getVelocity().y() == CORNER_SPEED,
+                "a body reaching the side of the brick last did not bounce off the side");
+        expectNear(side.getTopLeftCorner().x(), 2, "the left of the body off the side");
+        expectNear(side.getTopLeftCorner().y(), 42, "the top of the body off the side");
+    }
+
+    /**
+     * Sweeps a body for one step at a brick standing in cell 3,3.
+     *
+     * @param center   The center of the body.
+     * @param velocity The velocity of the body.
+     * @return The body after the step.
+     */
+    private static Ball sweepOnce(Vector2 center, Vector2 velocity) {
+        BrickField field = newHitField(CELL, 3, 3);
+        BrickGrid grid = new BrickGrid(field);
+        Ball body = newBody(grid, center, velocity);
+        new SweptCollisions(grid, Constants.MAX_SWEEP_HITS).sweep(STEP);
+        integrate(grid, STEP);
+        expect(!field.isAlive(field.indexOf(3, 3)), "a body sent at the corner missed the brick");
+        return body;
+    }
+
+    /**
+     * Slides a body along the top of a row of bricks into a wall and back,
+     * and checks that only the wall is hit, once: resting on the bricks
+     * and touching the wall after the bounce are no contacts.
+     */
+    private static void sweptRestingContact() {
+        int[] row = new int[GRID_COLS * 2];
+        for (int col = 0; col < GRID_COLS; col++) {
+            row[col * 2] = col;
+            row[col * 2 + 1] = 3;
+        }
+        BrickField field = newHitField(CELL, row);
+        BrickGrid grid = new BrickGrid(field);
+        Ball body = newBody(grid, new Vector2(5, 25), new Vector2(SLIDE_SPEED, 0));
+        SweptCollisions swept = new SweptCollisions(grid, Constants.MAX_SWEEP_HITS);
+        swept.setObstacles(List.<GameObject>of(new Wall(new Vector2(GRID_COLS * CELL, 0),
+                new Vector2(CELL, FLOOR), EntityKind.WALL)));
+
+        for (int step = 0; step < SLIDE_STEPS; step++) {
+            swept.sweep(STEP);
+            integrate(grid, STEP);
+        }
+        expect(body.getCollisionCounter() == 1,
+                "a body sliding into the wall and back had " + body.getCollisionCounter() + " hits");
+        expect(BitSet.valueOf(field.getStandingBits()).cardinality() == GRID_COLS,
+                "a body resting on the bricks broke some of them");
+        expect(body.getVelocity().x() == -SLIDE_SPEED && body.getVelocity().y() == 0,
+                "a body sliding into the wall did not bounce straight back");
+    }
+
+    /**
+     * Creates a predictor over a grid, between walls at the sides of the
+     * field, the ceiling at its top and the floor at {@value #FLOOR}.
+     *
+     * @param grid The grid.
+     * @return The predictor.
+     */
+    private static TrajectoryPredictor newPredictor(BrickGrid grid) {
+        return new TrajectoryPredictor(grid, 0, 0, GRID_COLS * CELL, FLOOR, MAX_BOUNCES);
+    }
+
+    /**
+     * Casts rays at standing bricks, across a column and across a row, and
+     * checks the brick, the time of impact and the side that was hit.
+     */
+    private static void castRayHitsBrick() {
+        BrickField field = newField(5, 2, 2, 4);
+        BrickGrid grid = new BrickGrid(field);
+
+        SweepHit hit = new SweepHit();
+        grid.castRay(25, 25, 100, 0, hit);
+        expect(hit.isHit() && hit.getCell() == field.indexOf(5, 2),
+                "a ray to the right missed the brick at 5,2");
+        expectNear(hit.getTime(), 0.25f, "the time of impact on the left side");
+        expect(hit.getNormal().x() != 0 && hit.getNormal().y() == 0,
+                "a brick entered across a column was not hit on its side");
+
+        hit.clear();
+        grid.castRay(25, 25, 0, 100, hit);
+        expect(hit.isHit() && hit.getCell() == field.indexOf(2, 4),
+                "a ray downwards missed the brick at 2,4");
+        expectNear(hit.getTime(), 0.15f, "the time of impact on the top side");
+        expect(hit.getNormal().x() == 0 && hit.getNormal().y() != 0,
+                "a brick entered across a row was not hit on its top");
+    }
+
+    /**
+     * Casts rays that end before a brick, as a path stopped by a wall,
+     * that start inside a brick, or that pass where a brick was cleared,
+     * and checks that none of them hits.
+     */
+    private static void castRayStopsShort() {
+        BrickField field = newField(5, 2, 2, 2);
+        BrickGrid grid = new BrickGrid(field);
+
+        SweepHit hit = new SweepHit();
+        grid.castRay(25, 25, 20, 0, hit);
+        expect(!hit.isHit(), "a ray ending before the brick at 5,2 hit cell " + hit.getCell());
+
+        grid.castRay(25, 25, 0, -100, hit);
+        expect(!hit.isHit(), "a ray leaving the brick it starts in hit cell " + hit.getCell());
+
+        BitSet standing = BitSet.valueOf(field.getStandingBits());
+        standing.clear(field.indexOf(5, 2));
+        field.restoreStandingBits(standing.toLongArray());
+        grid.castRay(25, 25, 100, 0, hit);
+        expect(!hit.isHit(), "a ray hit the cleared brick at 5,2");
+    }
+
+    /**
+     * Casts rays from outside the grid and out of it, and checks that a
+     * ray entering the grid hits its first brick while rays leaving it or
+     * moving away from it end without a hit.
+     */
+    private static void castRayGridEdges() {
+        BrickField field = newField(0, 2, GRID_COLS - 1, 0);
+        BrickGrid grid = new BrickGrid(field);
+
+        SweepHit hit = new SweepHit();
+        grid.castRay(-15, 25, 100, 0, hit);
+        expect(hit.isHit() && hit.getCell() == field.indexOf(0, 2),
+                "a ray entering the grid from the left missed the brick at 0,2");
+        expectNear(hit.getTime(), 0.15f, "the time of impact from outside the grid");
+
+        hit.clear();
+        grid.castRay(-15, 25, -100, 0, hit);
+        expect(!hit.isHit(), "a ray moving away from the grid hit cell " + hit.getCell());
+
+        grid.castRay(55, 45, 0, 1000, hit);
+        expect(!hit.isHit(), "a ray leaving the grid downwards hit cell " + hit.getCell());
+
+        grid.castRay(GRID_COLS * CELL - 5, 45, 0, -1000, hit);
+        expect(hit.isHit() && hit.getCell() == field.indexOf(GRID_COLS - 1, 0),
+                "a ray upwards along the last column missed the brick in its top row");
+    }
+
+    /**
+     * Casts rays through the grid query and checks that it finds the brick
+     * a ray starts in, finds the same brick as the ray walk otherwise and
+     * stops at the length of the ray.
+     */
+    private static void raycastFindsBricks() {
+        BrickField field = newField(5, 2, 2, 2);
+        BrickGrid grid = new BrickGrid(field);
+
+        expect(grid.raycast(new Vector2(25, 25), Vector2.RIGHT, 100) == field.indexOf(2, 2),
+                "a ray starting in the brick at 2,2 did not find it");
+        expect(grid.raycast(new Vector2(35, 25), Vector2.RIGHT, 100) == field.indexOf(5, 2),
+                "a ray to the right missed the brick at 5,2");
+        expect(grid.raycast(new Vector2(35, 25), new Vector2(10, 0), 1) == -1,
+                "a ray ending before the brick at 5,2 found a brick");
+        expect(grid.raycast(new Vector2(35, 25), new Vector2(10, 0), 2) == field.indexOf(5, 2),
+                "a ray reaching the brick at 5,2 did not find it");
+        expect(grid.raycast(new Vector2(35, 25), Vector2.LEFT, 100) == field.indexOf(2, 2),
+                "a ray to the left missed the brick at 2,2");
+        expect(grid.raycast(new Vector2(-15, 25), Vector2.LEFT, 100) == -1,
+                "a ray moving away from the grid found a brick");
+    }
+
+    /**
+     * Drops bodies towards a lane of two zones and checks that every zone
+     * keeps the soonest crossing over it, and that a zone nothing crosses
+     * has no target.
+     */
+    private static void predictorPicksZones() {
+        BrickGrid grid = new BrickGrid(newField());
+        TrajectoryPredictor predictor = newPredictor(grid);
+        int lane = predictor.addLane(150, true, 2);
+        int second = predictor.addLane(150, true, 2);
+        expectNear(predictor.zoneCenter(lane, 0), 25, "the center of the left zone");
+        expectNear(predictor.zoneCenter(lane, 1), 75, "the center of the right zone");
+
+        newBody(grid, new Vector2(35, 100), new Vector2(0, 100));
+        predictor.update();
+        expectNear(predictor.getTargetX(lane, 0), 35, "the left target");
+        expectNear(predictor.getTargetTime(lane, 0), 0.5f, "the time to the left target");
+        expect(Float.isNaN(predictor.getTargetX(lane, 1)),
+                "the right zone has a target with nothing crossing it");
+
+        newBody(grid, new Vector2(75, 60), new Vector2(0, 100));
+        newBody(grid, new Vector2(15, 140), new Vector2(0, 100));
+        predictor.update();
+        expectNear(predictor.getTargetX(lane, 0), 15, "the soonest left target");
+        expectNear(predictor.getTargetTime(lane, 0), 0.1f, "the time to the soonest left target");
+        expectNear(predictor.getTargetX(lane, 1), 75, "the right target");
+        expectNear(predictor.getTargetX(second, 1), 75, "the right target of the second lane");
+    }
+
+    /**
+     * Sends a body towards the right wall and checks that it is predicted
+     * to cross the lane on the far side of its bounce.
+     */
+    private static void predictorBouncesOffWall() {
+        BrickGrid grid = new BrickGrid(newField());
+        TrajectoryPredictor predictor = newPredictor(grid);
+        int lane = predictor.addLane(130, true, 2);
+
+        newBody(grid, new Vector2(90, 100), new Vector2(100, 100));
+        predictor.update();
+        expectNear(predictor.getTargetX(lane, 1), 70, "the target after the wall");
+        expectNear(predictor.getTargetTime(lane, 1), 0.3f, "the time to the target after the wall");
+        expect(Float.isNaN(predictor.getTargetX(lane, 0)),
+                "the body was predicted in the zone it bounced away from");
+    }
+
+    /**
+     * Follows a body along its path and checks that the path is kept while
+     * the body stays on it, and computed again when its velocity changes
+     * or a brick it bounces off is cleared.
+     */
+    private static void predictorKeepsPaths() {
+        BrickField field = newField(2, 4);
+        BrickGrid grid = new BrickGrid(field);
+        TrajectoryPredictor predictor = newPredictor(grid);
+        int lane = predictor.addLane(150, true, 1);
+
+        Ball body = newBody(grid, new Vector2(25, 100), new Vector2(0, -100));
+        predictor.update();
+        expect(predictor.getComputedPaths() == 1,
+                "the first update computed " + predictor.getComputedPaths() + " paths");
+        expectNear(predictor.getTargetTime(lane, 0), 1.5f, "the time to the lane after the brick");
+
+        body.setCenter(new Vector2(25, 90));
+        predictor.update();
+        expect(predictor.getComputedPaths() == 1, "a body still on its path had it computed again");
+        expectNear(predictor.getTargetTime(lane, 0), 1.4f, "the time left along the kept path");
+
+        BitSet standing = BitSet.valueOf(field.getStandingBits());
+        standing.clear(field.indexOf(2, 4));
+        field.restoreStandingBits(standing.toLongArray());
+        predictor.update();
+        expect(predictor.getComputedPaths() == 2,
+                "clearing the brick the path bounces off did not compute the path again");
+
+        body.setVelocity(new Vector2(0, 100));
+        predictor.update();
+        expect(predictor.getComputedPaths() == 3,
+                "changing the velocity did not compute the path again");
+        expectNear(predictor.getTargetTime(lane, 0), 0.6f, "the time to the lane after turning");
+
+        predictor.invalidate();
+        predictor.update();
+        expect(predictor.getComputedPaths() == 4, "invalidating did not compute the path again");
+    }
+
+    /**
+     * Plays a headless game for a number of frames or until it is over,
+     * steering the paddle towards the ball with the arrow keys and changing
+     * the frame time from frame to frame.
+     *
+     * @param session The game.
+     * @param frames  The most frames to play.
+     * @return The number of frames played.
+     */
+    private static int play(HeadlessSession session, int frames) {
+        int frame = 0;
+        while (frame < frames && !session.isOver()) {
+            BrickerGameManager gameManager = session.gameManager();
+            float offset = gameManager.getBall().getCenter().x()
+                    - gameManager.getPaddle().getCenter().x();
+            session.input().setKey(KeyEvent.VK_LEFT, offset < -PADDLE_SLACK);
+            session.input().setKey(KeyEvent.VK_RIGHT, offset > PADDLE_SLACK);
+            session.step(Constants.HEADLESS_DELTA_TIME * (1 + frame % 3) / 2);
+            frame++;
+        }
+        return frame;
+    }
+
+    /**
+     * Records a seeded headless session, steering the paddle towards the ball
+     * with the arrow keys and changing the frame time every frame,
+     * plays the replay file back and checks that the replayed game ends with
+     * the same frames, bricks, lives and ball as the recorded one.
+     */
+    private static void replayReproducesSession() {
+        Path path = null;
+        try {
+            path = Files.createTempFile("bricker", ".replay");
+            ReplayRecorder recorder = new ReplayRecorder(path.toString(), SESSION_SEED,
+                    Constants.DEFAULT_BRICKS_COL, Constants.DEFAULT_BRICKS_ROW);
+            HeadlessSession recorded = new HeadlessSession(Constants.DEFAULT_BRICKS_COL,
+                    Constants.DEFAULT_BRICKS_ROW, SESSION_SEED, GameConfig.DEFAULT,
+                    gameManager -> gameManager.setReplayRecorder(recorder));
+            int recordedFrames = play(recorded, REPLAY_FRAMES);
+            recorder.close();
+
+            ReplayPlayer player = new ReplayPlayer(path.toString());
+            HeadlessSession replayed = new HeadlessSession(player.getBricksInRow(),
+                    player.getAmountOfRows(), player.getSeed(), GameConfig.DEFAULT,
+                    gameManager -> gameManager.setReplayPlayer(player));
+            int replayedFrames = 0;
+            while (!replayed.isOver()) {
+                replayed.step(Constants.HEADLESS_DELTA_TIME);
+                replayedFrames++;
+            }
+            player.close();
+
+            // The last replayed frame finds the end of the file and closes the game
+            if (!recorded.isOver()) {
+                replayedFrames--;
+            }
+            expect(replayedFrames == recordedFrames, "the replay played " + replayedFrames
+                    + " frames of the " + recordedFrames + " recorded");
+            expectSameGame(recorded.gameManager(), replayed.gameManager());
+        } catch (IOException e) {
+            throw new IllegalStateException("the replay file could not be written or read", e);
+        } finally {
+            if (path != null) {
+                path.toFile().delete();
+            }
+        }
+    }
+
+    /**
+     * Plays a seeded headless game, snapshots it, writes the snapshot to a
+     * file and reads it back, then restores it into a new game. Checks that
+     * the snapshot read back, the restored game and, after both games play
+     * on with the same input, the two games all have the same state,
+     * random state included. The snapshot is taken at a frame where nothing
+     * moving touches anything, as the engine's record of ongoing contacts
+     * is not part of a snapshot.
+     */
+    private static void snapshotRestoresSession() {
+        Path path = null;
+        try {
+            HeadlessSession original = new HeadlessSession(Constants.DEFAULT_BRICKS_COL,
+                    Constants.DEFAULT_BRICKS_ROW, SESSION_SEED);
+            play(original, SNAPSHOT_FRAMES);
+            while (!original.isOver() && !isClear(original.gameManager())) {
+                play(original, 1);
+            }
+            GameSnapshot taken = original.gameManager().snapshot();
+            path = Files.createTempFile("bricker", ".snapshot");
+            taken.write(path);
+            GameSnapshot read = GameSnapshot.read(path);
+            expectSameSnapshot(read, taken, "the snapshot read back");
+
+            HeadlessSession restored = new HeadlessSession(read.getCols(), read.getRows(),
+                    read.getSeed(), GameConfig.DEFAULT,
+                    gameManager -> gameManager.setRestoreSnapshot(read));
+            expectSameSnapshot(restored.gameManager().snapshot(), taken, "the restored game");
+
+            int originalFrames = play(original, SNAPSHOT_FRAMES);
+            int restoredFrames = play(restored, SNAPSHOT_FRAMES);
+            expect(restoredFrames == originalFrames, "the restored game lasted "
+                    + restoredFrames + " more frames instead of " + originalFrames);
+            expectSameSnapshot(restored.gameManager().snapshot(),
+                    original.gameManager().snapshot(), "the restored game played on");
+        } catch (IOException e) {
+            throw new IllegalStateException("the snapshot could not be written or read", e);
+        } finally {
+            if (path != null) {
+                path.toFile().delete();
+            }
+        }
+    }
+
+    /**
+     * Returns whether no ball, puck or falling heart of a game is within
+     * {@value #CONTACT_MARGIN} units of a paddle, a wall or another of them.
+     *
+     * @param gameManager The game.
+     * @return true if the engine can hold no contact of a moving object.
+     */
+    private static boolean isClear(BrickerGameManager gameManager) {
+        List<GameObject> bodies = new ArrayList<>();
+        for (GameObject object : gameManager.gameObjects()) {
+            if (CONTACT_KINDS.contains(EntityKind.of(object))) {
+                bodies.add(object);
+            }
+        }
+        for (int i = 0; i < bodies.size(); i++) {
+            GameObject first = bodies.get(i);
+            for (int j = i + 1; j < bodies.size(); j++) {
+                GameObject second = bodies.get(j);
+                if ((MOVING_KINDS.contains(EntityKind.of(first)) ||
+                        MOVING_KINDS.contains(EntityKind.of(second))) && isNear(first, second)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether two objects are within {@value #CONTACT_MARGIN} units
+     * of each other.
+     *
+     * @param first  The first object.
+     * @param second The second object.
+     * @return true if the boxes of the objects, grown by the margin, overlap.
+     */
+    private static boolean isNear(GameObject first, GameObject second) {
+        Vector2 firstCorner = first.getTopLeftCorner();
+        Vector2 secondCorner = second.getTopLeftCorner();
+        return firstCorner.x() - CONTACT_MARGIN < secondCorner.x() + second.getDimensions().x()
+                && secondCorner.x() - CONTACT_MARGIN < firstCorner.x() + first.getDimensions().x()
+                && firstCorner.y() - CONTACT_MARGIN < secondCorner.y() + second.getDimensions().y()
+                && secondCorner.y() - CONTACT_MARGIN < firstCorner.y() + first.getDimensions().y();
+    }
+
+    /**
+     * Fails a check unless two snapshots hold the same game state.
+     *
+     * @param actual   The snapshot found.
+     * @param expected The snapshot expected.
+     * @param what     Where the snapshot found comes from, for the failure message.
+     * @throws IllegalStateException If the snapshots differ.
+     */
+    private static void expectSameSnapshot(GameSnapshot actual, GameSnapshot expected,
+                                           String what) {
+        expect(actual.getSeed() == expected.getSeed()
+                        && actual.getBrickSeed() == expected.getBrickSeed()
+                        && actual.getCols() == expected.getCols()
+                        && actual.getRows() == expected.getRows(),
+                what + " has another seed or brick layout");
+        expect(actual.getRandomState() == expected.getRandomState(),
+                what + " has another random state");
+        expect(actual.getLives() == expected.getLives()
+                        && actual.getBricksLeft() == expected.getBricksLeft()
+                        && actual.getExtraPaddleHits() == expected.getExtraPaddleHits()
+                        && actual.getCameraCollisions() == expected.getCameraCollisions()
+                        && actual.isCameraFollowing() == expected.isCameraFollowing(),
+                what + " has other counters or camera");
+        expect(Arrays.equals(actual.getBall(), expected.getBall())
+                        && actual.getBallCollisions() == expected.getBallCollisions(),
+                what + " has another ball");
+        expect(Arrays.equals(actual.getPaddle(), expected.getPaddle())
+                        && Arrays.equals(actual.getTempPaddle(), expected.getTempPaddle()),
+                what + " has other paddles");
+        expect(Arrays.equals(actual.getPucks(), expected.getPucks())
+                        && Arrays.equals(actual.getPuckSizes(), expected.getPuckSizes()),
+                what + " has other pucks");
+        expect(Arrays.equals(actual.getFallingHearts(), expected.getFallingHearts()),
+                what + " has other falling hearts");
+        expect(Arrays.equals(actual.getStandingBricks(), expected.getStandingBricks())
+                        && Arrays.equals(actual.getStrategyIds(), expected.getStrategyIds()),
+                what + " has other bricks");
+    }
+
+    /**
+     * Draws from a session random source, moves its state to a second
+     * source, and checks that both sources then draw the same numbers as a
+     * {@link Random} with the same seed.
+     */
+    private static void sessionRandomRestoresDraws() {
+        Random reference = new Random(SESSION_SEED);
+        SessionRandom random = new SessionRandom(SESSION_SEED);
+        for (int i = 0; i < RANDOM_DRAWS; i++) {
+            expect(random.nextInt(Constants.DEFAULT_BOUND) == reference.nextInt(Constants.DEFAULT_BOUND),
+                    "draw " + i + " differs from Random with the same seed");
+        }
+
+        SessionRandom restored = new SessionRandom(SESSION_SEED + 1);
+        restored.setState(random.getState());
+        for (int i = 0; i < RANDOM_DRAWS; i++) {
+            long expected = reference.nextLong();
+            expect(random.nextLong() == expected && restored.nextLong() == expected,
+                    "draw " + i + " after restoring the state differs");
+            float expectedFloat = reference.nextFloat();
+            expect(random.nextFloat() == expectedFloat && restored.nextFloat() == expectedFloat,
+                    "float draw " + i + " after restoring the state differs");
+        }
+    }
+
+    /**
+     * Checks that a GameConfig whose rolls without double action could roll
+     * another double action is rejected, that ids rolled with the largest
+     * bounds allowed always fit the short a brick cell stores, and that a
+     * cell rejects an id that does not fit.
+     */
+    private static void strategyIdsFitCells() {
+        try {
+            new GameConfig(Constants.DEFAULT_BOUND, Constants.WITH_DOUBLE,
+                    Constants.MAX_WITHOUT_DOUBLE + 1, Constants.PUCK_BALLS, Constants.BALL_SPEED);
+            throw new IllegalStateException("a bound without double action that rolls "
+                    + "double actions was accepted");
+        } catch (IllegalArgumentException e) {
+            // The nesting could go on without end
+        }
+
+        // Every brick rolls a double action or a special behavior, and the
+        // counter is never reset, so every nesting the bounds allow shows up
+        GameConfig config = new GameConfig(DOUBLE_ACTION_BOUND, Constants.DEFAULT_BOUND,
+                Constants.MAX_WITHOUT_DOUBLE, Constants.PUCK_BALLS, Constants.BALL_SPEED);
+        Random random = new Random(SESSION_SEED);
+        Counter doubleActionCounter = new Counter();
+        for (int i = 0; i < ID_ROLLS; i++) {
+            int id = CollisionStrategyFactory.RandomCollisionStrategyId(random,
+                    doubleActionCounter, config, DOUBLE_ACTION_BOUND, 0);
+            expect(BrickField.cellId(id) == id, "rolled id " + id + " changed in a cell");
+        }
+
+        for (int id : new int[]{-1, Short.MAX_VALUE + 1}) {
+            try {
+                BrickField.cellId(id);
+                throw new IllegalStateException("a cell took strategy id " + id);
+            } catch (IllegalArgumentException e) {
+                // The id does not fit a short
+            }
+        }
+    }
+
+    /**
+     * Writes a valid level file and broken copies of it, and checks that the
+     * valid one opens while a wrong magic number, a wrong version, a file
+     * cut short, an unknown cell type and an unknown strategy id are all
+     * rejected with an {@link IOException}, naming the bad cell if there is one.
+     */
+    private static void levelFileRejectsBadFiles() {
+        List<Path> paths = new ArrayList<>();
+        try {
+            Path valid = writeLevel(paths, LevelFile.BRICK, (short) 1);
+            LevelFile level = new LevelFile(valid);
+            expect(level.getCols() == LEVEL_COLS && level.getRows() == LEVEL_ROWS,
+                    "the valid level is " + level.getCols() + "x" + level.getRows());
+            expect(level.getType(0, 0) == LevelFile.BRICK && level.getType(1, 0) == LevelFile.EMPTY,
+                    "the valid level has other cell types");
+            expect(level.getStrategyId(LEVEL_COLS - 1, LEVEL_ROWS - 1) == 1,
+                    "the valid level has another strategy id in its last cell");
+
+            byte[] bytes = Files.readAllBytes(valid);
+            ByteBuffer.wrap(bytes).putInt(0, LevelFile.MAGIC + 1);
+            expectRejected(writeBytes(paths, bytes), "a file with another magic number", null);
+
+            bytes = Files.readAllBytes(valid);
+            ByteBuffer.wrap(bytes).putInt(Integer.BYTES, LevelFile.VERSION + 1);
+            expectRejected(writeBytes(paths, bytes), "a file of another version", null);
+
+            bytes = Files.readAllBytes(valid);
+            expectRejected(writeBytes(paths, Arrays.copyOf(bytes, bytes.length - 1)),
+                    "a file missing the end of its last cell", null);
+            expectRejected(writeBytes(paths, Arrays.copyOf(bytes, 2 * Integer.BYTES)),
+                    "a file shorter than the header", null);
+
+            String lastCell = "row " + (LEVEL_ROWS - 1) + ", column " + (LEVEL_COLS - 1);
+            expectRejected(writeLevel(paths, (byte) 2, LevelFile.RANDOM_STRATEGY),
+                    "a cell of unknown type", lastCell);
+            expectRejected(writeLevel(paths, LevelFile.BRICK, (short) 7),
+                    "a brick of unknown strategy", lastCell);
+            expectRejected(writeLevel(paths, LevelFile.BRICK, (short) -2),
+                    "a brick of negative strategy", lastCell);
+            expectRejected(writeLevel(paths, LevelFile.BRICK, (short) (1 << 2 * CollisionStrategyFactory.STRATEGY_BITS | 1)),
+                    "a brick with an empty behavior slot", lastCell);
+        } catch (IOException e) {
+            throw new IllegalStateException("a level file could not be written or read", e);
+        } finally {
+            for (Path path : paths) {
+                path.toFile().delete();
+            }
+        }
+    }
+
+    /**
+     * Writes a level of {@value #LEVEL_COLS}x{@value #LEVEL_ROWS} cells to a
+     * new temporary file: a brick of random strategy in the first cell, empty
+     * cells after it and the given last cell.
+     *
+     * @param paths      The temporary files, to which the new file is added.
+     * @param type       The type of the last cell.
+     * @param strategyId The strategy id of the last cell.
+     * @return The path of the file.
+     * @throws IOException If the file cannot be written.
+     */
+    private static Path writeLevel(List<Path> paths, byte type, short strategyId)
+            throws IOException {
+        Path path = Files.createTempFile("bricker", ".level");
+        paths.add(path);
+        try (LevelWriter writer = new LevelWriter(path, LEVEL_COLS, LEVEL_ROWS, null)) {
+            writer.writeCell(LevelFile.BRICK, LevelFile.RANDOM_STRATEGY);
+            for (int cell = 1; cell < LEVEL_COLS * LEVEL_ROWS - 1; cell++) {
+                writer.writeCell(LevelFile.EMPTY, LevelFile.RANDOM_STRATEGY);
+            }
+            writer.writeCell(type, strategyId);
+        }
+        return path;
+    }
+
+    /**
+     * Writes raw bytes to a new temporary file.
+     *
+     * @param paths The temporary files, to which the new file is added.
+     * @param bytes The content of the file.
+     * @return The path of the file.
+     * @throws IOException If the file cannot be written.
+     */
+    private static Path writeBytes(List<Path> paths, byte[] bytes) throws IOException {
+        Path path = Files.createTempFile("bricker", ".level");
+        paths.add(path);
+        return Files.write(path, bytes);
+    }
+
+    /**
+     * Fails a check unless opening a level file throws an {@link IOException}.
+     *
+     * @param path  The level file.
+     * @param what  What is wrong with the file, for the failure message.
+     * @param where Text the exception message must hold, or null for any message.
+     * @throws IllegalStateException If the file opens or the message misses the text.
+     */
+    private static void expectRejected(Path path, String what, String where) {
+        try {
+            new LevelFile(path);
+        } catch (IOException e) {
+            expect(where == null || e.getMessage().contains(where),
+                    "the error for " + what + " does not name " + where + ": " + e.getMessage());
+            return;
+        }
+        throw new IllegalStateException(what + " was opened as a level");
+    }
+
+    /**
+     * Fails a check unless two games have the same bricks, lives and ball.
+     *
+     * @param expected The game as it should be.
+     * @param actual   The game found.
+     * @throws IllegalStateException If the games differ.
+     */
+    private static void expectSameGame(BrickerGameManager expected, BrickerGameManager actual) {
+        BitSet expectedBricks = BitSet.valueOf(
+                expected.getBrickGrid().getField().getStandingBits());
+        BitSet actualBricks = BitSet.valueOf(actual.getBrickGrid().getField().getStandingBits());
+        expect(actualBricks.cardinality() == expectedBricks.cardinality(),
+                actualBricks.cardinality() + " bricks stand instead of "
+                        + expectedBricks.cardinality());
+        expect(actualBricks.equals(expectedBricks), "other bricks stand");
+        expect(actual.getLifeLeft().value() == expected.getLifeLeft().value(),
+                actual.getLifeLeft().value() + " lives are left instead of "
+                        + expected.getLifeLeft().value());
+        expectSameVector(actual.getBall().getCenter(), expected.getBall().getCenter(),
+                "the ball center");
+        expectSameVector(actual.getBall().getVelocity(), expected.getBall().getVelocity(),
+                "the ball velocity");
+    }
+
+    /**
+     * Fails a check unless two vectors are bit-for-bit equal.
+     *
+     * @param actual   The vector found.
+     * @param expected The vector expected.
+     * @param what     What the vector is, for the failure message.
+     * @throws IllegalStateException If the vectors differ.
+     */
+    private static void expectSameVector(Vector2 actual, Vector2 expected, String what) {
+        expect(Float.floatToIntBits(actual.x()) == Float.floatToIntBits(expected.x()) &&
+                        Float.floatToIntBits(actual.y()) == Float.floatToIntBits(expected.y()),
+                what + " is " + actual.x() + "," + actual.y() + ", expected "
+                        + expected.x() + "," + expected.y());
+    }
+
+    /**
+     * Counts the game objects of a collection, or of one of its layers.
+     *
+     * @param objects The objects to count.
+     * @return The number of objects.
+     */
+    private static int count(Iterable<GameObject> objects) {
+        int count = 0;
+        for (GameObject ignored : objects) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Changes the lives of a headless game {@value #HEART_DRAWS} times and
+     * redraws the game's own life display after each change. Checks that no
+     * game object was added to or removed from the game, as the hearts are
+     * only shown and hidden, and that the text shows the lives in their color.
+     */
+    private static void heartDrawerKeepsObjects() {
+        HeadlessSession session = new HeadlessSession(
+                Constants.DEFAULT_BRICKS_COL, Constants.DEFAULT_BRICKS_ROW, 0);
+        BrickerGameManager gameManager = session.gameManager();
+        GameObjectCollection gameObjects = gameManager.gameObjects();
+        Counter lifeLeft = gameManager.getLifeLeft();
+        HeartDrawer heartDrawer = gameManager.getHeartDrawer();
+        Text text = heartDrawer.getText();
+        expect(contains(gameObjects.objectsInLayer(Layer.UI), text),
+                "the life text is not in the UI layer");
+        int uiObjects = count(gameObjects.objectsInLayer(Layer.UI));
+        int allObjects = count(gameObjects);
+
+        for (int i = 0; i < HEART_DRAWS; i++) {
+            int lives = Constants.ONE_LIFE + i % Constants.MAX_HEARTS;
+            lifeLeft.increaseBy(lives - lifeLeft.value());
+            heartDrawer.Draw();
+            expect(heartDrawer.getHeartOnBoard() == lives,
+                    "the drawer shows " + heartDrawer.getHeartOnBoard() + " hearts for "
+                            + lives + " lives");
+            expect(String.valueOf(lives).equals(text.getShownString()),
+                    "the text shows \"" + text.getShownString() + "\" for " + lives + " lives");
+            expect(lifeColor(lives).equals(text.getShownColor()),
+                    "the text is " + text.getShownColor() + " for " + lives + " lives");
+        }
+
+        expect(count(gameObjects.objectsInLayer(Layer.UI)) == uiObjects,
+                "the UI layer went from " + uiObjects + " objects to "
+                        + count(gameObjects.objectsInLayer(Layer.UI)));
+        expect(count(gameObjects) == allObjects,
+                "the game went from " + allObjects + " objects to " + count(gameObjects));
+    }
+
+    /**
+     * Returns the color the life text should have.
+     *
+     * @param lives The number of lives, from one to {@value Constants#MAX_HEARTS}.
+     * @return Green for three or four lives, yellow for two, red for one.
+     */
+    private static Color lifeColor(int lives) {
+        if (lives >= Constants.THR_LIFE) {
+            return Color.green;
+        }
+        return lives == Constants.TWO_LIFE ? Color.yellow : Color.red;
+    }
+
+    /**
+     * Returns whether a collection, or one of its layers, holds an object.
+     *
+     * @param objects The objects to search.
+     * @param object  The object searched for.
+     * @return true if the object is one of the objects.
+     */
+    private static boolean contains(Iterable<GameObject> objects, GameObject object) {
+        for (GameObject candidate : objects) {
+            if (candidate == object) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,35 +1,25 @@
 package bricker.brick_strategies;
 
 import danogl.GameObject;
-import danogl.collisions.GameObjectCollection;
 
 /**
- * Basic collision strategy for removing game objects on collision.
+ * Basic collision strategy of a brick with no special behavior.
  *
  * <p>The BasicCollisionStrategy class implements the CollisionStrategy interface
- * and provides a simple collision strategy where the associated game object
- * is removed from the game upon collision with another object.
+ * and provides the simplest collision strategy: nothing happens besides the
+ * brick breaking, which its owner takes care of. The brick field clears the
+ * brick's cell before the strategy runs, so the strategy does not remove
+ * the game object it is given.
  */
 public class BasicCollisionStrategy implements CollisionStrategy {
-    private final GameObjectCollection gameObjects;
 
     /**
-     * Constructs a BasicCollisionStrategy.
-     *
-     * @param gameObjects The collection of game objects to manage.
-     */
-    public BasicCollisionStrategy(GameObjectCollection gameObjects) {
-        this.gameObjects = gameObjects;
-    }
-
-    /**
-     * Handles the collision event by removing the associated game object.
+     * Handles the collision event. A basic brick has no effect.
      *
      * @param thisObj  The game object associated with this collision strategy.
      * @param otherObj The other game object involved in the collision.
      */
     @Override
     public void onCollision(GameObject thisObj, GameObject otherObj) {
-        gameObjects.removeGameObject(thisObj);
     }
 }
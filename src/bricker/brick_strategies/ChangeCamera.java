@@ -3,16 +3,13 @@ package bricker.brick_strategies;
 
 import bricker.gameobjects.Ball;
 import bricker.main.BrickerGameManager;
+import bricker.physics.EntityKind;
 import bricker.utills.Constants;
 import danogl.GameObject;
-import danogl.collisions.GameObjectCollection;
 import danogl.gui.rendering.Camera;
 import danogl.util.Counter;
 import danogl.util.Vector2;
 
-
-import java.util.Objects;
-
 /**
  * Collision strategy decorator for changing the camera focus.
  *
@@ -24,45 +21,38 @@ import java.util.Objects;
 public class ChangeCamera extends CollisionStrategyDecorator {
     private final Vector2 windowDimensions;
     private final BrickerGameManager gameManager;
-    private final GameObjectCollection gameObjects;
-    private final CollisionStrategy decorator;
     private final Counter cameraCounter;
 
     /**
      * Constructs a ChangeCamera collision strategy decorator.
      *
      * @param gameManager The game manager responsible for managing game state.
-     * @param gameObjects The collection of game objects.
      * @param windowDimensions The dimensions of the game window.
      * @param cameraCounter The counter for managing camera duration.
      * @param decorator The collision strategy to decorate.
      */
     public ChangeCamera(BrickerGameManager gameManager,
-                        GameObjectCollection gameObjects,
                         Vector2 windowDimensions,
                         Counter cameraCounter,
                         CollisionStrategy decorator
                         ) {
         super(decorator);
-        this.decorator = decorator;
         this.windowDimensions = windowDimensions;
         this.cameraCounter = cameraCounter;
         this.gameManager = gameManager;
-        this.gameObjects = gameObjects;
     }
 
     /**
-     * Handles the collision event and changes the camera focus if necessary.
+     * Changes the camera focus to the ball if necessary.
      *
      * @param thisObj The game object associated with this collision strategy.
      * @param otherObj The other game object involved in the collision.
      */
     @Override
-    public void onCollision(GameObject thisObj, GameObject otherObj) {
-        decorator.onCollision(thisObj, otherObj);
+    public void applyEffect(GameObject thisObj, GameObject otherObj) {
         // Check if the collision involves a ball object
         // and the game camera is not already set
-        if(Objects.equals(otherObj.getTag(), Constants.BALL_TAG) && gameManager.camera() == null) {
+        if(EntityKind.of(otherObj) == EntityKind.BALL && gameManager.camera() == null) {
             Ball ball = (Ball)otherObj;
             cameraCounter.increaseBy(ball.getCollisionCounter() + Constants.TURN_TO_SHUT_CAMERA);
             gameManager.setCamera(new Camera(
@@ -71,7 +61,6 @@ public class ChangeCamera extends CollisionStrategyDecorator {
                     windowDimensions.mult(Constants.FACTOR_1),
                     windowDimensions));
         }
-        gameObjects.removeGameObject(thisObj);
     }
 }
 
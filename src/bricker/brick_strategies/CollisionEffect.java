@@ -0,0 +1,23 @@
+package bricker.brick_strategies;
+
+import danogl.GameObject;
+
+/**
+ * Interface representing one effect of a brick being hit.
+ *
+ * <p>A CollisionEffect only adds its own behavior, such as spawning pucks
+ * or a heart. It neither removes the brick, which the brick field clears,
+ * nor calls other effects, so a {@link CompiledCollisionStrategy} can run
+ * a brick's effects one after the other.
+ */
+public interface CollisionEffect {
+
+    /**
+     * Applies the effect of a collision.
+     *
+     * @param thisObj The game object that was hit.
+     * @param otherObj The other game object involved in the collision.
+     */
+    void applyEffect(GameObject thisObj, GameObject otherObj);
+
+}
@@ -8,6 +8,11 @@ import danogl.GameObject;
  * <p>The CollisionStrategy interface defines the contract for implementing collision strategies
  * in the Bricker game. Classes that implement this interface are responsible for handling collision
  * events between game objects.
+ *
+ * <p>The brick a strategy is given is usually the brick field's shared
+ * stand-in for the cell that was hit, which is never added to the game.
+ * The field clears the cell itself, so strategies only apply their effects
+ * and never remove the brick.
  */
 public interface CollisionStrategy {
 
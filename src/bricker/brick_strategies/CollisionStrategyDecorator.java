@@ -8,8 +8,9 @@ import danogl.GameObject;
  * <p>CollisionStrategyDecorator implements the CollisionStrategy interface and provides a base
  * for implementing specific collision strategy decorators in the Bricker game. This class enables
  * the use of the decorator pattern, allowing for dynamic addition of behavior to collision strategies.
+ * The behavior a decorator adds is also available on its own as a {@link CollisionEffect}.
  */
-public abstract class CollisionStrategyDecorator implements CollisionStrategy{
+public abstract class CollisionStrategyDecorator implements CollisionStrategy, CollisionEffect {
     /** The wrapped collision strategy instance to be decorated. */
     private final CollisionStrategy collisionDecoratorInterface;
     /**
@@ -23,7 +24,8 @@ public abstract class CollisionStrategyDecorator implements CollisionStrategy{
     }
 
     /**
-     * Passes the collision event to the wrapped collision strategy instance for processing.
+     * Passes the collision event to the wrapped collision strategy instance for processing,
+     * then applies the behavior this decorator adds.
      *
      * @param thisObj The GameObject associated with this collision strategy.
      * @param otherObj The other GameObject involved in the collision.
@@ -31,5 +33,6 @@ public abstract class CollisionStrategyDecorator implements CollisionStrategy{
     @Override
     public void onCollision(GameObject thisObj, GameObject otherObj) {
         collisionDecoratorInterface.onCollision(thisObj,otherObj);
+        applyEffect(thisObj, otherObj);
     }
 }
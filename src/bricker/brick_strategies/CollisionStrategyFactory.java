@@ -1,12 +1,17 @@
 package bricker.brick_strategies;
+import bricker.gameobjects.PuckPool;
 import bricker.main.BrickerGameManager;
+import bricker.physics.BrickGrid;
+import bricker.utills.AssetCache;
 import bricker.utills.Constants;
+import bricker.utills.GameConfig;
 import danogl.collisions.GameObjectCollection;
-import danogl.gui.ImageReader;
-import danogl.gui.SoundReader;
 import danogl.gui.UserInputListener;
 import danogl.util.Counter;
 import danogl.util.Vector2;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Random;
 
 /**
@@ -18,58 +23,80 @@ import java.util.Random;
  * 3. ExtraPaddle,
  * 4. ExtraLife,
  * 5. and DoubleAction.
+ * <p>
+ * A strategy can also be described by a compact id: the sequence of the
+ * special behaviors it stacks on the basic strategy, innermost first,
+ * {@value #STRATEGY_BITS} bits per behavior. Id 0 is the basic strategy.
+ * Bricks store the id and share the strategy built for it, which is
+ * compiled into a flat list of effects instead of a decorator chain.
  */
 public class CollisionStrategyFactory {
+    /** The number of bits encoding one behavior in a strategy id. */
+    public static final int STRATEGY_BITS = 3;
+    private static final int STRATEGY_MASK = (1 << STRATEGY_BITS) - 1;
+    private static final String[] STRATEGY_NAMES = {
+            "ExtraBall", "ChangeCamera", "ExtraPaddle", "ExtraLife"};
+    private static final int DOUBLE_ACTION_ROLL = 4;
     private final Vector2 windowDimensions;
     private final Counter doubleActionCounter;
     private final GameObjectCollection gameObjectCollection;
+    private final BrickGrid brickGrid;
     private final BrickerGameManager brickerGameManager;
-    private final ImageReader imageReader;
-    private final SoundReader soundReader;
+    private final AssetCache assetCache;
     private final Counter lifeLeft;
-    private final int ballSpeed;
+    private final PuckPool puckPool;
     private final UserInputListener userInputListener;
     private final Counter extraPaddleCounter;
     private final Vector2 heartDimensions;
     private final Counter cameraCounter;
+    private final Random random;
+    private GameConfig config;
+    private final Map<Integer, CollisionStrategy> strategiesById = new HashMap<>();
+    private final CollisionEffect[] effectsByType = new CollisionEffect[DOUBLE_ACTION_ROLL];
     /**
      * Constructor for CollisionStrategyFactory class.
      * @param doubleActionCounter Counter for double action collisions
      * @param gameObjectCollection Collection of game objects
+     * @param brickGrid Grid resolving the brick contacts
      * @param brickerGameManager Game manager for the Bricker game
-     * @param imageReader Reader for game images
-     * @param soundReader Reader for game sounds
+     * @param assetCache Cache of the decoded images and sounds
      * @param lifeLeft Counter for remaining lives
-     * @param ballSpeed Speed of the ball
+     * @param puckPool Pool of the pucks spawned by extra ball bricks
      * @param userInputListener Listener for user input
      * @param extraPaddleCounter Counter for extra paddles
      * @param cameraCounter Counter for camera operations
      * @param heartDimensions Dimensions of the heart object
      * @param windowDimensions Dimensions of the game window
+     * @param random Random source of the game session
+     * @param config Balance settings of the game session
      */
     public CollisionStrategyFactory(Counter doubleActionCounter,
                                     GameObjectCollection gameObjectCollection,
+                                    BrickGrid brickGrid,
                                     BrickerGameManager brickerGameManager,
-                                    ImageReader imageReader,
-                                    SoundReader soundReader,
-                                    Counter lifeLeft, int ballSpeed,
+                                    AssetCache assetCache,
+                                    Counter lifeLeft, PuckPool puckPool,
                                     UserInputListener userInputListener,
                                     Counter extraPaddleCounter,
                                     Counter cameraCounter,
                                     Vector2 heartDimensions,
-                                    Vector2 windowDimensions) {
+                                    Vector2 windowDimensions,
+                                    Random random,
+                                    GameConfig config) {
         this.doubleActionCounter = doubleActionCounter;
         this.gameObjectCollection = gameObjectCollection;
+        this.brickGrid = brickGrid;
         this.brickerGameManager = brickerGameManager;
-        this.imageReader = imageReader;
-        this.soundReader = soundReader;
+        this.assetCache = assetCache;
         this.lifeLeft = lifeLeft;
-        this.ballSpeed = ballSpeed;
+        this.puckPool = puckPool;
         this.userInputListener = userInputListener;
         this.extraPaddleCounter = extraPaddleCounter;
         this.heartDimensions = heartDimensions;
         this.windowDimensions = windowDimensions;
         this.cameraCounter = cameraCounter;
+        this.random = random;
+        this.config = config;
     }
 
     /**
@@ -81,26 +108,216 @@ public class CollisionStrategyFactory {
      */
     public CollisionStrategy RandomCollisionStrategy(int bound, CollisionStrategy basicCollisionStrategy) {
         // Generate a random number within the specified bound
-        int strategyType = new Random().nextInt(bound);
+        int strategyType = random.nextInt(bound);
 
         // Based on the random number, choose a collision strategy
         switch (strategyType) {
             case 0: return new ExtraBallStrategy(
-                    gameObjectCollection, imageReader,
-                    soundReader, lifeLeft, ballSpeed, basicCollisionStrategy);
+                    gameObjectCollection, brickGrid,
+                    puckPool, config.getPuckBalls(), basicCollisionStrategy);
             case 1: return new ChangeCamera(brickerGameManager,
-                    gameObjectCollection,windowDimensions,cameraCounter, basicCollisionStrategy);
+                    windowDimensions, cameraCounter, basicCollisionStrategy);
             case 2: return new ExtraPaddle(gameObjectCollection,
-                    imageReader, userInputListener,
+                    assetCache, userInputListener,
                     extraPaddleCounter, basicCollisionStrategy, windowDimensions);
             case 3: return new ExtraLife(gameObjectCollection, heartDimensions,
-                    imageReader.readImage(Constants.HEART_PNG, true),
-                    lifeLeft, basicCollisionStrategy);
+                    assetCache.readImage(Constants.HEART_PNG, true),
+                    lifeLeft, brickerGameManager.getViewport(), basicCollisionStrategy);
             case 4: doubleActionCounter.increment(); return doubleAction();
             default: return basicCollisionStrategy;
         }
     }
 
+    /**
+     * Rolls a random collision strategy id, with the same
+     * odds as {@link #RandomCollisionStrategy}.
+     * @param bound The upper bound for random selection
+     * @param innerId The id of the strategy to decorate
+     * @return The id of a randomly selected collision strategy
+     */
+    public int RandomCollisionStrategyId(int bound, int innerId) {
+        return RandomCollisionStrategyId(random, bound, innerId);
+    }
+
+    /**
+     * Rolls a random collision strategy id from another random source,
+     * with the same odds as {@link #RandomCollisionStrategy}.
+     * @param random The random source to roll with
+     * @param bound The upper bound for random selection
+     * @param innerId The id of the strategy to decorate
+     * @return The id of a randomly selected collision strategy
+     */
+    public int RandomCollisionStrategyId(Random random, int bound, int innerId) {
+        return RandomCollisionStrategyId(random, doubleActionCounter, config, bound, innerId);
+    }
+
+    /**
+     * Rolls a random collision strategy id with the same odds as
+     * {@link #RandomCollisionStrategy}, using only the given state, so
+     * ids can be rolled on any thread, away from a game session.
+     * @param random The random source to roll with
+     * @param doubleActionCounter Counter for the double actions of the roll
+     * @param config Balance settings giving the double action bounds
+     * @param bound The upper bound for random selection
+     * @param innerId The id of the strategy to decorate
+     * @return The id of a randomly selected collision strategy
+     */
+    public static int RandomCollisionStrategyId(Random random, Counter doubleActionCounter,
+                                                GameConfig config, int bound, int innerId) {
+        int strategyType = random.nextInt(bound);
+        if (strategyType < DOUBLE_ACTION_ROLL) {
+            return (innerId << STRATEGY_BITS) | (strategyType + 1);
+        }
+        if (strategyType == DOUBLE_ACTION_ROLL) {
+            doubleActionCounter.increment();
+            return doubleActionId(random, doubleActionCounter, config);
+        }
+        return innerId;
+    }
+
+    /**
+     * Rolls a double action collision strategy id, with the
+     * same odds as {@link #doubleAction()}.
+     * @param random The random source to roll with
+     * @param doubleActionCounter Counter for the double actions of the roll
+     * @param config Balance settings giving the double action bounds
+     * @return The id of a double action collision strategy.
+     */
+    private static int doubleActionId(Random random, Counter doubleActionCounter,
+                                      GameConfig config) {
+        int bound = config.getWithDouble();
+        if (doubleActionCounter.value() % (Constants.DOUBLE_ACTION_MAX - 1) == 0) {
+            bound = config.getWithoutDouble();
+        }
+        int id = RandomCollisionStrategyId(random, doubleActionCounter, config, bound, 0);
+        if (doubleActionCounter.value() % (Constants.DOUBLE_ACTION_MAX - 1) == 0) {
+            id = RandomCollisionStrategyId(random, doubleActionCounter, config, bound, id);
+        }
+        return id;
+    }
+
+    /**
+     * Replaces the balance settings, as when a campaign moves to a level
+     * of another difficulty. The strategies built so far are dropped, so
+     * they are built again with the new settings.
+     * @param config The new balance settings
+     */
+    public void setConfig(GameConfig config) {
+        this.config = config;
+        strategiesById.clear();
+        Arrays.fill(effectsByType, null);
+    }
+
+    /**
+     * Returns whether a number is a strategy id: every
+     * {@value #STRATEGY_BITS}-bit slot up to the outermost behavior
+     * holds one of the known behaviors.
+     * @param id The number to check
+     * @return true if the id can be compiled into a strategy
+     */
+    public static boolean isStrategyId(int id) {
+        if (id < 0) {
+            return false;
+        }
+        for (int rest = id; rest != 0; rest >>>= STRATEGY_BITS) {
+            int type = (rest & STRATEGY_MASK) - 1;
+            if (type < 0 || type >= STRATEGY_NAMES.length) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Names the behaviors described by a strategy id, innermost first,
+     * for example {@code ExtraBall+ExtraLife}.
+     * @param id A collision strategy id
+     * @return The names of the behaviors, or {@code Basic} for none
+     */
+    public static String describe(int id) {
+        if (id == 0) {
+            return "Basic";
+        }
+        StringBuilder names = new StringBuilder();
+        for (int rest = id; rest != 0; rest >>>= STRATEGY_BITS) {
+            int type = (rest & STRATEGY_MASK) - 1;
+            String name = type >= 0 && type < STRATEGY_NAMES.length
+                    ? STRATEGY_NAMES[type] : "Unknown";
+            names.insert(0, names.length() == 0 ? name : name + "+");
+        }
+        return names.toString();
+    }
+
+    /**
+     * Returns the collision strategy described by an id.
+     * The strategy is compiled once per id and shared.
+     * @param id A collision strategy id
+     * @return The collision strategy
+     */
+    public CollisionStrategy strategyOf(int id) {
+        CollisionStrategy strategy = strategiesById.get(id);
+        if (strategy == null) {
+            strategy = compileStrategy(id);
+            strategiesById.put(id, strategy);
+        }
+        return strategy;
+    }
+
+    /**
+     * Compiles the behaviors described by a strategy id into a
+     * flat list of effects, innermost behavior first, as the
+     * equivalent decorator chain would apply them.
+     * @param id A collision strategy id
+     * @return A new compiled collision strategy
+     */
+    private CollisionStrategy compileStrategy(int id) {
+        int length = 0;
+        for (int rest = id; rest != 0; rest >>>= STRATEGY_BITS) {
+            length++;
+        }
+        CollisionEffect[] effects = new CollisionEffect[length];
+        int rest = id;
+        for (int i = length - 1; i >= 0; i--) {
+            effects[i] = effectOf((rest & STRATEGY_MASK) - 1, id);
+            rest >>>= STRATEGY_BITS;
+        }
+        return new CompiledCollisionStrategy(effects);
+    }
+
+    /**
+     * Returns the effect of a behavior type, as rolled by
+     * {@link #RandomCollisionStrategy}. Effects are created once and shared.
+     * @param type The behavior type, 0 to 3
+     * @param id The strategy id being compiled, for the error message
+     * @return The effect
+     */
+    private CollisionEffect effectOf(int type, int id) {
+        if (type < 0 || type >= effectsByType.length) {
+            throw new IllegalArgumentException("Unknown strategy id " + id);
+        }
+        if (effectsByType[type] == null) {
+            CollisionStrategy basic = new BasicCollisionStrategy();
+            switch (type) {
+                case 0: effectsByType[type] = new ExtraBallStrategy(
+                        gameObjectCollection, brickGrid,
+                        puckPool, config.getPuckBalls(), basic);
+                    break;
+                case 1: effectsByType[type] = new ChangeCamera(brickerGameManager,
+                        windowDimensions, cameraCounter, basic);
+                    break;
+                case 2: effectsByType[type] = new ExtraPaddle(gameObjectCollection,
+                        assetCache, userInputListener,
+                        extraPaddleCounter, basic, windowDimensions);
+                    break;
+                default: effectsByType[type] = new ExtraLife(gameObjectCollection, heartDimensions,
+                        assetCache.readImage(Constants.HEART_PNG, true),
+                        lifeLeft, brickerGameManager.getViewport(), basic);
+                    break;
+            }
+        }
+        return effectsByType[type];
+    }
+
     /**
      * Generates a double action collision strategy.
      * <p>
@@ -110,12 +327,12 @@ public class CollisionStrategyFactory {
      * @return A double action collision strategy.
      */
     private CollisionStrategy doubleAction() {
-        int bound = Constants.WITH_DOUBLE;
-        CollisionStrategy basicCollisionStrategy = new BasicCollisionStrategy(gameObjectCollection);
+        int bound = config.getWithDouble();
+        CollisionStrategy basicCollisionStrategy = new BasicCollisionStrategy();
 
         // Determine the bound based on the current value of doubleActionCounter
         if (doubleActionCounter.value() % (Constants.DOUBLE_ACTION_MAX - 1) == 0) {
-            bound = Constants.WITHOUT_DOUBLE;
+            bound = config.getWithoutDouble();
         }
 
         // Apply RandomCollisionStrategy with the determined bound
@@ -0,0 +1,46 @@
+package bricker.brick_strategies;
+
+import danogl.GameObject;
+
+/**
+ * Collision strategy running a flat list of effects.
+ *
+ * <p>The CompiledCollisionStrategy is the flattened form of a chain of
+ * collision strategy decorators. On collision it applies every effect in
+ * order, innermost decorator first, with no recursion. It behaves like the
+ * decorator chain it replaces.
+ */
+public class CompiledCollisionStrategy implements CollisionStrategy {
+    private final CollisionEffect[] effects;
+
+    /**
+     * Constructs a CompiledCollisionStrategy.
+     *
+     * @param effects The effects to apply, in order.
+     */
+    public CompiledCollisionStrategy(CollisionEffect[] effects) {
+        this.effects = effects;
+    }
+
+    /**
+     * Applies every effect.
+     *
+     * @param thisObj  The game object associated with this collision strategy.
+     * @param otherObj The other game object involved in the collision.
+     */
+    @Override
+    public void onCollision(GameObject thisObj, GameObject otherObj) {
+        for (CollisionEffect effect : effects) {
+            effect.applyEffect(thisObj, otherObj);
+        }
+    }
+
+    /**
+     * Returns the number of effects of the strategy.
+     *
+     * @return The effect count.
+     */
+    public int getEffectCount() {
+        return effects.length;
+    }
+}
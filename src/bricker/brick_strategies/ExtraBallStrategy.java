@@ -1,14 +1,11 @@
 package bricker.brick_strategies;
 
 import bricker.gameobjects.Puck;
+import bricker.gameobjects.PuckPool;
+import bricker.physics.BrickGrid;
 import bricker.utills.Constants;
 import danogl.GameObject;
 import danogl.collisions.GameObjectCollection;
-import danogl.gui.ImageReader;
-import danogl.gui.Sound;
-import danogl.gui.SoundReader;
-import danogl.gui.rendering.Renderable;
-import danogl.util.Counter;
 
 /**
  * The ExtraBallStrategy class is a decorator for CollisionStrategy,
@@ -18,60 +15,46 @@ import danogl.util.Counter;
  */
 public class ExtraBallStrategy extends CollisionStrategyDecorator {
 
-    private final int speed;
-    private final Counter heartsLeft;
-    private final SoundReader soundReader;
-    private final ImageReader imageReader;
+    private final PuckPool puckPool;
     private final GameObjectCollection gameObjects;
-    private final CollisionStrategy decorator;
+    private final BrickGrid brickGrid;
+    private final int puckBalls;
 
     /**
      * Constructor for ExtraBallStrategy class.
      * @param gameObjects Collection of game objects
-     * @param imageReader Image reader for game objects
-     * @param soundReader Sound reader for game objects
-     * @param heartsLeft Counter to track the number of hearts left
-     * @param speed Speed of the pucks
+     * @param brickGrid Grid resolving the brick contacts of the pucks
+     * @param puckPool Pool the pucks are taken from
+     * @param puckBalls Number of pucks spawned per hit
      * @param decorator Decorated collision strategy
      */
-    public ExtraBallStrategy(GameObjectCollection gameObjects, ImageReader imageReader,
-                             SoundReader soundReader, Counter heartsLeft, int speed,
-                             CollisionStrategy decorator) {
+    public ExtraBallStrategy(GameObjectCollection gameObjects, BrickGrid brickGrid,
+                             PuckPool puckPool, int puckBalls, CollisionStrategy decorator) {
         super(decorator);
-        this.decorator = decorator;
         this.gameObjects = gameObjects;
-        this.imageReader = imageReader;
-        this.soundReader = soundReader;
-        this.heartsLeft = heartsLeft;
-        this.speed = speed;
+        this.brickGrid = brickGrid;
+        this.puckPool = puckPool;
+        this.puckBalls = puckBalls;
     }
 
     /**
-     * Method invoked upon collision with another game object.
-     * It adds functionality to split a ball into multiple pucks
-     * and removes the current object upon collision.
+     * Splits the ball into multiple pucks.
      * @param thisObj The game object with this collision strategy
      * @param otherObj The other game object involved in the collision
      */
     @Override
-    public void onCollision(GameObject thisObj, GameObject otherObj) {
-        decorator.onCollision(thisObj, otherObj);
-
-        // Load the puck image and collision sound
-        Renderable puckImage = imageReader.readImage(Constants.PUCK_IMAGE_PATH, true);
-        Sound collisioionSound = soundReader.readSound(Constants.SOUND_PUCK_PATH);
-
-        // Remove the current object from the game
-        gameObjects.removeGameObject(thisObj);
-
-        // Create multiple puck objects as a result of collision
-        for (int i = 0; i < Constants.PUCK_BALLS; i++) {
-            Puck puck = new Puck(otherObj.getCenter(),
-                    (otherObj.getDimensions().mult(Constants.FACTOR_2)),
-                    puckImage, collisioionSound, gameObjects, heartsLeft);
+    public void applyEffect(GameObject thisObj, GameObject otherObj) {
+        // Take multiple pucks from the pool as a result of collision
+        for (int i = 0; i < puckBalls; i++) {
+            Puck puck = puckPool.acquire(otherObj.getCenter(),
+                    (otherObj.getDimensions().mult(Constants.FACTOR_2)));
+            if (puck == null) {
+                break;
+            }
 
             // Add the new puck object to the game
-            gameObjects.addGameObject(puck);
+            gameObjects.addGameObject(puck, Constants.PUCK_LAYER);
+            brickGrid.track(puck);
         }
     }
 }
@@ -2,6 +2,8 @@ package bricker.brick_strategies;
 
 import bricker.gameobjects.Ball;
 import bricker.gameobjects.Heart;
+import bricker.physics.EntityKind;
+import bricker.rendering.Viewport;
 import bricker.utills.Constants;
 import danogl.GameObject;
 import danogl.collisions.GameObjectCollection;
@@ -9,8 +11,6 @@ import danogl.gui.rendering.Renderable;
 import danogl.util.Counter;
 import danogl.util.Vector2;
 
-import java.util.Objects;
-
 /**
  * The ExtraLife class is a decorator for CollisionStrategy,
  * which adds functionality to generate an extra life (heart)
@@ -22,7 +22,7 @@ public class ExtraLife extends CollisionStrategyDecorator {
     private final Renderable heartImage;
     private final Vector2 heartDimensions;
     private final Counter heartsOnBoard;
-    private final CollisionStrategy decorator;
+    private final Viewport viewport;
 
     /**
      * Constructor for ExtraLife class.
@@ -30,19 +30,21 @@ public class ExtraLife extends CollisionStrategyDecorator {
      * @param heartDimensions Dimensions of the heart object
      * @param heartImage Image for the heart object
      * @param heartsOnBoard Counter to track the number of hearts on the board
+     * @param viewport View the falling hearts are culled against
      * @param decorator Decorated collision strategy
      */
     public ExtraLife(GameObjectCollection gameObjects,
                      Vector2 heartDimensions,
                      Renderable heartImage,
                      Counter heartsOnBoard,
+                     Viewport viewport,
                      CollisionStrategy decorator) {
         super(decorator);
-        this.decorator = decorator;
         this.heartDimensions = heartDimensions;
         this.heartImage = heartImage;
         this.gameObjects = gameObjects;
         this.heartsOnBoard = heartsOnBoard;
+        this.viewport = viewport;
     }
 
     /**
@@ -56,33 +58,32 @@ public class ExtraLife extends CollisionStrategyDecorator {
                                Renderable heartsImage,
                                Counter heartsOnBoard) {
 
-        // Generate Heart - Set Direction and Tag
+        // Generate Heart - Set Direction and Kind
         Heart heart = new Heart(center, sizes, heartsImage, gameObjects, heartsOnBoard);
         heart.setVelocity(new Vector2(0, Constants.HEART_SPEED));
-        heart.setTag(Constants.FALL_HEART_TAG);
+        heart.setKind(EntityKind.FALLING_HEART);
+        viewport.cull(heart);
 
         // Add the Heart to the Board
         gameObjects.addGameObject(heart);
     }
 
     /**
-     * Method invoked upon collision with another game object.
-     * It adds functionality to generate an extra life (heart)
-     * and removes the current object upon collision with a ball.
+     * Generates an extra life (heart) if the other object is a ball or a puck.
      * @param thisObj The game object with this collision strategy
      * @param otherObj The other game object involved in the collision
      */
     @Override
-    public void onCollision(GameObject thisObj, GameObject otherObj) {
-        decorator.onCollision(thisObj, otherObj);
-
+    public void applyEffect(GameObject thisObj, GameObject otherObj) {
         // Verify if the other object is from 'Ball' kind
-        if (Objects.equals(otherObj.getTag(), Constants.BALL_TAG) ||
-            (Objects.equals(otherObj.getTag(), Constants.PUCK_TAG))){
-
-            // than generate hearts
-            generateHeart(thisObj.getCenter(), heartDimensions, heartImage, heartsOnBoard);
-            gameObjects.removeGameObject(thisObj);
+        switch (EntityKind.of(otherObj)) {
+            case BALL:
+            case PUCK:
+                // than generate hearts
+                generateHeart(thisObj.getCenter(), heartDimensions, heartImage, heartsOnBoard);
+                break;
+            default:
+                break;
         }
     }
 }
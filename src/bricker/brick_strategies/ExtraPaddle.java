@@ -17,17 +17,16 @@ import bricker.utills.*;
  * It extends the CollisionStrategyDecorator class.
  */
 public class ExtraPaddle extends CollisionStrategyDecorator {
-    private final ImageReader imageReader;
+    private final AssetCache assetCache;
     private final GameObjectCollection gameObjects;
     private final Vector2 windowDimensions;
     private final UserInputListener inputListener;
     private final Counter extraPaddleCounter;
-    private final CollisionStrategy decorator;
 
     /**
      * Constructor for ExtraPaddle class.
      * @param gameObjects Collection of game objects
-     * @param imageReader Image reader for game objects
+     * @param assetCache Cache of the decoded images
      * @param inputListener User input listener
      * @param extraPaddleCounter Counter to track
      *                          the availability of extra paddles
@@ -35,36 +34,32 @@ public class ExtraPaddle extends CollisionStrategyDecorator {
      * @param windowDimensions Dimensions of the game window
      */
     public ExtraPaddle(GameObjectCollection gameObjects,
-                       ImageReader imageReader,
+                       AssetCache assetCache,
                        UserInputListener inputListener,
                        Counter extraPaddleCounter,
                        CollisionStrategy decorator,
                        Vector2 windowDimensions) {
         super(decorator);
-        this.decorator = decorator;
         this.gameObjects = gameObjects;
-        this.imageReader = imageReader;
+        this.assetCache = assetCache;
         this.inputListener = inputListener;
         this.extraPaddleCounter = extraPaddleCounter;
         this.windowDimensions = windowDimensions;
     }
 
     /**
-     * Method invoked upon collision with another game object.
-     * It adds functionality to create an additional temporary paddle
-     * and removes the current object upon collision.
+     * Creates an additional temporary paddle if none is in play.
      * @param thisObj The game object with this collision strategy
      * @param otherObj The other game object involved in the collision
      */
     @Override
-    public void onCollision(GameObject thisObj, GameObject otherObj) {
-        decorator.onCollision(thisObj, otherObj);
+    public void applyEffect(GameObject thisObj, GameObject otherObj) {
         if (extraPaddleCounter.value() == 0) {
             Vector2 boardCenter = new Vector2(
                     windowDimensions.x() / Constants.HALF_SCREEN,
                     windowDimensions.y() / Constants.HALF_SCREEN);
             Renderable paddleImage =
-                    imageReader.readImage(
+                    assetCache.readImage(
                             Constants.PADDLE_PNG,
                             true);
             TempPaddle tempPaddle =
@@ -75,6 +70,5 @@ public class ExtraPaddle extends CollisionStrategyDecorator {
             gameObjects.addGameObject(tempPaddle);
             extraPaddleCounter.increaseBy(Constants.TURNS_FOR_PADDLE);
         }
-        gameObjects.removeGameObject(thisObj);
     }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package bricker.diagnostics;
+
+import bricker.brick_strategies.CollisionStrategyFactory;
+import bricker.physics.EntityKind;
+import danogl.GameObject;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for a brick broken by a ball or a puck.
+ */
+@Name("bricker.BrickHit")
+@Label("Brick Hit")
+@Category("Bricker")
+public class BrickHitEvent extends jdk.jfr.Event {
+    @Label("Cell")
+    @Description("The cell index of the brick in the field")
+    public int cell;
+
+    @Label("Strategy Id")
+    public int strategyId;
+
+    @Label("Strategy")
+    public String strategy;
+
+    @Label("Hit By")
+    public String hitBy;
+
+    /**
+     * Records the hit of a brick of a field if the event is enabled.
+     *
+     * @param cell       The cell index of the brick.
+     * @param strategyId The strategy id of the brick.
+     * @param hitBy      The ball or puck that hit the brick.
+     */
+    public static void emit(int cell, int strategyId, GameObject hitBy) {
+        BrickHitEvent event = new BrickHitEvent();
+        if (event.isEnabled()) {
+            event.cell = cell;
+            event.strategyId = strategyId;
+            event.strategy = CollisionStrategyFactory.describe(strategyId);
+            event.hitBy = EntityKind.of(hitBy).name();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package bricker.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for the camera starting or stopping to follow the ball.
+ */
+@Name("bricker.Camera")
+@Label("Camera Switch")
+@Category("Bricker")
+public class CameraEvent extends jdk.jfr.Event {
+    @Label("Following")
+    public boolean following;
+
+    /**
+     * Records a camera switch if the event is enabled.
+     *
+     * @param following Whether the camera now follows an object.
+     */
+    public static void emit(boolean following) {
+        CameraEvent event = new CameraEvent();
+        if (event.isEnabled()) {
+            event.following = following;
+            event.commit();
+        }
+    }
+}
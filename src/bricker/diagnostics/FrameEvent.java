@@ -0,0 +1,43 @@
+package bricker.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event spanning the work of one frame, from the
+ * replay and physics to the life and camera bookkeeping.
+ */
+@Name("bricker.Frame")
+@Label("Frame")
+@Category("Bricker")
+@Description("One game frame, with the entity counts at its end")
+public class FrameEvent extends jdk.jfr.Event {
+    @Label("Delta Time")
+    @Description("The frame time the game advanced by, in seconds")
+    public float deltaTime;
+
+    @Label("Substeps")
+    public int substeps;
+
+    @Label("Game Objects")
+    public int gameObjects;
+
+    @Label("Balls and Pucks")
+    public int bodies;
+
+    @Label("Live Pucks")
+    public int livePucks;
+
+    @Label("Bricks Left")
+    public int bricksLeft;
+
+    @Label("Drawn Objects")
+    @Description("The pucks and falling hearts drawn in the last frame")
+    public int drawnObjects;
+
+    @Label("Culled Objects")
+    @Description("The pucks and falling hearts out of the camera's view in the last frame")
+    public int culledObjects;
+}
@@ -0,0 +1,50 @@
+package bricker.diagnostics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * Starts a flight recording of a game session.
+ *
+ * <p>The recording uses the JDK's profile settings, so the CPU samples and
+ * allocations line up with the game's own events, and every Bricker event is
+ * enabled on top. It is written to the destination when the JVM exits.
+ */
+public final class GameRecording {
+    private static final String SETTINGS = "profile";
+
+    private GameRecording() {
+    }
+
+    /**
+     * Starts a recording that is written to a file on exit.
+     *
+     * @param destination The file the recording is written to.
+     * @return The started recording.
+     * @throws IOException If the settings cannot be read or the file cannot be written.
+     */
+    public static Recording start(Path destination) throws IOException {
+        Recording recording;
+        try {
+            recording = new Recording(Configuration.getConfiguration(SETTINGS));
+        } catch (ParseException e) {
+            throw new IOException("Cannot read the " + SETTINGS + " recording settings", e);
+        }
+        recording.setName("Bricker");
+        recording.enable(FrameEvent.class);
+        recording.enable(BrickHitEvent.class);
+        recording.enable(StrategyEvent.class);
+        recording.enable(PuckEvent.class);
+        recording.enable(CameraEvent.class);
+        recording.enable(LifeEvent.class);
+        recording.setToDisk(true);
+        recording.setDestination(destination);
+        recording.setDumpOnExit(true);
+        recording.start();
+        return recording;
+    }
+}
@@ -0,0 +1,34 @@
+package bricker.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for a change in the player's lives.
+ */
+@Name("bricker.Life")
+@Label("Life Change")
+@Category("Bricker")
+public class LifeEvent extends jdk.jfr.Event {
+    @Label("Lives")
+    public int lives;
+
+    @Label("Change")
+    public int change;
+
+    /**
+     * Records a life change if the event is enabled.
+     *
+     * @param lives  The lives left.
+     * @param change The lives gained, negative for lives lost.
+     */
+    public static void emit(int lives, int change) {
+        LifeEvent event = new LifeEvent();
+        if (event.isEnabled()) {
+            event.lives = lives;
+            event.change = change;
+            event.commit();
+        }
+    }
+}
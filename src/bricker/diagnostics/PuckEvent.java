@@ -0,0 +1,39 @@
+package bricker.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for a puck entering or leaving the game.
+ */
+@Name("bricker.Puck")
+@Label("Puck")
+@Category("Bricker")
+public class PuckEvent extends jdk.jfr.Event {
+    @Label("Spawned")
+    public boolean spawned;
+
+    @Label("Reused")
+    public boolean reused;
+
+    @Label("Live Pucks")
+    public int livePucks;
+
+    /**
+     * Records a puck spawn or despawn if the event is enabled.
+     *
+     * @param spawned   True for a spawn, false for a despawn.
+     * @param reused    Whether a spawned puck came from the pool.
+     * @param livePucks The number of pucks in play afterwards.
+     */
+    public static void emit(boolean spawned, boolean reused, int livePucks) {
+        PuckEvent event = new PuckEvent();
+        if (event.isEnabled()) {
+            event.spawned = spawned;
+            event.reused = reused;
+            event.livePucks = livePucks;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package bricker.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event spanning one run of a brick's collision strategy.
+ */
+@Name("bricker.Strategy")
+@Label("Collision Strategy")
+@Category("Bricker")
+public class StrategyEvent extends jdk.jfr.Event {
+    @Label("Strategy Id")
+    public int strategyId;
+
+    @Label("Strategy")
+    public String strategy;
+}
@@ -1,23 +1,26 @@
 package bricker.gameobjects;
 
+import bricker.audio.SoundEffect;
+import bricker.physics.CollisionMatrix;
+import bricker.physics.EntityKind;
+import bricker.physics.HasKind;
 import bricker.utills.Constants;
 import danogl.GameObject;
 import danogl.collisions.Collision;
-import danogl.gui.Sound;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Counter;
 import danogl.util.Vector2;
-import java.util.Objects;
 import java.util.Random;
 /**
  * Represents a ball GameObject in the game.
  */
-public class Ball extends GameObject {
-    private final Sound collisionSound;
+public class Ball extends GameObject implements HasKind {
+    private final SoundEffect collisionSound;
     private final Counter heartLeft;
     private final Vector2 topLeftCorner;
-    private final int speed;
+    private int speed;
     private final Counter collisionCounter = new Counter();
+    private final Random random;
     /**
      * Constructs a new Ball object.
      *
@@ -26,19 +29,41 @@ public class Ball extends GameObject {
      * @param renderable      the renderable object for rendering the ball
      * @param collisionSound  the sound to play on collision
      * @param heartsLeft      the counter for remaining hearts/lives
+     * @param speed           the speed of the ball
+     * @param random          the random source of the game session
      */
     public Ball(Vector2 topLeftCorner, Vector2 dimensions,
-                Renderable renderable, Sound collisionSound,
-                Counter heartsLeft) {
+                Renderable renderable, SoundEffect collisionSound,
+                Counter heartsLeft, int speed, Random random) {
         super(topLeftCorner, dimensions, renderable);
+        this.random = random;
         this.setTag(Constants.BALL_TAG);
         this.collisionSound = collisionSound;
         this.heartLeft = heartsLeft;
         this.topLeftCorner = topLeftCorner;
-        this.speed = Constants.BALL_SPEED;
+        this.speed = speed;
         setDirection();
     }
 
+    /**
+     * Returns the kind of the ball.
+     *
+     * @return BALL
+     */
+    @Override
+    public EntityKind getKind() {
+        return EntityKind.BALL;
+    }
+    /**
+     * Determines whether the ball should collide with another game object.
+     *
+     * @param other the other game object
+     * @return true if the collision matrix lets the two kinds collide
+     */
+    @Override
+    public boolean shouldCollideWith(GameObject other) {
+        return CollisionMatrix.canCollide(getKind(), other);
+    }
     /**
      * Handles collision with other GameObjects.
      *
@@ -48,8 +73,18 @@ public class Ball extends GameObject {
     @Override
     public void onCollisionEnter(GameObject other, Collision collision) {
         super.onCollisionEnter(other, collision);
-        if (Objects.equals(other.getTag(), Constants.FLOOR_TAG) &&
-            Objects.equals(this.getTag(), Constants.BALL_TAG)) {
+        handleCollision(other, collision.getNormal());
+    }
+
+    /**
+     * Reacts to a collision: loses a life on the floor,
+     * otherwise bounces off the surface with the given normal.
+     *
+     * @param other  the other GameObject involved in the collision
+     * @param normal the normal of the collision surface
+     */
+    public void handleCollision(GameObject other, Vector2 normal) {
+        if (EntityKind.of(other) == EntityKind.FLOOR && getKind() == EntityKind.BALL) {
             heartLeft.decrement();
             if (heartLeft.value() > 0) {
                 repositionBall();
@@ -57,18 +92,53 @@ public class Ball extends GameObject {
             }
         }
 
-        Vector2 newVel = getVelocity().flipped(collision.getNormal());
+        Vector2 newVel = getVelocity().flipped(normal);
         setVelocity(newVel);
         collisionCounter.increment();
-        collisionSound.play();
+        if (collisionSound != null) {
+            collisionSound.play();
+        }
     }
     /**
-     * Repositions the ball to its initial position.
+     * Repositions the ball to its initial position, with a new random direction.
      */
-    private void repositionBall() {
+    public void repositionBall() {
         this.setCenter(topLeftCorner);
         this.setDirection();
     }
+    /**
+     * Returns whether the ball is still part of the game.
+     *
+     * @return true, the main ball never leaves the game
+     */
+    public boolean isInPlay() {
+        return true;
+    }
+    /**
+     * Returns the speed of the ball along each axis.
+     *
+     * @return the speed
+     */
+    protected int getSpeed() {
+        return speed;
+    }
+    /**
+     * Changes the speed of the ball, keeping its direction.
+     *
+     * @param speed the new speed
+     */
+    public void setSpeed(int speed) {
+        setVelocity(getVelocity().mult((float) speed / this.speed));
+        this.speed = speed;
+    }
+    /**
+     * Returns the random source of the game session.
+     *
+     * @return the random source
+     */
+    protected Random getRandom() {
+        return random;
+    }
     /**
      * Gets the current collision count.
      *
@@ -78,12 +148,22 @@ public class Ball extends GameObject {
         return collisionCounter.value();
     }
     /**
-     * Sets a random initial direction for the ball.
+     * Sets the collision count, when a saved game is restored.
+     *
+     * @param collisions the collision count
+     */
+    public void setCollisionCounter(int collisions) {
+        collisionCounter.reset();
+        collisionCounter.increaseBy(collisions);
+    }
+    /**
+     * Sets a random initial direction for the ball. Called by the
+     * constructor, so a subclass that overrides it must not rely on
+     * its own fields.
      */
-    private void setDirection() {
+    protected void setDirection() {
         float ballVelX = speed;
         float ballVelY = speed;
-        Random random = new Random();
         if (random.nextBoolean())
             ballVelX *= -1;
         if (random.nextBoolean())
@@ -0,0 +1,86 @@
+package bricker.gameobjects;
+
+import bricker.physics.EntityKind;
+import bricker.physics.TrajectoryPredictor;
+import bricker.utills.Constants;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+/**
+ * Represents a paddle moved by the game, extending the Paddle class.
+ * <p>
+ * A helper bot waits near the floor and moves to where a ball or puck
+ * will fall, to send it back up. A hostile bot waits under the bricks and
+ * moves to where one will rise, to send it back down. Each bot watches one
+ * zone of a lane of the shared {@link TrajectoryPredictor}, and goes back
+ * to the middle of its zone when nothing crosses it.
+ */
+public class BotPaddle extends Paddle {
+    private final TrajectoryPredictor predictor;
+    private final int lane;
+    private final int zone;
+    private final float speed;
+    private final Vector2 home;
+
+    /**
+     * Constructs a new BotPaddle object.
+     *
+     * @param dimensions the dimensions of the bot paddle
+     * @param renderable the renderable object for rendering the bot paddle
+     * @param topY       the top of the bot paddle
+     * @param predictor  the predictor of where the balls and pucks go
+     * @param lane       the lane of the predictor the bot watches
+     * @param zone       the zone of the lane the bot covers
+     * @param speed      the share of the player's paddle speed the bot moves at
+     */
+    public BotPaddle(Vector2 dimensions, Renderable renderable, float topY,
+                     TrajectoryPredictor predictor, int lane, int zone, float speed) {
+        super(Vector2.ZERO, dimensions, renderable, null);
+        this.predictor = predictor;
+        this.lane = lane;
+        this.zone = zone;
+        this.speed = speed;
+        this.setTag(Constants.BOT_PADDLE_TAG);
+        this.home = new Vector2(predictor.zoneCenter(lane, zone) - dimensions.x() / 2, topY);
+        returnHome();
+    }
+
+    /**
+     * Returns the kind of the bot paddle.
+     *
+     * @return BOT_PADDLE
+     */
+    @Override
+    public EntityKind getKind() {
+        return EntityKind.BOT_PADDLE;
+    }
+
+    /**
+     * Moves the bot paddle back to the middle of its zone.
+     */
+    public void returnHome() {
+        setTopLeftCorner(home);
+        setVelocity(Vector2.ZERO);
+    }
+
+    /**
+     * Moves towards the soonest crossing of the bot's zone,
+     * or back to the middle of the zone if nothing crosses it.
+     *
+     * @return the direction, scaled by the bot's speed
+     */
+    @Override
+    protected Vector2 movementDirection() {
+        float target = predictor.getTargetX(lane, zone);
+        if (Float.isNaN(target)) {
+            target = home.x() + getDimensions().x() / 2;
+        }
+        float offset = target - getCenter().x();
+        if (offset < -Constants.BOT_DEAD_ZONE) {
+            return Vector2.LEFT.mult(speed);
+        } else if (offset > Constants.BOT_DEAD_ZONE) {
+            return Vector2.RIGHT.mult(speed);
+        }
+        return Vector2.ZERO;
+    }
+}
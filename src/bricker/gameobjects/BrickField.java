@@ -0,0 +1,623 @@
+package bricker.gameobjects;
+
+import bricker.brick_strategies.CollisionStrategy;
+import bricker.brick_strategies.CollisionStrategyFactory;
+import bricker.diagnostics.BrickHitEvent;
+import bricker.diagnostics.StrategyEvent;
+import bricker.physics.EntityKind;
+import bricker.physics.HasKind;
+import bricker.utills.Constants;
+import danogl.GameObject;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Counter;
+import danogl.util.Vector2;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * All the bricks of the level, stored as one game object.
+ *
+ * <p>Bricks sit on a regular grid, so a brick is fully described by its
+ * cell index: its position and size follow from the grid, whether it is
+ * still standing is one bit, and its collision strategy is a small id.
+ * Each distinct strategy id is bound to a single shared CollisionStrategy.
+ * The whole field is a single GameObject. It has no renderable of its own;
+ * its bricks are drawn into the cached static layer, which is told about
+ * every destroyed brick through the clear listener.
+ *
+ * <p>The strategy ids are stored in square chunks of
+ * {@value Constants#BRICK_CHUNK_SIDE} by {@value Constants#BRICK_CHUNK_SIDE}
+ * cells. When the field has a {@link BrickSource}, a chunk's ids are only
+ * loaded when the chunk is retained near the view or a moving body, or when
+ * one of its bricks is hit, and chunks left out of the retained region are
+ * folded back to just their standing bits. Memory for the ids then follows
+ * the region in play rather than the size of the level, while the bits keep
+ * which bricks were destroyed. Ids prepared in the same chunk layout, see
+ * {@link #newChunkIds(int, int)}, are adopted whole, without a copy.
+ */
+public class BrickField extends GameObject implements HasKind {
+    private final float originX;
+    private final float originY;
+    private final float cellWidth;
+    private final float cellHeight;
+    private final int cols;
+    private final int rows;
+    private final BitSet alive;
+    private final int chunksInRow;
+    private short[][] chunkIds;
+    private final BitSet loadedChunks = new BitSet();
+    private final BitSet retainedChunks = new BitSet();
+    private final Map<Integer, CollisionStrategy> strategies = new HashMap<>();
+    private final Counter bricksLeftToHit;
+    private final Renderable brickImage;
+    private final GameObject hitBrick;
+    private IntConsumer clearListener;
+    private BrickSource source;
+    private long strategyNanos;
+
+    /**
+     * Constructs an empty BrickField.
+     *
+     * @param origin          the top left corner of the first brick
+     * @param cellWidth       the width of a brick
+     * @param cellHeight      the height of a brick
+     * @param cols            the number of bricks in each row
+     * @param rows            the number of rows of bricks
+     * @param brickImage      the renderable object for rendering a brick
+     * @param bricksLeftToHit the counter for remaining bricks
+     */
+    public BrickField(Vector2 origin, float cellWidth, float cellHeight,
+                      int cols, int rows, Renderable brickImage,
+                      Counter bricksLeftToHit) {
+        super(origin, new Vector2(cols * cellWidth, rows * cellHeight), null);
+        this.originX = origin.x();
+        this.originY = origin.y();
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.cols = cols;
+        this.rows = rows;
+        this.alive = new BitSet(cols * rows);
+        this.chunksInRow = chunksAlong(cols);
+        this.chunkIds = newChunkIds(cols, rows);
+        this.bricksLeftToHit = bricksLeftToHit;
+        this.brickImage = brickImage;
+        this.hitBrick = new GameObject(origin, new Vector2(cellWidth, cellHeight), null);
+    }
+
+    /**
+     * Sets the listener told about the cell index of every destroyed brick.
+     *
+     * @param clearListener the listener
+     */
+    public void setClearListener(IntConsumer clearListener) {
+        this.clearListener = clearListener;
+    }
+
+    /**
+     * Puts a standing brick in a cell.
+     *
+     * @param col        the column of the cell
+     * @param row        the row of the cell
+     * @param strategyId the id of the brick's collision strategy
+     * @param strategy   the collision strategy the id stands for
+     * @throws IllegalArgumentException if the id does not fit the short a cell stores
+     */
+    public void setBrick(int col, int row, int strategyId, CollisionStrategy strategy) {
+        short cellId = cellId(strategyId);
+        int chunk = chunkOf(col, row);
+        if (chunkIds[chunk] == null) {
+            chunkIds[chunk] = new short[Constants.BRICK_CHUNK_SIDE * Constants.BRICK_CHUNK_SIDE];
+            loadedChunks.set(chunk);
+        }
+        chunkIds[chunk][offsetInChunk(col, row)] = cellId;
+        strategies.putIfAbsent(strategyId, strategy);
+        alive.set(indexOf(col, row));
+    }
+
+    /**
+     * Takes over strategy ids prepared in the chunk layout of the field,
+     * without copying them, for the next level. The field must be empty.
+     * The field owns the ids from then on; the strategies of the ids are
+     * bound with {@link #bindStrategy(int, CollisionStrategy)}.
+     *
+     * @param chunkIds the ids, as made by {@link #newChunkIds(int, int)}
+     * @throws IllegalArgumentException if the ids are not laid out for the field
+     */
+    public void adoptChunkIds(short[][] chunkIds) {
+        if (chunkIds.length != this.chunkIds.length) {
+            throw new IllegalArgumentException("The ids have " + chunkIds.length
+                    + " chunks, the field has " + this.chunkIds.length);
+        }
+        this.chunkIds = chunkIds;
+        loadedChunks.clear();
+        retainedChunks.clear();
+        for (int chunk = 0; chunk < chunkIds.length; chunk++) {
+            if (chunkIds[chunk] != null) {
+                loadedChunks.set(chunk);
+            }
+        }
+    }
+
+    /**
+     * Binds a strategy id to the shared strategy it stands for.
+     *
+     * @param strategyId the strategy id
+     * @param strategy   the collision strategy the id stands for
+     */
+    public void bindStrategy(int strategyId, CollisionStrategy strategy) {
+        strategies.put(strategyId, strategy);
+    }
+
+    /**
+     * Creates the chunks of strategy ids of a field, none of them loaded.
+     *
+     * @param cols the number of bricks in each row
+     * @param rows the number of rows of bricks
+     * @return one null entry per chunk
+     */
+    public static short[][] newChunkIds(int cols, int rows) {
+        return new short[chunksAlong(cols) * chunksAlong(rows)][];
+    }
+
+    /**
+     * Puts the strategy id of a cell in chunks of strategy ids,
+     * creating the cell's chunk if needed. Safe on any thread, as it only
+     * touches the given ids.
+     *
+     * @param chunkIds   the ids, as made by {@link #newChunkIds(int, int)}
+     * @param cols       the number of bricks in each row
+     * @param col        the column of the cell
+     * @param row        the row of the cell
+     * @param strategyId the id of the brick's collision strategy
+     * @throws IllegalArgumentException if the id does not fit the short a cell stores
+     */
+    public static void putChunkId(short[][] chunkIds, int cols, int col, int row,
+                                  int strategyId) {
+        short cellId = cellId(strategyId);
+        int chunk = (row / Constants.BRICK_CHUNK_SIDE) * chunksAlong(cols)
+                + col / Constants.BRICK_CHUNK_SIDE;
+        if (chunkIds[chunk] == null) {
+            chunkIds[chunk] = new short[Constants.BRICK_CHUNK_SIDE * Constants.BRICK_CHUNK_SIDE];
+        }
+        chunkIds[chunk][offsetInChunk(col, row)] = cellId;
+    }
+
+    /**
+     * Narrows a strategy id to the short a cell stores it in.
+     *
+     * @param strategyId the id of a collision strategy
+     * @return the id as a short
+     * @throws IllegalArgumentException if the id is negative or too large for a short
+     */
+    public static short cellId(int strategyId) {
+        if (strategyId < 0 || strategyId > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Strategy id " + strategyId
+                    + " does not fit in a brick cell");
+        }
+        return (short) strategyId;
+    }
+
+    /**
+     * Returns the number of chunks along a side of the field.
+     *
+     * @param cells the number of cells along the side
+     * @return the number of chunks
+     */
+    private static int chunksAlong(int cells) {
+        return (cells + Constants.BRICK_CHUNK_SIDE - 1) / Constants.BRICK_CHUNK_SIDE;
+    }
+
+    /**
+     * Puts a standing brick in a cell, whose strategy id
+     * is loaded from the brick source when needed.
+     *
+     * @param col the column of the cell
+     * @param row the row of the cell
+     */
+    public void setStanding(int col, int row) {
+        alive.set(indexOf(col, row));
+    }
+
+    /**
+     * Sets the source the strategy ids of the chunks are loaded from.
+     * With a source, chunks outside the retained region are folded.
+     *
+     * @param source the brick source
+     */
+    public void setSource(BrickSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Retains the chunks overlapping a region of the world, and the chunks
+     * next to them, loading the ones that are not loaded yet.
+     *
+     * @param minX the left of the region
+     * @param minY the top of the region
+     * @param maxX the right of the region
+     * @param maxY the bottom of the region
+     */
+    public void retainRegion(float minX, float minY, float maxX, float maxY) {
+        int firstCol = Math.max(0, (int) Math.floor((minX - originX) / cellWidth)
+                - Constants.BRICK_CHUNK_SIDE);
+        int firstRow = Math.max(0, (int) Math.floor((minY - originY) / cellHeight)
+                - Constants.BRICK_CHUNK_SIDE);
+        int lastCol = Math.min(cols - 1, (int) Math.floor((maxX - originX) / cellWidth)
+                + Constants.BRICK_CHUNK_SIDE);
+        int lastRow = Math.min(rows - 1, (int) Math.floor((maxY - originY) / cellHeight)
+                + Constants.BRICK_CHUNK_SIDE);
+        if (firstCol > lastCol || firstRow > lastRow) {
+            return;
+        }
+        int firstChunkCol = firstCol / Constants.BRICK_CHUNK_SIDE;
+        int firstChunkRow = firstRow / Constants.BRICK_CHUNK_SIDE;
+        int lastChunkCol = lastCol / Constants.BRICK_CHUNK_SIDE;
+        int lastChunkRow = lastRow / Constants.BRICK_CHUNK_SIDE;
+        for (int chunkRow = firstChunkRow; chunkRow <= lastChunkRow; chunkRow++) {
+            for (int chunkCol = firstChunkCol; chunkCol <= lastChunkCol; chunkCol++) {
+                int chunk = chunkRow * chunksInRow + chunkCol;
+                retainedChunks.set(chunk);
+                if (chunkIds[chunk] == null) {
+                    loadChunk(chunk);
+                }
+            }
+        }
+    }
+
+    /**
+     * Folds every loaded chunk that was not retained since the last call
+     * back to its standing bits. Does nothing without a brick source,
+     * since the ids could not be loaded again.
+     */
+    public void foldUnretained() {
+        if (source != null) {
+            for (int chunk = loadedChunks.nextSetBit(0); chunk >= 0;
+                 chunk = loadedChunks.nextSetBit(chunk + 1)) {
+                if (!retainedChunks.get(chunk)) {
+                    chunkIds[chunk] = null;
+                    loadedChunks.clear(chunk);
+                }
+            }
+        }
+        retainedChunks.clear();
+    }
+
+    /**
+     * Returns the standing bits of all the cells.
+     *
+     * @return a copy of the bits, as in {@link BitSet#toLongArray()}
+     */
+    public long[] getStandingBits() {
+        return alive.toLongArray();
+    }
+
+    /**
+     * Replaces the standing bits of all the cells, when a saved game is
+     * restored. The static layer must be told to compose itself again.
+     *
+     * @param bits the bits, as in {@link BitSet#toLongArray()}
+     */
+    public void restoreStandingBits(long[] bits) {
+        alive.clear();
+        alive.or(BitSet.valueOf(bits));
+    }
+
+    /**
+     * Empties the field for the next level: no brick stands, no strategy
+     * id is loaded and no strategy is kept. The brick source stays until
+     * it is replaced.
+     */
+    public void clear() {
+        alive.clear();
+        dropLoadedChunks();
+        clearStrategies();
+    }
+
+    /**
+     * Drops the strategy ids of every loaded chunk, after the brick
+     * source was replaced, so they are loaded again from the new one.
+     */
+    public void dropLoadedChunks() {
+        Arrays.fill(chunkIds, null);
+        loadedChunks.clear();
+        retainedChunks.clear();
+    }
+
+    /**
+     * Knocks every brick down, keeping the loaded strategy ids,
+     * so the field can be filled again in place.
+     */
+    public void clearStanding() {
+        alive.clear();
+    }
+
+    /**
+     * Drops the strategies kept for the strategy ids, after the
+     * strategies were built again with other balance settings.
+     */
+    public void clearStrategies() {
+        strategies.clear();
+    }
+
+    /**
+     * Returns the number of chunks whose strategy ids are loaded.
+     *
+     * @return the number of loaded chunks
+     */
+    public int getLoadedChunks() {
+        return loadedChunks.cardinality();
+    }
+
+    /**
+     * Breaks a standing brick: clears it from the field, applies its
+     * collision strategy and counts it as hit.
+     *
+     * @param index    the cell index of the brick
+     * @param otherObj the ball or puck that hit the brick
+     */
+    public void hit(int index, GameObject otherObj) {
+        if (!alive.get(index)) {
+            return;
+        }
+        alive.clear(index);
+        if (clearListener != null) {
+            clearListener.accept(index);
+        }
+        hitBrick.setTopLeftCorner(cellTopLeftCorner(index % cols, index / cols));
+        int strategyId = getStrategyId(index);
+        BrickHitEvent.emit(index, strategyId, otherObj);
+        StrategyEvent strategyEvent = new StrategyEvent();
+        strategyEvent.begin();
+        long start = System.nanoTime();
+        strategyOf(strategyId).onCollision(hitBrick, otherObj);
+        strategyNanos += System.nanoTime() - start;
+        strategyEvent.end();
+        if (strategyEvent.shouldCommit()) {
+            strategyEvent.strategyId = strategyId;
+            strategyEvent.strategy = CollisionStrategyFactory.describe(strategyId);
+            strategyEvent.commit();
+        }
+        bricksLeftToHit.decrement();
+    }
+
+    /**
+     * Returns the collision strategy of a strategy id,
+     * asking the brick source for ids it was not given.
+     *
+     * @param strategyId the strategy id
+     * @return the shared collision strategy
+     */
+    private CollisionStrategy strategyOf(int strategyId) {
+        CollisionStrategy strategy = strategies.get(strategyId);
+        if (strategy == null && source != null) {
+            strategy = source.strategyOf(strategyId);
+            strategies.put(strategyId, strategy);
+        }
+        return strategy;
+    }
+
+    /**
+     * Loads the strategy ids of a chunk from the brick source.
+     *
+     * @param chunk the index of the chunk
+     */
+    private void loadChunk(int chunk) {
+        short[] ids = new short[Constants.BRICK_CHUNK_SIDE * Constants.BRICK_CHUNK_SIDE];
+        int firstCol = (chunk % chunksInRow) * Constants.BRICK_CHUNK_SIDE;
+        int firstRow = (chunk / chunksInRow) * Constants.BRICK_CHUNK_SIDE;
+        source.loadChunk(chunk, firstCol, firstRow,
+                Math.min(Constants.BRICK_CHUNK_SIDE, cols - firstCol),
+                Math.min(Constants.BRICK_CHUNK_SIDE, rows - firstRow), ids);
+        chunkIds[chunk] = ids;
+        loadedChunks.set(chunk);
+    }
+
+    /**
+     * Returns the chunk of a cell.
+     *
+     * @param col the column of the cell
+     * @param row the row of the cell
+     * @return the chunk index
+     */
+    private int chunkOf(int col, int row) {
+        return (row / Constants.BRICK_CHUNK_SIDE) * chunksInRow + col / Constants.BRICK_CHUNK_SIDE;
+    }
+
+    /**
+     * Returns the position of a cell in the ids of its chunk.
+     *
+     * @param col the column of the cell
+     * @param row the row of the cell
+     * @return the offset in the chunk
+     */
+    private static int offsetInChunk(int col, int row) {
+        return (row % Constants.BRICK_CHUNK_SIDE) * Constants.BRICK_CHUNK_SIDE
+                + col % Constants.BRICK_CHUNK_SIDE;
+    }
+
+    /**
+     * Returns the kind of the field, which balls and pucks bounce off.
+     *
+     * @return BRICK
+     */
+    @Override
+    public EntityKind getKind() {
+        return EntityKind.BRICK;
+    }
+
+    /**
+     * Returns the total time spent in the collision strategies of hit bricks.
+     *
+     * @return the strategy time, in nanoseconds
+     */
+    public long getStrategyNanos() {
+        return strategyNanos;
+    }
+
+    /**
+     * Returns whether the brick of a cell is still standing.
+     *
+     * @param index the cell index
+     * @return true if the brick was not hit yet
+     */
+    public boolean isAlive(int index) {
+        return alive.get(index);
+    }
+
+    /**
+     * Returns the strategy id of a cell, loading its chunk if needed.
+     *
+     * @param index the cell index
+     * @return the id of the brick's collision strategy
+     */
+    public int getStrategyId(int index) {
+        int col = index % cols;
+        int row = index / cols;
+        int chunk = chunkOf(col, row);
+        if (chunkIds[chunk] == null) {
+            if (source == null) {
+                return 0;
+            }
+            loadChunk(chunk);
+        }
+        return chunkIds[chunk][offsetInChunk(col, row)];
+    }
+
+    /**
+     * Returns the index of a cell.
+     *
+     * @param col the column of the cell
+     * @param row the row of the cell
+     * @return the cell index
+     */
+    public int indexOf(int col, int row) {
+        return row * cols + col;
+    }
+
+    /**
+     * Returns the top left corner of a cell.
+     *
+     * @param col the column of the cell
+     * @param row the row of the cell
+     * @return the top left corner of the cell
+     */
+    public Vector2 cellTopLeftCorner(int col, int row) {
+        return new Vector2(originX + col * cellWidth, originY + row * cellHeight);
+    }
+
+    /**
+     * Returns the image every brick is drawn with.
+     *
+     * @return the brick image, or null if bricks are not drawn
+     */
+    public Renderable getBrickImage() {
+        return brickImage;
+    }
+
+    /**
+     * Returns the x coordinate of the left side of the first column.
+     *
+     * @return the left of the field
+     */
+    public float getOriginX() {
+        return originX;
+    }
+
+    /**
+     * Returns the y coordinate of the top side of the first row.
+     *
+     * @return the top of the field
+     */
+    public float getOriginY() {
+        return originY;
+    }
+
+    /**
+     * Returns the width of a brick.
+     *
+     * @return the cell width
+     */
+    public float getCellWidth() {
+        return cellWidth;
+    }
+
+    /**
+     * Returns the height of a brick.
+     *
+     * @return the cell height
+     */
+    public float getCellHeight() {
+        return cellHeight;
+    }
+
+    /**
+     * Returns the number of bricks in each row.
+     *
+     * @return the number of columns
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Returns the number of rows of bricks.
+     *
+     * @return the number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Draws every standing brick at its cell. When the graphics
+     * are clipped, only the rows inside the clip are visited.
+     *
+     * @param g      the graphics to draw on, in world units times the scale
+     * @param scaleX the horizontal scale from world units to pixels
+     * @param scaleY the vertical scale from world units to pixels
+     */
+    public void drawBricks(Graphics2D g, float scaleX, float scaleY) {
+        drawBricks(g, scaleX, scaleY, alive);
+    }
+
+    /**
+     * Draws the bricks of given standing bits at their cells, such as the
+     * bits of a level prepared on a worker thread. Reads only the fixed
+     * layout of the field, so it is safe on any thread.
+     *
+     * @param g        the graphics to draw on, in world units times the scale
+     * @param scaleX   the horizontal scale from world units to pixels
+     * @param scaleY   the vertical scale from world units to pixels
+     * @param standing the standing bits of the cells
+     */
+    public void drawBricks(Graphics2D g, float scaleX, float scaleY, BitSet standing) {
+        if (brickImage == null) {
+            return;
+        }
+        float brickWidth = cellWidth * scaleX;
+        float brickHeight = cellHeight * scaleY;
+        Vector2 brickDimensions = new Vector2(brickWidth, brickHeight);
+        int first = Constants.ZERO;
+        int end = cols * rows;
+        Rectangle clip = g.getClipBounds();
+        if (clip != null) {
+            int firstRow = (int) Math.floor((clip.y - originY * scaleY) / brickHeight);
+            int endRow = (int) Math.ceil((clip.y + clip.height - originY * scaleY) / brickHeight);
+            first = indexOf(0, Math.max(0, Math.min(rows, firstRow)));
+            end = indexOf(0, Math.max(0, Math.min(rows, endRow)));
+        }
+        for (int i = standing.nextSetBit(first); i >= 0 && i < end;
+             i = standing.nextSetBit(i + 1)) {
+            Vector2 brickTopLeft = new Vector2(
+                    originX * scaleX + (i % cols) * brickWidth,
+                    originY * scaleY + (i / cols) * brickHeight);
+            brickImage.render(g, brickTopLeft, brickDimensions,
+                    Constants.ZERO, false, false, 1);
+        }
+    }
+}
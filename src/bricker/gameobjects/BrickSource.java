@@ -0,0 +1,35 @@
+package bricker.gameobjects;
+
+import bricker.brick_strategies.CollisionStrategy;
+
+/**
+ * Supplies the bricks of a lazily loaded {@link BrickField}, one chunk at a time.
+ *
+ * <p>A source must give the same strategy ids every time the same chunk
+ * is loaded, since the field drops the ids of chunks far from the action
+ * and loads them again when they are needed.
+ */
+public interface BrickSource {
+    /**
+     * Loads the strategy ids of the cells of one chunk. The id of the cell
+     * {@code (firstCol + c, firstRow + r)} goes to
+     * {@code strategyIds[r * Constants.BRICK_CHUNK_SIDE + c]}.
+     *
+     * @param chunk       the index of the chunk
+     * @param firstCol    the first column of the chunk
+     * @param firstRow    the first row of the chunk
+     * @param width       the number of columns in the chunk
+     * @param height      the number of rows in the chunk
+     * @param strategyIds the array to fill
+     */
+    void loadChunk(int chunk, int firstCol, int firstRow, int width, int height,
+                   short[] strategyIds);
+
+    /**
+     * Returns the collision strategy a strategy id stands for.
+     *
+     * @param strategyId the strategy id
+     * @return the shared collision strategy
+     */
+    CollisionStrategy strategyOf(int strategyId);
+}
@@ -1,5 +1,8 @@
 package bricker.gameobjects;
 
+import bricker.physics.CollisionMatrix;
+import bricker.physics.EntityKind;
+import bricker.physics.HasKind;
 import bricker.utills.Constants;
 import danogl.GameObject;
 import danogl.collisions.Collision;
@@ -8,18 +11,18 @@ import danogl.gui.rendering.Renderable;
 import danogl.util.Counter;
 import danogl.util.Vector2;
 
-import java.awt.*;
-import java.util.Objects;
-
 /**
  * The Heart class represents a game object in the game that appears as a heart.
  */
-public class Heart extends GameObject {
+public class Heart extends GameObject implements HasKind {
     private final GameObjectCollection gameObjects;
 
     // Counter to keep track of the number of hearts remaining
     private final Counter heartsLeft;
 
+    // A heart of the life display until it is made to fall
+    private EntityKind kind = EntityKind.HEART;
+
     /**
      * Constructs a Heart object.
      *
@@ -37,17 +40,35 @@ public class Heart extends GameObject {
 
     }
 
+    /**
+     * Returns the kind of this heart.
+     *
+     * @return HEART for a heart of the life display, FALLING_HEART for a falling one
+     */
+    @Override
+    public EntityKind getKind() {
+        return kind;
+    }
+
+    /**
+     * Sets the kind of this heart.
+     *
+     * @param kind HEART for a heart of the life display, FALLING_HEART for a falling one
+     */
+    public void setKind(EntityKind kind) {
+        this.kind = kind;
+    }
+
     /**
      * Determines whether this heart object should collide with another game object.
+     * Only a falling heart collides, with the paddle and the floor.
      *
      * @param other The other game object
      * @return true if this heart should collide with the other object, false otherwise
      */
     @Override
     public boolean shouldCollideWith(GameObject other) {
-        return (Objects.equals(other.getTag(), Constants.PADDLE_TAG) ||
-                Objects.equals(other.getTag(), Constants.FLOOR_TAG)) &&
-                Objects.equals(this.getTag(), Constants.FALL_HEART_TAG);
+        return CollisionMatrix.canCollide(kind, other);
     }
 
 
@@ -59,7 +80,7 @@ public class Heart extends GameObject {
      */
     @Override
     public void onCollisionEnter(GameObject other, Collision collision) {
-        if (Objects.equals(other.getTag(), Constants.PADDLE_TAG))
+        if (EntityKind.of(other) == EntityKind.PADDLE)
             if (heartsLeft.value() < Constants.MAX_HEART_AMOUNT)
                 heartsLeft.increment();
         // Remove the heart from the game
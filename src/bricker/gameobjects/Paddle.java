@@ -1,5 +1,8 @@
 package bricker.gameobjects;
 
+import bricker.physics.CollisionMatrix;
+import bricker.physics.EntityKind;
+import bricker.physics.HasKind;
 import bricker.utills.Constants;
 import danogl.GameObject;
 import danogl.gui.UserInputListener;
@@ -10,7 +13,7 @@ import java.awt.event.KeyEvent;
 /**
  * Represents a paddle GameObject in the game.
  */
-public class Paddle extends GameObject {
+public class Paddle extends GameObject implements HasKind {
     private final UserInputListener inputListener;
     /**
      * Constructs a new Paddle object.
@@ -27,7 +30,26 @@ public class Paddle extends GameObject {
         this.setTag(Constants.PADDLE_TAG);
     }
     /**
-     * Updates the paddle's position based on user input.
+     * Returns the kind of the paddle.
+     *
+     * @return PADDLE
+     */
+    @Override
+    public EntityKind getKind() {
+        return EntityKind.PADDLE;
+    }
+    /**
+     * Determines whether the paddle should collide with another game object.
+     *
+     * @param other the other game object
+     * @return true if the collision matrix lets the two kinds collide
+     */
+    @Override
+    public boolean shouldCollideWith(GameObject other) {
+        return CollisionMatrix.canCollide(getKind(), other);
+    }
+    /**
+     * Updates the paddle's position, keeping it between the walls.
      *
      * @param deltaTime     the time elapsed since the last update
      */
@@ -41,11 +63,30 @@ public class Paddle extends GameObject {
         } else if (this.getTopLeftCorner().x() > Constants.RIGHT_WALL) {
             this.setTopLeftCorner(new Vector2(Constants.RIGHT_WALL, this.getTopLeftCorner().y()));
             movementDir = movementDir.add(Vector2.ZERO);
-        } else if (inputListener.isKeyPressed(KeyEvent.VK_LEFT)) {
-            movementDir = movementDir.add(Vector2.LEFT);
-        } else if (inputListener.isKeyPressed(KeyEvent.VK_RIGHT)) {
-            movementDir = movementDir.add(Vector2.RIGHT);
+        } else {
+            movementDir = movementDirection();
         }
         setVelocity(movementDir.mult(Constants.MOVEMENT_SPEED));
     }
+    /**
+     * Returns the direction the paddle moves in, from the arrow keys.
+     *
+     * @return the direction, scaled by the share of the full speed
+     */
+    protected Vector2 movementDirection() {
+        if (inputListener.isKeyPressed(KeyEvent.VK_LEFT)) {
+            return Vector2.LEFT;
+        } else if (inputListener.isKeyPressed(KeyEvent.VK_RIGHT)) {
+            return Vector2.RIGHT;
+        }
+        return Vector2.ZERO;
+    }
+    /**
+     * Reacts to being hit by a ball or puck that bounced off it
+     * outside the engine's collision detection.
+     *
+     * @param other the ball or puck that hit the paddle
+     */
+    public void handleHit(GameObject other) {
+    }
 }
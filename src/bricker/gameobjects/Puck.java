@@ -1,23 +1,25 @@
 package bricker.gameobjects;
 
+import bricker.audio.SoundEffect;
+import bricker.physics.EntityKind;
+import bricker.rendering.Viewport;
 import bricker.utills.Constants;
 import danogl.GameObject;
-import danogl.collisions.Collision;
 import danogl.collisions.GameObjectCollection;
-import danogl.gui.Sound;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Counter;
 import danogl.util.Vector2;
 
-import java.util.Objects;
 import java.util.Random;
 /**
  * Represents a puck GameObject in the game, extending the Ball class.
  */
 public class Puck extends Ball {
-    private final int speed;
-    private final Sound collisionSound;
+    private final SoundEffect collisionSound;
     private final GameObjectCollection gameObjects;
+    private final PuckPool puckPool;
+    private final Viewport viewport;
+    private boolean inPlay = true;
     /**
      * Constructs a new Puck object.
      *
@@ -27,41 +29,93 @@ public class Puck extends Ball {
      * @param collisionSound      the sound to play on collision
      * @param gameObjects         the collection of GameObjects in the game
      * @param heartsLeft          the counter for remaining hearts/lives
+     * @param puckPool            the pool the puck returns to when it falls
+     * @param speed               the speed of the puck
+     * @param random              the random source of the game session
+     * @param viewport            the view the puck is culled against while
+     *                            out of sight, when it is neither drawn nor heard
      */
     public Puck(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable,
-                Sound collisionSound, GameObjectCollection gameObjects,
-                Counter heartsLeft) {
-        super(topLeftCorner, dimensions, renderable, collisionSound, heartsLeft);
+                SoundEffect collisionSound, GameObjectCollection gameObjects,
+                Counter heartsLeft, PuckPool puckPool, int speed, Random random,
+                Viewport viewport) {
+        super(topLeftCorner, dimensions, renderable, collisionSound, heartsLeft, speed, random);
         this.setTag(Constants.PUCK_TAG);
         this.collisionSound = collisionSound;
         this.gameObjects = gameObjects;
-        this.speed = Constants.BALL_SPEED;
+        this.puckPool = puckPool;
+        this.viewport = viewport;
+        viewport.cull(this);
+    }
+    /**
+     * Brings a pooled puck back into play at a new position
+     * with a new random direction.
+     *
+     * @param topLeftCorner the top left corner position of the puck
+     * @param dimensions    the dimensions of the puck
+     */
+    void reset(Vector2 topLeftCorner, Vector2 dimensions) {
+        this.setTopLeftCorner(topLeftCorner);
+        this.setDimensions(dimensions);
+        this.setTag(Constants.PUCK_TAG);
+        this.inPlay = true;
         setDirection();
     }
     /**
-     * Sets a random initial direction for the puck.
+     * Sets a random initial direction for the puck. A new puck gets its
+     * direction from the Ball constructor and a reused one from
+     * {@link #reset}, with the same single draw, so the random numbers
+     * used do not depend on which pucks the pool holds.
      */
-    private void setDirection() {
-        Random rand = new Random();
-        double angle = rand.nextDouble() * Math.PI;
-        float puckVelX = (float) Math.cos(angle) * speed;
-        float puckVelY = (float) Math.sin(angle) * speed;
+    @Override
+    protected void setDirection() {
+        double angle = getRandom().nextDouble() * Math.PI;
+        float puckVelX = (float) Math.cos(angle) * getSpeed();
+        float puckVelY = (float) Math.sin(angle) * getSpeed();
         this.setVelocity(new Vector2(puckVelX, puckVelY));
     }
+    /**
+     * Returns the kind of the puck.
+     *
+     * @return PUCK
+     */
+    @Override
+    public EntityKind getKind() {
+        return EntityKind.PUCK;
+    }
+    /**
+     * Returns whether the puck is still part of the game.
+     *
+     * @return false once the puck fell to the floor
+     */
+    @Override
+    public boolean isInPlay() {
+        return inPlay;
+    }
+    /**
+     * Removes the puck from the game and returns it to its pool.
+     */
+    public void leaveGame() {
+        gameObjects.removeGameObject(this, Constants.PUCK_LAYER);
+        inPlay = false;
+        puckPool.release(this);
+    }
     /**
      * Handles collision with other GameObjects.
      *
-     * @param other     the other GameObject involved in the collision
-     * @param collision the collision details
+     * @param other  the other GameObject involved in the collision
+     * @param normal the normal of the collision surface
      */
     @Override
-    public void onCollisionEnter(GameObject other, Collision collision) {
-        if (Objects.equals(other.getTag(), Constants.FLOOR_TAG)) {
-            gameObjects.removeGameObject(this);
+    public void handleCollision(GameObject other, Vector2 normal) {
+        if (EntityKind.of(other) == EntityKind.FLOOR) {
+            leaveGame();
             return;
         }
-        Vector2 newVel = getVelocity().flipped(collision.getNormal());
+        Vector2 newVel = getVelocity().flipped(normal);
         setVelocity(newVel);
-        collisionSound.play();
+        if (collisionSound != null && viewport.isVisible(this)) {
+            collisionSound.play();
+        }
     }
 }
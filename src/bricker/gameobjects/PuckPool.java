@@ -0,0 +1,159 @@
+package bricker.gameobjects;
+
+import bricker.audio.SoundEffect;
+import bricker.diagnostics.PuckEvent;
+import bricker.rendering.Viewport;
+import danogl.collisions.GameObjectCollection;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Counter;
+import danogl.util.Vector2;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+/**
+ * A bounded pool of reusable pucks.
+ *
+ * <p>Pucks that fall to the floor are returned to the pool instead of being
+ * dropped, and are handed out again the next time an extra ball brick is
+ * hit. At most {@code capacity} pucks are in play at once; requests beyond
+ * that are rejected. A puck returned during a frame becomes available again
+ * only after {@link #recycle()}, once nothing in that frame still sees it.
+ */
+public class PuckPool {
+    private final GameObjectCollection gameObjects;
+    private final Renderable puckImage;
+    private final SoundEffect collisionSound;
+    private final Counter heartsLeft;
+    private int capacity;
+    private int puckSpeed;
+    private final Random random;
+    private final Viewport viewport;
+    private final ArrayDeque<Puck> free = new ArrayDeque<>();
+    private final ArrayDeque<Puck> released = new ArrayDeque<>();
+    private int live;
+    private int rejected;
+
+    /**
+     * Constructs an empty PuckPool.
+     *
+     * @param gameObjects    The collection of game objects.
+     * @param puckImage      The image of the pucks.
+     * @param collisionSound The sound the pucks play on collision.
+     * @param heartsLeft     The counter for remaining hearts/lives.
+     * @param capacity       The maximal number of pucks in play.
+     * @param puckSpeed      The speed of the pucks.
+     * @param random         The random source of the game session.
+     * @param viewport       The view the pucks are culled against.
+     */
+    public PuckPool(GameObjectCollection gameObjects, Renderable puckImage,
+                    SoundEffect collisionSound, Counter heartsLeft, int capacity,
+                    int puckSpeed, Random random, Viewport viewport) {
+        this.gameObjects = gameObjects;
+        this.puckImage = puckImage;
+        this.collisionSound = collisionSound;
+        this.heartsLeft = heartsLeft;
+        this.capacity = capacity;
+        this.puckSpeed = puckSpeed;
+        this.random = random;
+        this.viewport = viewport;
+    }
+
+    /**
+     * Hands out a puck, reusing a returned one when possible.
+     * <p>
+     * The puck is placed at the given position with a new random
+     * direction. It is not yet added to the game objects.
+     *
+     * @param topLeftCorner The top left corner position of the puck.
+     * @param dimensions    The dimensions of the puck.
+     * @return The puck, or null if the pool is at capacity.
+     */
+    public Puck acquire(Vector2 topLeftCorner, Vector2 dimensions) {
+        if (live >= capacity) {
+            rejected++;
+            return null;
+        }
+        live++;
+        Puck puck = free.poll();
+        PuckEvent.emit(true, puck != null, live);
+        if (puck == null) {
+            return new Puck(topLeftCorner, dimensions, puckImage,
+                    collisionSound, gameObjects, heartsLeft, this, puckSpeed, random, viewport);
+        }
+        puck.setSpeed(puckSpeed);
+        puck.reset(topLeftCorner, dimensions);
+        return puck;
+    }
+
+    /**
+     * Takes back a puck that left the game.
+     *
+     * @param puck The puck, already removed from the game objects.
+     */
+    void release(Puck puck) {
+        live--;
+        released.add(puck);
+        PuckEvent.emit(false, false, live);
+    }
+
+    /**
+     * Makes the pucks returned since the last call available again.
+     * Called once per frame.
+     */
+    public void recycle() {
+        while (!released.isEmpty()) {
+            free.add(released.poll());
+        }
+    }
+
+    /**
+     * Changes the most pucks in play at once. Pucks already in play stay.
+     *
+     * @param capacity The maximal number of pucks in play.
+     * @throws IllegalArgumentException If the capacity is negative.
+     */
+    public void setCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Negative puck capacity " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Changes the speed of the pucks handed out from now on.
+     *
+     * @param puckSpeed The speed of the pucks.
+     */
+    public void setPuckSpeed(int puckSpeed) {
+        this.puckSpeed = puckSpeed;
+    }
+
+    /**
+     * Returns the number of pucks in play.
+     *
+     * @return The live puck count.
+     */
+    public int getLive() {
+        return live;
+    }
+
+    /**
+     * Returns the number of pucks waiting in the pool.
+     *
+     * @return The pooled puck count.
+     */
+    public int getPooled() {
+        return free.size() + released.size();
+    }
+
+    /**
+     * Returns the number of pucks that could not be
+     * handed out because the pool was at capacity.
+     *
+     * @return The rejected puck count.
+     */
+    public int getRejected() {
+        return rejected;
+    }
+}
@@ -1,5 +1,6 @@
 package bricker.gameobjects;
 
+import bricker.physics.EntityKind;
 import bricker.utills.Constants;
 import danogl.GameObject;
 import danogl.collisions.Collision;
@@ -8,8 +9,6 @@ import danogl.gui.UserInputListener;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Counter;
 import danogl.util.Vector2;
-
-import java.util.Objects;
 /**
  * Represents a temporary paddle GameObject in
  * the game, extending the Paddle class.
@@ -44,6 +43,15 @@ public class TempPaddle extends Paddle {
         this.setTag(Constants.TEMP_PADDLE_TAG);
         this.extraPaddleCounter = extraPaddleCounter;
     }
+    /**
+     * Returns the kind of the temporary paddle.
+     *
+     * @return TEMP_PADDLE
+     */
+    @Override
+    public EntityKind getKind() {
+        return EntityKind.TEMP_PADDLE;
+    }
     /**
      * Handles collision with other GameObjects.
      *
@@ -54,15 +62,27 @@ public class TempPaddle extends Paddle {
     public void onCollisionEnter(GameObject other,
                                  Collision collision) {
         super.onCollisionEnter(other, collision);
-        if (Objects.equals(other.getTag(), Constants.BALL_TAG) ||
-                Objects.equals(other.getTag(),
-                Constants.PUCK_TAG)) {
-
-            this.extraPaddleCounter.decrement();
-            if(this.extraPaddleCounter.value()==0){
-                gameObjects.removeGameObject(this);
-                this.extraPaddleCounter.reset();
-            }
+        handleHit(other);
+    }
+    /**
+     * Counts a hit by a ball or puck, and removes the
+     * temporary paddle once its hits are used up.
+     *
+     * @param other the GameObject that hit the paddle
+     */
+    @Override
+    public void handleHit(GameObject other) {
+        switch (EntityKind.of(other)) {
+            case BALL:
+            case PUCK:
+                this.extraPaddleCounter.decrement();
+                if(this.extraPaddleCounter.value()==0){
+                    gameObjects.removeGameObject(this);
+                    this.extraPaddleCounter.reset();
+                }
+                break;
+            default:
+                break;
         }
 
     }
@@ -2,8 +2,6 @@ package bricker.gameobjects;
 
 import bricker.utills.Constants;
 import danogl.GameObject;
-import danogl.collisions.GameObjectCollection;
-import danogl.collisions.Layer;
 import danogl.gui.rendering.TextRenderable;
 import danogl.util.Counter;
 import danogl.util.Vector2;
@@ -11,47 +9,89 @@ import danogl.util.Vector2;
 import java.awt.*;
 /**
  * Represents a text GameObject in the game.
+ * <p>
+ * The text shows the number of remaining lives. It is a single game
+ * object whose renderable is changed only when the counter changes.
  */
 public class Text extends GameObject {
     private final Counter heartsLeft;
-    private final Vector2 topLeftCorner;
-    private final Vector2 dimensions;
-    private final GameObjectCollection gameObjects;
     private final TextRenderable textRenderable;
+    private int shownValue;
+    private String shownString;
+    private Color shownColor;
     /**
      * Constructs a new Text object.
      *
      * @param topLeftCorner       the top left corner position of the text
      * @param dimensions          the dimensions of the text
      * @param textRenderable      the text renderable object for rendering the text
-     * @param gameObjects         the collection of GameObjects in the game
      * @param heartsLeft          the counter for remaining hearts/lives
      */
     public Text(Vector2 topLeftCorner, Vector2 dimensions, TextRenderable textRenderable,
-                GameObjectCollection gameObjects, Counter heartsLeft) {
+                Counter heartsLeft) {
         super(topLeftCorner, dimensions, textRenderable);
-        this.topLeftCorner = topLeftCorner;
-        this.dimensions = dimensions;
         this.textRenderable = textRenderable;
-        this.gameObjects = gameObjects;
         this.heartsLeft = heartsLeft;
+        refresh();
+    }
+    /**
+     * Keeps the text in sync with the number of remaining hearts/lives.
+     *
+     * @param deltaTime the time elapsed since the last update
+     */
+    @Override
+    public void update(float deltaTime) {
+        super.update(deltaTime);
         generateText();
     }
     /**
-     * Generates the text based on the number of remaining hearts/lives.
+     * Updates the text if the number of remaining hearts/lives changed.
      */
     public void generateText() {
-        textRenderable.setString(String.valueOf(heartsLeft.value()));
-        GameObject text = new GameObject(topLeftCorner, dimensions, textRenderable);
-        if (heartsLeft.value() == Constants.FOUR_LIFE ||
-            heartsLeft.value() == Constants.THR_LIFE) {
-            textRenderable.setColor(Color.green);
-        } else if (heartsLeft.value() == Constants.TWO_LIFE) {
-            textRenderable.setColor(Color.yellow);
-        } else if (heartsLeft.value() == Constants.ONE_LIFE) {
-            textRenderable.setColor(Color.red);
+        if (shownValue != heartsLeft.value()) {
+            refresh();
+        }
+    }
+    /**
+     * Sets the string and color of the text from the number of remaining hearts/lives.
+     */
+    private void refresh() {
+        shownValue = heartsLeft.value();
+        shownString = String.valueOf(shownValue);
+        textRenderable.setString(shownString);
+        if (shownValue == Constants.FOUR_LIFE ||
+            shownValue == Constants.THR_LIFE) {
+            setColor(Color.green);
+        } else if (shownValue == Constants.TWO_LIFE) {
+            setColor(Color.yellow);
+        } else if (shownValue == Constants.ONE_LIFE) {
+            setColor(Color.red);
         }
-        gameObjects.addGameObject(text, Layer.UI);
+    }
+    /**
+     * Sets the color of the text.
+     *
+     * @param color the new color
+     */
+    private void setColor(Color color) {
+        shownColor = color;
+        textRenderable.setColor(color);
+    }
+    /**
+     * Returns the string the text shows.
+     *
+     * @return the string last given to the renderable
+     */
+    public String getShownString() {
+        return shownString;
+    }
+    /**
+     * Returns the color the text is drawn in.
+     *
+     * @return the color last given to the renderable, or null if none was given
+     */
+    public Color getShownColor() {
+        return shownColor;
     }
 
 
@@ -0,0 +1,48 @@
+package bricker.gameobjects;
+
+import bricker.physics.CollisionMatrix;
+import bricker.physics.EntityKind;
+import bricker.physics.HasKind;
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+/**
+ * Represents an invisible wall, ceiling or floor GameObject in the game.
+ * Walls are drawn by the static layer.
+ */
+public class Wall extends GameObject implements HasKind {
+    private final EntityKind kind;
+
+    /**
+     * Constructs a new Wall object.
+     *
+     * @param topLeftCorner the top left corner position of the wall
+     * @param dimensions    the dimensions of the wall
+     * @param kind          WALL, CEILING or FLOOR
+     */
+    public Wall(Vector2 topLeftCorner, Vector2 dimensions, EntityKind kind) {
+        super(topLeftCorner, dimensions, null);
+        this.kind = kind;
+    }
+
+    /**
+     * Returns the kind of the wall.
+     *
+     * @return WALL, CEILING or FLOOR
+     */
+    @Override
+    public EntityKind getKind() {
+        return kind;
+    }
+
+    /**
+     * Determines whether the wall should collide with another game object.
+     *
+     * @param other the other game object
+     * @return true if the collision matrix lets the two kinds collide
+     */
+    @Override
+    public boolean shouldCollideWith(GameObject other) {
+        return CollisionMatrix.canCollide(kind, other);
+    }
+}
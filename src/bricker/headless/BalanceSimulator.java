@@ -0,0 +1,220 @@
+package bricker.headless;
+
+import bricker.utills.Constants;
+import bricker.utills.GameConfig;
+import danogl.GameObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays many headless games for every configuration of a parameter grid,
+ * in parallel on all cores, and reports aggregate results per configuration.
+ *
+ * <p>Every game is its own HeadlessSession with its own game manager,
+ * random source and counters, played by a {@link ScriptedPaddle}, so games
+ * share no mutable state and the work splits freely over a fork-join pool.
+ * Game {@code i} of every configuration is seeded with {@code seed + i}, so
+ * the configurations are compared over the same games, and a run gives the
+ * same wins, losses and game lengths on any number of cores. Only the time
+ * spent in collision strategies varies between runs.
+ *
+ * <p>The grid is given by system properties holding comma-separated
+ * values: {@value Constants#SIM_BOUND_PROPERTY},
+ * {@value Constants#SIM_WITH_DOUBLE_PROPERTY},
+ * {@value Constants#SIM_WITHOUT_DOUBLE_PROPERTY},
+ * {@value Constants#SIM_PUCK_BALLS_PROPERTY} and
+ * {@value Constants#SIM_BALL_SPEED_PROPERTY}. A missing property keeps the
+ * default value of its setting.
+ *
+ * <p>Usage: {@code BalanceSimulator [gamesPerConfig] [maxFrames] [seed] [bricksInRow amountOfRows]}
+ */
+public class BalanceSimulator {
+    private final int bricksInRow;
+    private final int amountOfRows;
+    private final int maxFrames;
+    private final long seed;
+    private final ForkJoinPool pool;
+
+    /**
+     * Entry point for the balance simulator.
+     *
+     * @param args Command-line arguments.
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : Constants.HEADLESS_GAMES;
+        int maxFrames = args.length > 1 ? Integer.parseInt(args[1]) : Constants.HEADLESS_MAX_FRAMES;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        int bricksInRow = Constants.DEFAULT_BRICKS_COL;
+        int amountOfRows = Constants.DEFAULT_BRICKS_ROW;
+        if (args.length > 4) {
+            bricksInRow = Integer.parseInt(args[3]);
+            amountOfRows = Integer.parseInt(args[4]);
+        }
+
+        BalanceSimulator simulator = new BalanceSimulator(
+                bricksInRow, amountOfRows, maxFrames, seed, ForkJoinPool.commonPool());
+        System.out.printf("seed=%d games=%d cores=%d%n",
+                seed, games, ForkJoinPool.commonPool().getParallelism());
+        for (GameConfig config : parameterGrid()) {
+            long start = System.nanoTime();
+            SimulationStats stats = simulator.simulate(config, games);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%s seconds=%.1f%n", stats.report(), seconds);
+        }
+    }
+
+    /**
+     * Constructs a BalanceSimulator.
+     *
+     * @param bricksInRow  The number of bricks in each row.
+     * @param amountOfRows The number of rows of bricks.
+     * @param maxFrames    The number of frames after which a game is abandoned.
+     * @param seed         The seed of the first game.
+     * @param pool         The pool the games run on.
+     */
+    public BalanceSimulator(int bricksInRow, int amountOfRows, int maxFrames,
+                            long seed, ForkJoinPool pool) {
+        this.bricksInRow = bricksInRow;
+        this.amountOfRows = amountOfRows;
+        this.maxFrames = maxFrames;
+        this.seed = seed;
+        this.pool = pool;
+    }
+
+    /**
+     * Plays games with one configuration and combines their results.
+     *
+     * @param config The balance settings of the games.
+     * @param games  The number of games to play.
+     * @return The aggregate results.
+     */
+    public SimulationStats simulate(GameConfig config, int games) {
+        return pool.invoke(new GameBatch(config, 0, games));
+    }
+
+    /**
+     * Plays one game to its end or to the frame limit.
+     *
+     * @param config The balance settings of the game.
+     * @param game   The index of the game, which decides its seed.
+     * @param stats  The results to record the game in.
+     */
+    private void playGame(GameConfig config, int game, SimulationStats stats) {
+        HeadlessSession session = new HeadlessSession(
+                bricksInRow, amountOfRows, seed + game, config);
+        ScriptedPaddle player = new ScriptedPaddle(Constants.SCRIPTED_PADDLE_DEAD_ZONE);
+
+        int frame = 0;
+        int peakLiveEntities = 0;
+        while (!session.isOver() && frame < maxFrames) {
+            player.steer(session);
+            session.step(Constants.HEADLESS_DELTA_TIME);
+            peakLiveEntities = Math.max(peakLiveEntities, countEntities(session));
+            frame++;
+        }
+        stats.record(session, frame, peakLiveEntities);
+    }
+
+    /**
+     * Counts the game objects of a session.
+     *
+     * @param session The session.
+     * @return The number of game objects in its collection.
+     */
+    private static int countEntities(HeadlessSession session) {
+        int count = 0;
+        for (GameObject ignored : session.gameManager().gameObjects()) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Builds every combination of the values given for each setting.
+     *
+     * @return The configurations to simulate.
+     */
+    private static List<GameConfig> parameterGrid() {
+        GameConfig defaults = GameConfig.DEFAULT;
+        List<GameConfig> grid = new ArrayList<>();
+        for (int bound : values(Constants.SIM_BOUND_PROPERTY, defaults.getDefaultBound())) {
+            for (int withDouble : values(Constants.SIM_WITH_DOUBLE_PROPERTY,
+                    defaults.getWithDouble())) {
+                for (int withoutDouble : values(Constants.SIM_WITHOUT_DOUBLE_PROPERTY,
+                        defaults.getWithoutDouble())) {
+                    for (int puckBalls : values(Constants.SIM_PUCK_BALLS_PROPERTY,
+                            defaults.getPuckBalls())) {
+                        for (int ballSpeed : values(Constants.SIM_BALL_SPEED_PROPERTY,
+                                defaults.getBallSpeed())) {
+                            grid.add(new GameConfig(bound, withDouble, withoutDouble,
+                                    puckBalls, ballSpeed));
+                        }
+                    }
+                }
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Reads the comma-separated values of a setting from a system property.
+     *
+     * @param property     The name of the property.
+     * @param defaultValue The value used when the property is not set.
+     * @return The values of the setting.
+     */
+    private static int[] values(String property, int defaultValue) {
+        String value = System.getProperty(property);
+        if (value == null) {
+            return new int[]{defaultValue};
+        }
+        String[] parts = value.split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i].trim());
+        }
+        return values;
+    }
+
+    /**
+     * Plays a range of games, splitting it in halves until one game is left.
+     */
+    private class GameBatch extends RecursiveTask<SimulationStats> {
+        private static final long serialVersionUID = 1L;
+        private final GameConfig config;
+        private final int from;
+        private final int to;
+
+        /**
+         * Constructs a GameBatch.
+         *
+         * @param config The balance settings of the games.
+         * @param from   The index of the first game, inclusive.
+         * @param to     The index of the last game, exclusive.
+         */
+        GameBatch(GameConfig config, int from, int to) {
+            this.config = config;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (to - from <= 1) {
+                SimulationStats stats = new SimulationStats(config);
+                if (from < to) {
+                    playGame(config, from, stats);
+                }
+                return stats;
+            }
+            int middle = (from + to) >>> 1;
+            GameBatch left = new GameBatch(config, from, middle);
+            left.fork();
+            SimulationStats right = new GameBatch(config, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
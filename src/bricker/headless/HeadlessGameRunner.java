@@ -0,0 +1,106 @@
+package bricker.headless;
+
+import bricker.utills.Constants;
+
+/**
+ * Runs Bricker games without a window, as fast as the CPU allows.
+ *
+ * <p>Each game is a fresh HeadlessSession stepped with a fixed delta time
+ * in a tight loop. A game ends when the manager asks the player to play
+ * again (win or lose) or when the frame limit is reached. At the end the runner prints frames per second,
+ * the number of completed games and the count of every outcome.
+ *
+ * <p>Usage: {@code HeadlessGameRunner [games] [maxFrames] [bricksInRow amountOfRows]}
+ */
+public class HeadlessGameRunner {
+    private final int bricksInRow;
+    private final int amountOfRows;
+    private final int maxFrames;
+    private long frames;
+    private int wins;
+    private int losses;
+    private int timeouts;
+
+    /**
+     * Entry point for the headless simulation.
+     *
+     * @param args Command-line arguments.
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : Constants.HEADLESS_GAMES;
+        int maxFrames = args.length > 1 ? Integer.parseInt(args[1]) : Constants.HEADLESS_MAX_FRAMES;
+        int bricksInRow = Constants.DEFAULT_BRICKS_COL;
+        int amountOfRows = Constants.DEFAULT_BRICKS_ROW;
+        if (args.length > 3) {
+            bricksInRow = Integer.parseInt(args[2]);
+            amountOfRows = Integer.parseInt(args[3]);
+        }
+
+        HeadlessGameRunner runner = new HeadlessGameRunner(bricksInRow, amountOfRows, maxFrames);
+        long start = System.nanoTime();
+        for (int i = 0; i < games; i++) {
+            runner.playGame();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(runner.report(seconds));
+    }
+
+    /**
+     * Constructs a HeadlessGameRunner.
+     *
+     * @param bricksInRow  The number of bricks in each row.
+     * @param amountOfRows The number of rows of bricks.
+     * @param maxFrames    The number of frames after which a game is abandoned.
+     */
+    public HeadlessGameRunner(int bricksInRow, int amountOfRows, int maxFrames) {
+        this.bricksInRow = bricksInRow;
+        this.amountOfRows = amountOfRows;
+        this.maxFrames = maxFrames;
+    }
+
+    /**
+     * Builds a new game world and steps it until the game is over.
+     *
+     * @return The number of frames the game lasted.
+     */
+    public int playGame() {
+        HeadlessSession session = new HeadlessSession(bricksInRow, amountOfRows);
+
+        int frame = 0;
+        while (!session.isOver() && frame < maxFrames) {
+            session.step(Constants.HEADLESS_DELTA_TIME);
+            frame++;
+        }
+        frames += frame;
+        recordOutcome(session);
+        return frame;
+    }
+
+    /**
+     * Counts the outcome of a finished game.
+     *
+     * @param session The session the game ran in.
+     */
+    private void recordOutcome(HeadlessSession session) {
+        if (!session.isOver()) {
+            timeouts++;
+        } else if (session.isWon()) {
+            wins++;
+        } else {
+            losses++;
+        }
+    }
+
+    /**
+     * Summarizes the games played so far.
+     *
+     * @param seconds The wall-clock time the games took.
+     * @return A one-line report.
+     */
+    public String report(double seconds) {
+        return String.format(
+                "games=%d frames=%d fps=%.0f wins=%d losses=%d timeouts=%d",
+                wins + losses + timeouts, frames, frames / seconds,
+                wins, losses, timeouts);
+    }
+}
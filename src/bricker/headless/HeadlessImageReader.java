@@ -0,0 +1,35 @@
+package bricker.headless;
+
+import danogl.gui.ImageReader;
+import danogl.gui.WindowController;
+import danogl.gui.rendering.ImageRenderable;
+
+/**
+ * Image reader that never touches the disk.
+ *
+ * <p>Nothing is drawn in headless mode, so every image is
+ * replaced by an empty renderable.
+ */
+public class HeadlessImageReader extends ImageReader {
+
+    /**
+     * Constructs a HeadlessImageReader.
+     *
+     * @param windowController The stand-in window controller.
+     */
+    public HeadlessImageReader(WindowController windowController) {
+        super(windowController);
+    }
+
+    /**
+     * Returns no image.
+     *
+     * @param imageFilePath                The path of the image (ignored).
+     * @param useTopLeftPixelAsTransparent Ignored.
+     * @return null, game objects are created without a renderable.
+     */
+    @Override
+    public ImageRenderable readImage(String imageFilePath, boolean useTopLeftPixelAsTransparent) {
+        return null;
+    }
+}
@@ -0,0 +1,57 @@
+package bricker.headless;
+
+import bricker.utills.DefaultValues;
+import danogl.gui.UserInputListener;
+
+import java.lang.reflect.Proxy;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Stand-in for the danogl keyboard listener used when the game runs headless.
+ *
+ * <p>Keys are pressed and released programmatically. A key that is pressed
+ * stays pressed until it is released.
+ */
+public class HeadlessInput {
+    private final Set<Integer> pressedKeys = new HashSet<>();
+    private final UserInputListener inputListener;
+
+    /**
+     * Constructs a HeadlessInput with no key pressed.
+     */
+    public HeadlessInput() {
+        this.inputListener = (UserInputListener) Proxy.newProxyInstance(
+                UserInputListener.class.getClassLoader(),
+                new Class<?>[]{UserInputListener.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("isKeyPressed")) {
+                        return pressedKeys.contains((Integer) args[0]);
+                    }
+                    return DefaultValues.of(method.getReturnType());
+                });
+    }
+
+    /**
+     * Returns the UserInputListener handed to the game.
+     *
+     * @return The stand-in input listener.
+     */
+    public UserInputListener listener() {
+        return inputListener;
+    }
+
+    /**
+     * Presses or releases a key.
+     *
+     * @param keyCode The key code, as in KeyEvent.
+     * @param pressed true to press the key, false to release it.
+     */
+    public void setKey(int keyCode, boolean pressed) {
+        if (pressed) {
+            pressedKeys.add(keyCode);
+        } else {
+            pressedKeys.remove(keyCode);
+        }
+    }
+}
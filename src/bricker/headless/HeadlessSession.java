@@ -0,0 +1,133 @@
+package bricker.headless;
+
+import bricker.main.BrickerGameManager;
+import bricker.utills.Constants;
+import bricker.utills.GameConfig;
+
+import java.util.function.Consumer;
+
+/**
+ * A single game world initialized with the headless stand-ins.
+ *
+ * <p>The HeadlessSession owns the game manager together with its stand-in
+ * window and input, so callers can step the game and inspect how it ended.
+ */
+public class HeadlessSession {
+    private final HeadlessWindow window;
+    private final HeadlessInput input;
+    private final BrickerGameManager gameManager;
+
+    /**
+     * Constructs a HeadlessSession and initializes its game world.
+     *
+     * @param bricksInRow  The number of bricks in each row.
+     * @param amountOfRows The number of rows of bricks.
+     */
+    public HeadlessSession(int bricksInRow, int amountOfRows) {
+        this(bricksInRow, amountOfRows, System.nanoTime());
+    }
+
+    /**
+     * Constructs a HeadlessSession with a fixed random seed
+     * and initializes its game world.
+     *
+     * @param bricksInRow  The number of bricks in each row.
+     * @param amountOfRows The number of rows of bricks.
+     * @param seed         The seed of the session's random source.
+     */
+    public HeadlessSession(int bricksInRow, int amountOfRows, long seed) {
+        this(bricksInRow, amountOfRows, seed, GameConfig.DEFAULT);
+    }
+
+    /**
+     * Constructs a HeadlessSession with a fixed random seed and
+     * custom balance settings, and initializes its game world.
+     *
+     * @param bricksInRow  The number of bricks in each row.
+     * @param amountOfRows The number of rows of bricks.
+     * @param seed         The seed of the session's random source.
+     * @param config       The balance settings of the session.
+     */
+    public HeadlessSession(int bricksInRow, int amountOfRows, long seed, GameConfig config) {
+        this(bricksInRow, amountOfRows, seed, config, gameManager -> { });
+    }
+
+    /**
+     * Constructs a HeadlessSession with a fixed random seed and custom
+     * balance settings, lets the caller set up the game manager, as with a
+     * replay or a fixed timestep, and initializes its game world.
+     *
+     * @param bricksInRow  The number of bricks in each row.
+     * @param amountOfRows The number of rows of bricks.
+     * @param seed         The seed of the session's random source.
+     * @param config       The balance settings of the session.
+     * @param setup        Called with the game manager before it is initialized.
+     */
+    public HeadlessSession(int bricksInRow, int amountOfRows, long seed, GameConfig config,
+                           Consumer<BrickerGameManager> setup) {
+        this.window = new HeadlessWindow(Constants.WINDOWS_DIMENSIONS);
+        this.input = new HeadlessInput();
+        this.gameManager = new BrickerGameManager(Constants.WINDOW_TITLE,
+                Constants.WINDOWS_DIMENSIONS, bricksInRow, amountOfRows, seed, config);
+        setup.accept(gameManager);
+        gameManager.initializeGame(
+                new HeadlessImageReader(window.controller()),
+                new HeadlessSoundReader(window.controller()),
+                input.listener(),
+                window.controller());
+    }
+
+    /**
+     * Advances the game by one frame.
+     *
+     * @param deltaTime The simulated time of the frame.
+     */
+    public void step(float deltaTime) {
+        gameManager.update(deltaTime);
+    }
+
+    /**
+     * Returns whether the game is over.
+     *
+     * @return true once the game asked to close the window.
+     */
+    public boolean isOver() {
+        return window.isClosed();
+    }
+
+    /**
+     * Returns whether the game ended with a win.
+     *
+     * @return true if the last prompt was the win message.
+     */
+    public boolean isWon() {
+        return isOver() && Constants.WIN_MSG.equals(window.getLastPrompt());
+    }
+
+    /**
+     * Returns the game manager of this session.
+     *
+     * @return The game manager.
+     */
+    public BrickerGameManager gameManager() {
+        return gameManager;
+    }
+
+    /**
+     * Returns the stand-in window of this session.
+     *
+     * @return The headless window.
+     */
+    public HeadlessWindow window() {
+        return window;
+    }
+
+    /**
+     * Returns the stand-in input of this session.
+     *
+     * @return The headless input.
+     */
+    public HeadlessInput input() {
+        return input;
+    }
+}
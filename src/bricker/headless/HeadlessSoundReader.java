@@ -0,0 +1,31 @@
+package bricker.headless;
+
+import danogl.gui.Sound;
+import danogl.gui.SoundReader;
+import danogl.gui.WindowController;
+
+/**
+ * Sound reader that never touches the disk or the audio device.
+ */
+public class HeadlessSoundReader extends SoundReader {
+
+    /**
+     * Constructs a HeadlessSoundReader.
+     *
+     * @param windowController The stand-in window controller.
+     */
+    public HeadlessSoundReader(WindowController windowController) {
+        super(windowController);
+    }
+
+    /**
+     * Returns no sound.
+     *
+     * @param soundFilePath The path of the sound (ignored).
+     * @return null, balls and pucks stay silent.
+     */
+    @Override
+    public Sound readSound(String soundFilePath) {
+        return null;
+    }
+}
@@ -0,0 +1,75 @@
+package bricker.headless;
+
+import bricker.utills.DefaultValues;
+import danogl.gui.WindowController;
+import danogl.util.Vector2;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Stand-in for the danogl window used when the game runs headless.
+ *
+ * <p>The HeadlessWindow never opens a frame or a dialog. It answers every
+ * yes/no dialog with "No" and remembers the prompt, so the headless runner
+ * can tell when a game ended and how. Every other WindowController call is
+ * answered with a neutral default value.
+ */
+public class HeadlessWindow {
+    private final Vector2 windowDimensions;
+    private final WindowController windowController;
+    private String lastPrompt;
+    private boolean closed;
+
+    /**
+     * Constructs a HeadlessWindow.
+     *
+     * @param windowDimensions The dimensions reported to the game.
+     */
+    public HeadlessWindow(Vector2 windowDimensions) {
+        this.windowDimensions = windowDimensions;
+        this.windowController = (WindowController) Proxy.newProxyInstance(
+                WindowController.class.getClassLoader(),
+                new Class<?>[]{WindowController.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "openYesNoDialog":
+                            lastPrompt = (String) args[0];
+                            return false;
+                        case "closeWindow":
+                            closed = true;
+                            return null;
+                        case "getWindowDimensions":
+                            return this.windowDimensions;
+                        default:
+                            return DefaultValues.of(method.getReturnType());
+                    }
+                });
+    }
+
+    /**
+     * Returns the WindowController handed to the game.
+     *
+     * @return The stand-in window controller.
+     */
+    public WindowController controller() {
+        return windowController;
+    }
+
+    /**
+     * Returns whether the game asked to close the window.
+     *
+     * @return true once the game is over.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Returns the last prompt the game tried to show.
+     *
+     * @return The last dialog prompt, or null if none was shown.
+     */
+    public String getLastPrompt() {
+        return lastPrompt;
+    }
+}
@@ -0,0 +1,155 @@
+package bricker.headless;
+
+import bricker.gameobjects.PuckPool;
+import bricker.main.BrickerGameManager;
+import bricker.utills.Constants;
+
+import java.util.Arrays;
+
+/**
+ * Measures how the frame time grows with the number of pucks in play.
+ *
+ * <p>For every puck count, a HeadlessSession is built over the given brick
+ * grid, its puck pool is sized to the count and filled with pucks spread
+ * over the lower part of the window. Every frame, the pucks that fell to
+ * the floor are replaced, so the swarm keeps its size, and the paddle is
+ * steered by a {@link ScriptedPaddle}. After the warmup frames, the time of
+ * every frame is measured, together with the time spent resolving the
+ * contacts of the balls and pucks. Each count prints one line of the
+ * scaling curve: the mean, median, 99th percentile and worst frame time,
+ * the mean collision time, and the share of frames that fit in the
+ * {@value Constants#HEADLESS_DELTA_TIME} second budget of a 60 fps frame.
+ * A session ends early if its game is won or lost.
+ *
+ * <p>The puck counts are given by the comma-separated
+ * {@value Constants#STRESS_PUCKS_PROPERTY} system property.
+ *
+ * <p>Usage: {@code PuckSwarmStress [frames] [seed] [bricksInRow amountOfRows]}
+ */
+public class PuckSwarmStress {
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final double PERCENT = 100;
+    private static final double P99 = 0.99;
+
+    private final int bricksInRow;
+    private final int amountOfRows;
+    private final int frames;
+    private final long seed;
+
+    /**
+     * Entry point for the puck swarm stress test.
+     *
+     * @param args Command-line arguments.
+     */
+    public static void main(String[] args) {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : Constants.STRESS_FRAMES;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        int bricksInRow = Constants.STRESS_BRICKS_SIDE;
+        int amountOfRows = Constants.STRESS_BRICKS_SIDE;
+        if (args.length > 3) {
+            bricksInRow = Integer.parseInt(args[2]);
+            amountOfRows = Integer.parseInt(args[3]);
+        }
+
+        PuckSwarmStress stress = new PuckSwarmStress(bricksInRow, amountOfRows, frames, seed);
+        System.out.printf("seed=%d bricks=%dx%d frames=%d cores=%d%n", seed, bricksInRow,
+                amountOfRows, frames, Runtime.getRuntime().availableProcessors());
+        String counts = System.getProperty(Constants.STRESS_PUCKS_PROPERTY,
+                Constants.STRESS_DEFAULT_PUCKS);
+        for (String count : counts.split(",")) {
+            System.out.println(stress.run(Integer.parseInt(count.trim())));
+        }
+    }
+
+    /**
+     * Constructs a PuckSwarmStress.
+     *
+     * @param bricksInRow  The number of bricks in each row.
+     * @param amountOfRows The number of rows of bricks.
+     * @param frames       The number of measured frames per puck count.
+     * @param seed         The seed of every session.
+     */
+    public PuckSwarmStress(int bricksInRow, int amountOfRows, int frames, long seed) {
+        this.bricksInRow = bricksInRow;
+        this.amountOfRows = amountOfRows;
+        this.frames = frames;
+        this.seed = seed;
+    }
+
+    /**
+     * Plays a session with a swarm of pucks and measures its frames.
+     *
+     * @param pucks The number of pucks kept in play.
+     * @return A one-line report, with times in milliseconds.
+     */
+    public String run(int pucks) {
+        HeadlessSession session = new HeadlessSession(bricksInRow, amountOfRows, seed);
+        BrickerGameManager gameManager = session.gameManager();
+        PuckPool puckPool = gameManager.getPuckPool();
+        puckPool.setCapacity(pucks);
+        ScriptedPaddle player = new ScriptedPaddle(Constants.SCRIPTED_PADDLE_DEAD_ZONE);
+
+        for (int frame = 0; frame < Constants.STRESS_WARMUP_FRAMES && !session.isOver(); frame++) {
+            step(session, player, pucks);
+        }
+        long[] frameNanos = new long[frames];
+        long collisionStart = gameManager.getCollisionNanos();
+        int measured = 0;
+        while (measured < frames && !session.isOver()) {
+            long start = System.nanoTime();
+            step(session, player, pucks);
+            frameNanos[measured++] = System.nanoTime() - start;
+        }
+        long collisionNanos = gameManager.getCollisionNanos() - collisionStart;
+        return report(pucks, Arrays.copyOf(frameNanos, measured), collisionNanos);
+    }
+
+    /**
+     * Tops the swarm up to its size and plays one frame.
+     *
+     * @param session The session.
+     * @param player  The player steering the paddle.
+     * @param pucks   The number of pucks kept in play.
+     */
+    private static void step(HeadlessSession session, ScriptedPaddle player, int pucks) {
+        BrickerGameManager gameManager = session.gameManager();
+        gameManager.spawnPucks(pucks - gameManager.getPuckPool().getLive());
+        player.steer(session);
+        session.step(Constants.HEADLESS_DELTA_TIME);
+    }
+
+    /**
+     * Summarizes the measured frames of one puck count.
+     *
+     * @param pucks          The number of pucks kept in play.
+     * @param frameNanos     The time of every measured frame.
+     * @param collisionNanos The time spent resolving contacts over those frames.
+     * @return A one-line report, with times in milliseconds.
+     */
+    private static String report(int pucks, long[] frameNanos, long collisionNanos) {
+        int count = frameNanos.length;
+        if (count == 0) {
+            return String.format("pucks=%d frames=0", pucks);
+        }
+        long budget = (long) (Constants.HEADLESS_DELTA_TIME * 1e9);
+        long total = 0;
+        int onTime = 0;
+        for (long nanos : frameNanos) {
+            total += nanos;
+            if (nanos <= budget) {
+                onTime++;
+            }
+        }
+        long[] sorted = frameNanos.clone();
+        Arrays.sort(sorted);
+        return String.format(
+                "pucks=%d frames=%d meanMs=%.2f p50Ms=%.2f p99Ms=%.2f maxMs=%.2f "
+                        + "collisionMs=%.2f within60fps=%.1f%%",
+                pucks, count, total / (double) count / NANOS_PER_MILLI,
+                sorted[count / 2] / NANOS_PER_MILLI,
+                sorted[Math.min(count - 1, (int) (count * P99))] / NANOS_PER_MILLI,
+                sorted[count - 1] / NANOS_PER_MILLI,
+                collisionNanos / (double) count / NANOS_PER_MILLI,
+                onTime * PERCENT / count);
+    }
+}
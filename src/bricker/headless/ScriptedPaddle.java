@@ -0,0 +1,40 @@
+package bricker.headless;
+
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.Paddle;
+
+import java.awt.event.KeyEvent;
+
+/**
+ * A scripted player for headless sessions.
+ *
+ * <p>Before every frame it presses the left or right key so that the
+ * paddle moves under the main ball, and releases both keys once the
+ * ball is within a small distance of the paddle's center.
+ */
+public class ScriptedPaddle {
+    private final float deadZone;
+
+    /**
+     * Constructs a ScriptedPaddle.
+     *
+     * @param deadZone The horizontal distance from the paddle's center
+     *                 within which the paddle stops.
+     */
+    public ScriptedPaddle(float deadZone) {
+        this.deadZone = deadZone;
+    }
+
+    /**
+     * Sets the keys of a session for its next frame.
+     *
+     * @param session The session to steer.
+     */
+    public void steer(HeadlessSession session) {
+        Ball ball = session.gameManager().getBall();
+        Paddle paddle = session.gameManager().getPaddle();
+        float offset = ball.getCenter().x() - paddle.getCenter().x();
+        session.input().setKey(KeyEvent.VK_LEFT, offset < -deadZone);
+        session.input().setKey(KeyEvent.VK_RIGHT, offset > deadZone);
+    }
+}
@@ -0,0 +1,105 @@
+package bricker.headless;
+
+import bricker.utills.GameConfig;
+
+/**
+ * Aggregate results of the simulated games of one configuration.
+ *
+ * <p>Every worker fills its own SimulationStats, and the results of
+ * workers are combined with {@link #merge}, so no state is shared
+ * between sessions while they run.
+ */
+public class SimulationStats {
+    private final GameConfig config;
+    private int wins;
+    private int losses;
+    private int timeouts;
+    private long frames;
+    private int peakLiveEntities;
+    private long strategyNanos;
+
+    /**
+     * Constructs empty SimulationStats.
+     *
+     * @param config The configuration the games were played with.
+     */
+    public SimulationStats(GameConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Records one finished game.
+     *
+     * @param session          The session the game ran in.
+     * @param frames           The number of frames the game lasted.
+     * @param peakLiveEntities The most game objects alive in one frame.
+     */
+    public void record(HeadlessSession session, int frames, int peakLiveEntities) {
+        if (!session.isOver()) {
+            timeouts++;
+        } else if (session.isWon()) {
+            wins++;
+        } else {
+            losses++;
+        }
+        this.frames += frames;
+        this.peakLiveEntities = Math.max(this.peakLiveEntities, peakLiveEntities);
+        this.strategyNanos += session.gameManager().getBrickGrid().getField().getStrategyNanos();
+    }
+
+    /**
+     * Adds the results of other games of the same configuration.
+     *
+     * @param other The other results.
+     * @return These stats.
+     */
+    public SimulationStats merge(SimulationStats other) {
+        wins += other.wins;
+        losses += other.losses;
+        timeouts += other.timeouts;
+        frames += other.frames;
+        peakLiveEntities = Math.max(peakLiveEntities, other.peakLiveEntities);
+        strategyNanos += other.strategyNanos;
+        return this;
+    }
+
+    /**
+     * Returns the number of recorded games.
+     *
+     * @return The game count.
+     */
+    public int getGames() {
+        return wins + losses + timeouts;
+    }
+
+    /**
+     * Returns the share of the recorded games that were won.
+     *
+     * @return The win rate, between 0 and 1.
+     */
+    public double getWinRate() {
+        return getGames() == 0 ? 0 : (double) wins / getGames();
+    }
+
+    /**
+     * Returns the average number of frames a game lasted.
+     *
+     * @return The average game length, in frames.
+     */
+    public double getAverageFrames() {
+        return getGames() == 0 ? 0 : (double) frames / getGames();
+    }
+
+    /**
+     * Summarizes the recorded games.
+     *
+     * @return A one-line report.
+     */
+    public String report() {
+        return String.format(
+                "%s games=%d winRate=%.3f losses=%d timeouts=%d avgFrames=%.0f "
+                        + "peakEntities=%d strategyMs=%.1f",
+                config, getGames(), getWinRate(), losses, timeouts, getAverageFrames(),
+                peakLiveEntities, strategyNanos / 1e6);
+    }
+}
@@ -0,0 +1,41 @@
+package bricker.level;
+
+/**
+ * The shapes the bricks of a campaign level are laid out in.
+ *
+ * <p>A layout decides which cells of a field of any size hold a brick.
+ * Every layout puts a brick in at least one cell.
+ */
+public enum BrickLayout {
+    /** Every cell holds a brick. */
+    FULL,
+    /** Every other cell holds a brick, starting at the top left one. */
+    CHECKERBOARD,
+    /** Full bottom row, each row above narrower on both sides. */
+    PYRAMID,
+    /** Only the cells along the edges of the field hold a brick. */
+    FRAME;
+
+    /**
+     * Returns whether a cell holds a brick.
+     *
+     * @param col  The column of the cell.
+     * @param row  The row of the cell.
+     * @param cols The number of columns of the field.
+     * @param rows The number of rows of the field.
+     * @return true if the cell holds a brick.
+     */
+    public boolean holdsBrick(int col, int row, int cols, int rows) {
+        switch (this) {
+            case CHECKERBOARD:
+                return (col + row) % 2 == 0;
+            case PYRAMID:
+                int inset = (rows - 1 - row) * cols / (2 * rows);
+                return col >= inset && col < cols - inset;
+            case FRAME:
+                return col == 0 || row == 0 || col == cols - 1 || row == rows - 1;
+            default:
+                return true;
+        }
+    }
+}
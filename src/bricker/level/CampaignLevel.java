@@ -0,0 +1,40 @@
+package bricker.level;
+
+import bricker.utills.GameConfig;
+
+/**
+ * One level of a campaign: the layout of its bricks and its difficulty.
+ */
+public class CampaignLevel {
+    private final BrickLayout layout;
+    private final GameConfig config;
+
+    /**
+     * Constructs a CampaignLevel.
+     *
+     * @param layout The cells of the level that hold a brick.
+     * @param config The balance settings the level is played with.
+     */
+    public CampaignLevel(BrickLayout layout, GameConfig config) {
+        this.layout = layout;
+        this.config = config;
+    }
+
+    /**
+     * Returns the layout of the bricks.
+     *
+     * @return The layout.
+     */
+    public BrickLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Returns the balance settings of the level.
+     *
+     * @return The game config.
+     */
+    public GameConfig getConfig() {
+        return config;
+    }
+}
@@ -0,0 +1,88 @@
+package bricker.level;
+
+import bricker.brick_strategies.CollisionStrategy;
+import bricker.brick_strategies.CollisionStrategyFactory;
+import bricker.gameobjects.BrickField;
+import bricker.gameobjects.BrickSource;
+import bricker.utills.Constants;
+import danogl.util.Counter;
+
+import java.util.Random;
+
+/**
+ * Loads the bricks of a lazily loaded field from a level file, or rolls
+ * them when there is no level.
+ *
+ * <p>Random strategies are rolled from a random source seeded by the
+ * session's seed and the chunk index, so a chunk gets the same bricks
+ * however often it is folded and loaded again, and whatever the order
+ * the chunks are loaded in.
+ */
+public class LevelBrickSource implements BrickSource {
+    private final LevelFile level;
+    private final CollisionStrategyFactory factory;
+    private final Counter doubleActionCounter;
+    private final int bound;
+    private final long seed;
+
+    /**
+     * Constructs a LevelBrickSource.
+     *
+     * @param level               The level file, or null for a field of random bricks.
+     * @param factory             The factory rolling and building the strategies.
+     * @param doubleActionCounter The double action counter the factory rolls with.
+     * @param bound               The upper bound for rolling a random strategy.
+     * @param seed                The seed of the session.
+     */
+    public LevelBrickSource(LevelFile level, CollisionStrategyFactory factory,
+                            Counter doubleActionCounter, int bound, long seed) {
+        this.level = level;
+        this.factory = factory;
+        this.doubleActionCounter = doubleActionCounter;
+        this.bound = bound;
+        this.seed = seed;
+    }
+
+    /**
+     * Loads the strategy ids of the cells of one chunk.
+     *
+     * @param chunk       The index of the chunk.
+     * @param firstCol    The first column of the chunk.
+     * @param firstRow    The first row of the chunk.
+     * @param width       The number of columns in the chunk.
+     * @param height      The number of rows in the chunk.
+     * @param strategyIds The array to fill.
+     */
+    @Override
+    public void loadChunk(int chunk, int firstCol, int firstRow, int width, int height,
+                          short[] strategyIds) {
+        Random random = new Random(seed * Constants.CHUNK_SEED_MULTIPLIER + chunk);
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++) {
+                int strategyId = LevelFile.RANDOM_STRATEGY;
+                if (level != null) {
+                    if (level.getType(firstCol + c, firstRow + r) == LevelFile.EMPTY) {
+                        continue;
+                    }
+                    strategyId = level.getStrategyId(firstCol + c, firstRow + r);
+                }
+                if (strategyId == LevelFile.RANDOM_STRATEGY) {
+                    strategyId = factory.RandomCollisionStrategyId(random, bound, Constants.ZERO);
+                    doubleActionCounter.reset();
+                }
+                strategyIds[r * Constants.BRICK_CHUNK_SIDE + c] = BrickField.cellId(strategyId);
+            }
+        }
+    }
+
+    /**
+     * Returns the collision strategy a strategy id stands for.
+     *
+     * @param strategyId The strategy id.
+     * @return The shared collision strategy.
+     */
+    @Override
+    public CollisionStrategy strategyOf(int strategyId) {
+        return factory.strategyOf(strategyId);
+    }
+}
@@ -0,0 +1,184 @@
+package bricker.level;
+
+import bricker.brick_strategies.CollisionStrategyFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A brick layout stored in a binary level file, read through a memory map.
+ *
+ * <p>A level file starts with a header: the magic number, the format
+ * version, the number of columns and rows, a flags word and a seed, which
+ * is only meaningful if {@link #FLAG_SEED} is set. Then comes one cell per
+ * brick position, row by row: a type byte and a strategy id short.
+ * Opening a level maps the file, reads the header and checks every cell
+ * in one pass over the map; cells are then read from the mapped file when
+ * asked for, so even a level with millions of cells opens without being
+ * copied onto the heap.
+ */
+public class LevelFile {
+    /** Marks a Bricker level file ("BRKL"). */
+    public static final int MAGIC = 0x42524B4C;
+    /** The version of the format written by this code. */
+    public static final int VERSION = 1;
+    /** The flag set when the level carries a random seed. */
+    public static final int FLAG_SEED = 1;
+    /** The type of a cell with no brick. */
+    public static final byte EMPTY = 0;
+    /** The type of a cell with a brick. */
+    public static final byte BRICK = 1;
+    /** The strategy id of a brick whose strategy is rolled at random. */
+    public static final short RANDOM_STRATEGY = -1;
+    /** The size of the header, in bytes. */
+    static final int HEADER_BYTES = 4 * Integer.BYTES + Integer.BYTES + Long.BYTES;
+    /** The size of a cell, in bytes. */
+    static final int CELL_BYTES = Byte.BYTES + Short.BYTES;
+
+    private final MappedByteBuffer buffer;
+    private final int cols;
+    private final int rows;
+    private final int flags;
+    private final long seed;
+
+    /**
+     * Opens a level file and reads its header.
+     *
+     * @param path The path of the level file.
+     * @throws IOException If the file cannot be read, is not a level,
+     *                     or has a cell of an unknown type or strategy.
+     */
+    public LevelFile(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException(path + " is not a level file");
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException(path + " is not a level file");
+        }
+        int version = buffer.getInt(Integer.BYTES);
+        if (version != VERSION) {
+            throw new IOException("Unsupported level version " + version);
+        }
+        this.cols = buffer.getInt(2 * Integer.BYTES);
+        this.rows = buffer.getInt(3 * Integer.BYTES);
+        this.flags = buffer.getInt(4 * Integer.BYTES);
+        this.seed = buffer.getLong(5 * Integer.BYTES);
+        if (cols <= 0 || rows <= 0 ||
+            buffer.capacity() < HEADER_BYTES + (long) cols * rows * CELL_BYTES) {
+            throw new IOException(path + " is truncated or has an invalid size");
+        }
+        checkCells(path);
+    }
+
+    /**
+     * Checks that every cell has a known type and, if it holds a brick,
+     * a strategy id the game can build or {@link #RANDOM_STRATEGY}.
+     *
+     * @param path The path of the level file, for the error message.
+     * @throws IOException If a cell is invalid.
+     */
+    private void checkCells(Path path) throws IOException {
+        for (int cell = 0; cell < cols * rows; cell++) {
+            int offset = HEADER_BYTES + cell * CELL_BYTES;
+            byte type = buffer.get(offset);
+            if (type != EMPTY && type != BRICK) {
+                throw new IOException(path + " has a cell of unknown type " + type
+                        + " at row " + cell / cols + ", column " + cell % cols);
+            }
+            short strategyId = buffer.getShort(offset + Byte.BYTES);
+            if (type == BRICK && strategyId != RANDOM_STRATEGY &&
+                !CollisionStrategyFactory.isStrategyId(strategyId)) {
+                throw new IOException(path + " has an unknown strategy id " + strategyId
+                        + " at row " + cell / cols + ", column " + cell % cols);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of bricks in each row.
+     *
+     * @return The column count.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Returns the number of rows of bricks.
+     *
+     * @return The row count.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns whether the level carries a random seed.
+     *
+     * @return true if {@link #getSeed()} is meaningful.
+     */
+    public boolean hasSeed() {
+        return (flags & FLAG_SEED) != 0;
+    }
+
+    /**
+     * Returns the random seed of the level.
+     *
+     * @return The seed, meaningful only if {@link #hasSeed()}.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the type of a cell.
+     *
+     * @param col The column of the cell.
+     * @param row The row of the cell.
+     * @return {@link #EMPTY} or {@link #BRICK}.
+     */
+    public byte getType(int col, int row) {
+        return buffer.get(offsetOf(col, row));
+    }
+
+    /**
+     * Returns the strategy id of a cell.
+     *
+     * @param col The column of the cell.
+     * @param row The row of the cell.
+     * @return The strategy id, or {@link #RANDOM_STRATEGY}.
+     */
+    public short getStrategyId(int col, int row) {
+        return buffer.getShort(offsetOf(col, row) + Byte.BYTES);
+    }
+
+    /**
+     * Returns the mapped content of the file, for bulk reads.
+     *
+     * @return A read-only view of the whole file.
+     */
+    public ByteBuffer contents() {
+        return buffer.asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the position of a cell in the file.
+     *
+     * @param col The column of the cell.
+     * @param row The row of the cell.
+     * @return The offset of the cell, in bytes.
+     */
+    private int offsetOf(int col, int row) {
+        if (col < 0 || col >= cols || row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("No cell " + col + "," + row);
+        }
+        return HEADER_BYTES + (row * cols + col) * CELL_BYTES;
+    }
+}
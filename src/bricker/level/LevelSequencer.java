@@ -0,0 +1,291 @@
+package bricker.level;
+
+import bricker.brick_strategies.CollisionStrategyFactory;
+import bricker.gameobjects.BrickField;
+import bricker.utills.Constants;
+import bricker.utills.GameConfig;
+import danogl.util.Counter;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Plays a campaign of levels one after the other.
+ *
+ * <p>Each level of the campaign has a layout and a difficulty. While a
+ * level is played, the next one is built on a worker thread: which cells
+ * hold a brick, the strategy rolled for each of them, laid out in the chunks
+ * of the brick field, and, with a composer, the static layer showing them.
+ * The game thread only swaps the prepared data in, once the level is
+ * cleared. A level's
+ * strategies are rolled from its own random source, seeded by the
+ * session's seed, the level's index and the number of times the level was
+ * played before, so every new game rolls new bricks, and a campaign gives
+ * the same bricks for the same seed whatever the timing of the worker.
+ *
+ * <p>The time of every switch to the next level is recorded: the frames
+ * the cleared field waited for the next level, and the time the swap took.
+ */
+public class LevelSequencer {
+    private final List<CampaignLevel> levels;
+    private final ExecutorService worker;
+    private int current;
+    private final int[] plays;
+    private Future<PreparedLevel> next;
+    private volatile Function<BitSet, BufferedImage> composer;
+    private int reached;
+    private int switches;
+    private int lastSwitchFrames;
+    private int maxSwitchFrames;
+    private long lastSwitchNanos;
+
+    /**
+     * Constructs a LevelSequencer.
+     *
+     * @param levels The levels of the campaign, in order.
+     * @throws IllegalArgumentException If the campaign has no level.
+     */
+    public LevelSequencer(List<CampaignLevel> levels) {
+        if (levels.isEmpty()) {
+            throw new IllegalArgumentException("A campaign needs at least one level");
+        }
+        this.levels = new ArrayList<>(levels);
+        this.plays = new int[levels.size()];
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bricker-levels");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Builds the campaign the game ships with: one level per layout, each
+     * with rarer special bricks and a faster ball than the one before.
+     *
+     * @return The levels of the campaign.
+     */
+    public static List<CampaignLevel> defaultCampaign() {
+        List<CampaignLevel> campaign = new ArrayList<>();
+        BrickLayout[] layouts = BrickLayout.values();
+        for (int i = 0; i < layouts.length; i++) {
+            campaign.add(new CampaignLevel(layouts[i], new GameConfig(
+                    Constants.DEFAULT_BOUND + i * Constants.CAMPAIGN_BOUND_STEP,
+                    Constants.WITH_DOUBLE,
+                    Constants.WITHOUT_DOUBLE,
+                    Constants.PUCK_BALLS,
+                    Constants.BALL_SPEED + i * Constants.CAMPAIGN_SPEED_STEP)));
+        }
+        return campaign;
+    }
+
+    /**
+     * Composes the static layer of every level built from now on, on the
+     * worker thread, so the game thread does not compose it on the switch.
+     * The composer must only read what does not change during the game.
+     *
+     * @param composer Composes the layer for standing bits, or returns null
+     *                 if it cannot yet; null to compose on the game thread.
+     */
+    public void setComposer(Function<BitSet, BufferedImage> composer) {
+        this.composer = composer;
+    }
+
+    /**
+     * Starts the campaign over: rolls the first level again right away,
+     * and starts building the second one in the background, unless it is
+     * still being built or waiting from the last game, which never
+     * reached it.
+     *
+     * @param cols    The number of bricks in each row.
+     * @param rows    The number of rows of bricks.
+     * @param seed    The seed of the session.
+     * @param rollIds Whether to roll the strategy ids, or leave them to a
+     *                lazily loaded field.
+     * @return The first level.
+     */
+    public PreparedLevel start(int cols, int rows, long seed, boolean rollIds) {
+        if (next != null && current != 0) {
+            next.cancel(true);
+            next = null;
+        }
+        current = 0;
+        reached = Math.max(reached, 1);
+        PreparedLevel first = build(0, plays[0]++, cols, rows, seed, rollIds);
+        if (next == null) {
+            prepareNext(cols, rows, seed, rollIds);
+        }
+        return first;
+    }
+
+    /**
+     * Returns whether the campaign has a level after the current one.
+     *
+     * @return true if there is a next level.
+     */
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    /**
+     * Returns whether the next level is built and can be swapped in.
+     *
+     * @return true if the next level is ready.
+     */
+    public boolean isNextReady() {
+        return next != null && next.isDone();
+    }
+
+    /**
+     * Moves on to the next level and starts building the one after it.
+     *
+     * @param cols    The number of bricks in each row.
+     * @param rows    The number of rows of bricks.
+     * @param seed    The seed of the session.
+     * @param rollIds Whether to roll the strategy ids.
+     * @return The next level, waiting for it if it is not built yet.
+     * @throws IllegalStateException If there is no next level, or it could not be built.
+     */
+    public PreparedLevel takeNext(int cols, int rows, long seed, boolean rollIds) {
+        if (next == null) {
+            throw new IllegalStateException("The campaign has no next level");
+        }
+        PreparedLevel level;
+        try {
+            level = next.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Cannot build level " + (current + 1), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building level " + (current + 1));
+        }
+        current++;
+        plays[current]++;
+        reached = Math.max(reached, current + 1);
+        prepareNext(cols, rows, seed, rollIds);
+        return level;
+    }
+
+    /**
+     * Starts building the level after the current one, if there is one.
+     *
+     * @param cols    The number of bricks in each row.
+     * @param rows    The number of rows of bricks.
+     * @param seed    The seed of the session.
+     * @param rollIds Whether to roll the strategy ids.
+     */
+    private void prepareNext(int cols, int rows, long seed, boolean rollIds) {
+        int index = current + 1;
+        if (index < levels.size()) {
+            int play = plays[index];
+            next = worker.submit(() -> build(index, play, cols, rows, seed, rollIds));
+        } else {
+            next = null;
+        }
+    }
+
+    /**
+     * Builds the bricks of a level. Uses nothing but its arguments and
+     * the immutable campaign, so it may run on any thread.
+     *
+     * @param index   The index of the level.
+     * @param play    The number of times the level was played before.
+     * @param cols    The number of bricks in each row.
+     * @param rows    The number of rows of bricks.
+     * @param seed    The seed of the session.
+     * @param rollIds Whether to roll the strategy ids.
+     * @return The prepared level.
+     */
+    private PreparedLevel build(int index, int play, int cols, int rows, long seed,
+                                boolean rollIds) {
+        CampaignLevel level = levels.get(index);
+        GameConfig config = level.getConfig();
+        long levelSeed = seed * Constants.LEVEL_SEED_MULTIPLIER + index
+                + play * Constants.LEVEL_PLAY_SEED_MULTIPLIER;
+        Random random = new Random(levelSeed);
+        Counter doubleActionCounter = new Counter();
+        BitSet standing = new BitSet(cols * rows);
+        short[][] chunkIds = rollIds ? BrickField.newChunkIds(cols, rows) : null;
+        BitSet strategyIds = new BitSet();
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (!level.getLayout().holdsBrick(col, row, cols, rows)) {
+                    continue;
+                }
+                standing.set(row * cols + col);
+                if (rollIds) {
+                    int strategyId = CollisionStrategyFactory.RandomCollisionStrategyId(
+                            random, doubleActionCounter, config,
+                            config.getDefaultBound(), Constants.ZERO);
+                    doubleActionCounter.reset();
+                    BrickField.putChunkId(chunkIds, cols, col, row, strategyId);
+                    strategyIds.set(strategyId);
+                }
+            }
+        }
+        Function<BitSet, BufferedImage> composer = this.composer;
+        return new PreparedLevel(index, config, levelSeed, standing.toLongArray(),
+                chunkIds, strategyIds.stream().toArray(), standing.cardinality(),
+                composer == null ? null : composer.apply(standing));
+    }
+
+    /**
+     * Records a switch to the next level.
+     *
+     * @param frames The frames the cleared field waited for the next level.
+     * @param nanos  The time the swap took on the game thread.
+     */
+    public void recordSwitch(int frames, long nanos) {
+        switches++;
+        lastSwitchFrames = frames;
+        maxSwitchFrames = Math.max(maxSwitchFrames, frames);
+        lastSwitchNanos = nanos;
+    }
+
+    /**
+     * Returns the index of the level being played.
+     *
+     * @return The index, 0 for the first level.
+     */
+    public int getCurrent() {
+        return current;
+    }
+
+    /**
+     * Returns the number of levels in the campaign.
+     *
+     * @return The level count.
+     */
+    public int getLevelCount() {
+        return levels.size();
+    }
+
+    /**
+     * Returns the frames the last switch waited for the next level.
+     *
+     * @return The frames, 0 if the level was ready when the field was cleared.
+     */
+    public int getLastSwitchFrames() {
+        return lastSwitchFrames;
+    }
+
+    /**
+     * Summarizes the campaign and its level switches.
+     *
+     * @return A one-line report, with times in milliseconds.
+     */
+    public String report() {
+        return String.format(
+                "levels=%d reached=%d switches=%d lastSwitchFrames=%d maxSwitchFrames=%d "
+                        + "lastSwitchMs=%.2f",
+                levels.size(), reached, switches, lastSwitchFrames, maxSwitchFrames,
+                lastSwitchNanos / 1e6);
+    }
+}
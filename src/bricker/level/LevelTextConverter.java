@@ -0,0 +1,118 @@
+package bricker.level;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts a text layout into a binary level file.
+ *
+ * <p>Every line of the layout is a row of bricks, one character per cell:
+ * <ul>
+ *     <li>{@code .} or a space - no brick;</li>
+ *     <li>{@code #} - a brick with the basic strategy;</li>
+ *     <li>{@code ?} - a brick whose strategy is rolled when the level starts;</li>
+ *     <li>{@code 1} to {@code 4} - a brick with one special behavior: extra
+ *     ball, camera, extra paddle or extra life.</li>
+ * </ul>
+ * Lines starting with {@code //} are comments, and a line {@code seed <n>}
+ * gives the level a random seed. Short rows are padded with empty cells.
+ *
+ * <p>Usage: {@code LevelTextConverter <layout.txt> <level.lvl>}
+ */
+public class LevelTextConverter {
+    private static final String COMMENT = "//";
+    private static final String SEED = "seed ";
+    private static final char EMPTY_CELL = '.';
+    private static final char BLANK_CELL = ' ';
+    private static final char BASIC_CELL = '#';
+    private static final char RANDOM_CELL = '?';
+    private static final char FIRST_BEHAVIOR = '1';
+    private static final char LAST_BEHAVIOR = '4';
+
+    private LevelTextConverter() {
+    }
+
+    /**
+     * Entry point for the converter.
+     *
+     * @param args The text layout and the level file to write.
+     * @throws IOException If a file cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: LevelTextConverter <layout.txt> <level.lvl>");
+            return;
+        }
+        convert(Paths.get(args[0]), Paths.get(args[1]));
+    }
+
+    /**
+     * Converts a text layout into a level file.
+     *
+     * @param layout The text layout to read.
+     * @param level  The level file to write.
+     * @throws IOException If a file cannot be read or written, or the layout is invalid.
+     */
+    public static void convert(Path layout, Path level) throws IOException {
+        List<String> rows = new ArrayList<>();
+        Long seed = null;
+        int cols = 0;
+        try (BufferedReader reader = Files.newBufferedReader(layout, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(COMMENT)) {
+                    continue;
+                }
+                if (line.startsWith(SEED)) {
+                    seed = Long.parseLong(line.substring(SEED.length()).trim());
+                    continue;
+                }
+                rows.add(line);
+                cols = Math.max(cols, line.length());
+            }
+        }
+        if (rows.isEmpty() || cols == 0) {
+            throw new IOException(layout + " holds no bricks");
+        }
+
+        try (LevelWriter writer = new LevelWriter(level, cols, rows.size(), seed)) {
+            for (int row = 0; row < rows.size(); row++) {
+                String line = rows.get(row);
+                for (int col = 0; col < cols; col++) {
+                    char cell = col < line.length() ? line.charAt(col) : EMPTY_CELL;
+                    writeCell(writer, cell, row, col);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the cell described by a layout character.
+     *
+     * @param writer The level writer.
+     * @param cell   The layout character.
+     * @param row    The row of the cell, for the error message.
+     * @param col    The column of the cell, for the error message.
+     * @throws IOException If the file cannot be written or the character is unknown.
+     */
+    private static void writeCell(LevelWriter writer, char cell, int row, int col)
+            throws IOException {
+        if (cell == EMPTY_CELL || cell == BLANK_CELL) {
+            writer.writeCell(LevelFile.EMPTY, (short) 0);
+        } else if (cell == BASIC_CELL) {
+            writer.writeCell(LevelFile.BRICK, (short) 0);
+        } else if (cell == RANDOM_CELL) {
+            writer.writeCell(LevelFile.BRICK, LevelFile.RANDOM_STRATEGY);
+        } else if (cell >= FIRST_BEHAVIOR && cell <= LAST_BEHAVIOR) {
+            writer.writeCell(LevelFile.BRICK, (short) (cell - FIRST_BEHAVIOR + 1));
+        } else {
+            throw new IOException("Unknown cell '" + cell + "' at row " + row + ", column " + col);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package bricker.level;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes a level file, cell by cell.
+ *
+ * <p>The header is written when the writer is opened. Cells are then
+ * written row by row; closing the writer checks that every cell was written.
+ * See {@link LevelFile} for the layout.
+ */
+public class LevelWriter implements Closeable {
+    private final DataOutputStream out;
+    private final long cells;
+    private long written;
+
+    /**
+     * Creates a level file and writes its header.
+     *
+     * @param path The path of the level file.
+     * @param cols The number of bricks in each row.
+     * @param rows The number of rows of bricks.
+     * @param seed The random seed of the level, or null for none.
+     * @throws IOException If the file cannot be written.
+     */
+    public LevelWriter(Path path, int cols, int rows, Long seed) throws IOException {
+        if (cols <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("Level dimensions must be positive");
+        }
+        if ((long) cols * rows * LevelFile.CELL_BYTES > Integer.MAX_VALUE - LevelFile.HEADER_BYTES) {
+            throw new IllegalArgumentException("Level too large: " + cols + "x" + rows);
+        }
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+        this.cells = (long) cols * rows;
+        out.writeInt(LevelFile.MAGIC);
+        out.writeInt(LevelFile.VERSION);
+        out.writeInt(cols);
+        out.writeInt(rows);
+        out.writeInt(seed != null ? LevelFile.FLAG_SEED : 0);
+        out.writeLong(seed != null ? seed : 0);
+    }
+
+    /**
+     * Writes the next cell.
+     *
+     * @param type       {@link LevelFile#EMPTY} or {@link LevelFile#BRICK}.
+     * @param strategyId The strategy id, or {@link LevelFile#RANDOM_STRATEGY}.
+     * @throws IOException If the file cannot be written.
+     */
+    public void writeCell(byte type, short strategyId) throws IOException {
+        if (written == cells) {
+            throw new IllegalStateException("All " + cells + " cells were already written");
+        }
+        out.writeByte(type);
+        out.writeShort(strategyId);
+        written++;
+    }
+
+    /**
+     * Finishes the file.
+     *
+     * @throws IOException If the file cannot be written or misses cells.
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+        if (written != cells) {
+            throw new IOException("Level has " + written + " of " + cells + " cells");
+        }
+    }
+}
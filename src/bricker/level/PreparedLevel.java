@@ -0,0 +1,125 @@
+package bricker.level;
+
+import bricker.utills.GameConfig;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * The brick data of a campaign level, built ahead of time.
+ *
+ * <p>A prepared level holds the standing bits of every cell and, unless
+ * the field is loaded lazily, the rolled strategy ids in the chunk layout
+ * of the brick field together with the distinct ids among them. It may
+ * also hold the static layer composed for its bricks. It is built on a
+ * worker thread and handed to the game thread whole; the game thread then
+ * adopts its ids and image without copying them, so a prepared level is
+ * used once.
+ */
+public class PreparedLevel {
+    private final int index;
+    private final GameConfig config;
+    private final long seed;
+    private final long[] standingBricks;
+    private final short[][] chunkIds;
+    private final int[] strategyIds;
+    private final int bricks;
+    private final BufferedImage composed;
+
+    /**
+     * Constructs a PreparedLevel.
+     *
+     * @param index          The index of the level in its campaign.
+     * @param config         The balance settings of the level.
+     * @param seed           The seed the strategies of the level are rolled from.
+     * @param standingBricks The standing bits of the cells, as in BitSet.toLongArray.
+     * @param chunkIds       The strategy ids in the chunk layout of the
+     *                       brick field, or null for a lazily loaded field.
+     * @param strategyIds    The distinct strategy ids of the cells.
+     * @param bricks         The number of standing bricks.
+     * @param composed       The static layer composed for the bricks, or null.
+     */
+    public PreparedLevel(int index, GameConfig config, long seed, long[] standingBricks,
+                         short[][] chunkIds, int[] strategyIds, int bricks,
+                         BufferedImage composed) {
+        this.index = index;
+        this.config = config;
+        this.seed = seed;
+        this.standingBricks = standingBricks;
+        this.chunkIds = chunkIds;
+        this.strategyIds = strategyIds;
+        this.bricks = bricks;
+        this.composed = composed;
+    }
+
+    /**
+     * Returns the index of the level in its campaign.
+     *
+     * @return The index, 0 for the first level.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the balance settings of the level.
+     *
+     * @return The game config.
+     */
+    public GameConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Returns the seed the strategies of the level are rolled from.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the standing bits of the cells.
+     *
+     * @return The bits, as in BitSet.toLongArray.
+     */
+    public long[] getStandingBricks() {
+        return standingBricks;
+    }
+
+    /**
+     * Returns the strategy ids in the chunk layout of the brick field.
+     *
+     * @return The ids, or null for a lazily loaded field.
+     */
+    public short[][] getChunkIds() {
+        return chunkIds;
+    }
+
+    /**
+     * Returns the distinct strategy ids of the cells.
+     *
+     * @return The ids, empty for a lazily loaded field.
+     */
+    public int[] getStrategyIds() {
+        return strategyIds;
+    }
+
+    /**
+     * Returns the number of standing bricks.
+     *
+     * @return The brick count.
+     */
+    public int getBricks() {
+        return bricks;
+    }
+
+    /**
+     * Returns the static layer composed for the bricks of the level.
+     *
+     * @return The image, or null if it was not composed ahead.
+     */
+    public BufferedImage getComposed() {
+        return composed;
+    }
+}
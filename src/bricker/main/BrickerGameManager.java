@@ -1,7 +1,33 @@
 package bricker.main;
 
+import bricker.audio.LineBackend;
+import bricker.audio.NullBackend;
+import bricker.audio.SoundEffect;
+import bricker.audio.SoundMixer;
 import bricker.brick_strategies.*;
+import bricker.diagnostics.CameraEvent;
+import bricker.diagnostics.FrameEvent;
+import bricker.diagnostics.GameRecording;
+import bricker.diagnostics.LifeEvent;
 import bricker.gameobjects.*;
+import bricker.level.LevelBrickSource;
+import bricker.level.LevelFile;
+import bricker.level.LevelSequencer;
+import bricker.level.PreparedLevel;
+import bricker.physics.BrickGrid;
+import bricker.physics.EntityKind;
+import bricker.physics.FixedTimestep;
+import bricker.physics.FramePacing;
+import bricker.physics.SweptCollisions;
+import bricker.physics.TrajectoryPredictor;
+import bricker.rendering.CachedRenderable;
+import bricker.rendering.StaticLayerRenderable;
+import bricker.rendering.Viewport;
+import bricker.snapshot.CheckpointWriter;
+import bricker.snapshot.GameSnapshot;
+import bricker.snapshot.SessionRandom;
+import bricker.replay.ReplayPlayer;
+import bricker.replay.ReplayRecorder;
 import danogl.GameManager;
 import danogl.GameObject;
 import danogl.collisions.Layer;
@@ -14,6 +40,10 @@ import bricker.utills.*;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Manages the Bricker game logic and entities.
@@ -24,16 +54,34 @@ import java.awt.event.KeyEvent;
  * in the Bricker game. It initializes
  * the game environment, generates game objects, handles
  * collisions, and updates the game state.
+ * <p>
+ * All the randomness of a session comes from one random source created
+ * from the session's seed. With the seed, the recorded key state and the
+ * recorded delta time of every frame, a session can be replayed exactly.
  */
 public class BrickerGameManager extends GameManager {
     private final Vector2 windowDimensions;
     private final int bricksInRow;
     private final int amountOfRows;
+    private final long seed;
+    private final SessionRandom random;
+    private long brickSeed;
+    private GameConfig config;
+    private ReplayRecorder replayRecorder;
+    private ReplayPlayer replayPlayer;
+    private LevelFile level;
+    private SoundMixer soundMixer;
+    private AsyncAssetLoader assetLoader;
+    private GameSnapshot restoreSnapshot;
+    private CheckpointWriter checkpointWriter;
+    private float checkpointInterval;
+    private float checkpointTime;
     private Ball ball;
+    private Paddle paddle;
     private WindowController windowController;
     private Counter lifeLeft;
-    private ImageReader imageReader;
-    private SoundReader soundReader;
+    private int lastLives;
+    private AssetCache assetCache;
     private Counter bricksLeftToHit;
     private UserInputListener inputListener;
     private Counter extraPaddleCounter;
@@ -41,27 +89,193 @@ public class BrickerGameManager extends GameManager {
     private final Counter doubleActionCounter = new Counter();
     private CollisionStrategyFactory CollisionStrategyFactory;
     private Counter cameraCounter;
+    private BrickField brickField;
+    private BrickGrid brickGrid;
+    private PuckPool puckPool;
+    private StaticLayerRenderable staticLayer;
+    private FixedTimestep fixedTimestep;
+    private SweptCollisions sweptCollisions;
+    private final FramePacing framePacing = new FramePacing();
+    private long collisionNanos;
+    private final Viewport viewport = new Viewport();
+    private LevelSequencer levelSequencer;
+    private PreparedLevel firstLevel;
+    private int levelSwitchFrames;
+    private int helperBots;
+    private int hostileBots;
+    private TrajectoryPredictor trajectoryPredictor;
+    private final List<BotPaddle> bots = new ArrayList<>();
 
     /**
      * Entry point for starting the Bricker game.
+     * <p>
+     * The system properties {@value Constants#SEED_PROPERTY},
+     * {@value Constants#RECORD_PROPERTY} and {@value Constants#REPLAY_PROPERTY}
+     * set the random seed, record the session to a replay file,
+     * or play a replay file back.
+     * {@value Constants#LEVEL_PROPERTY} loads the bricks from a level file,
+     * which also gives the seed unless one is set.
+     * {@value Constants#PHYSICS_HZ_PROPERTY} runs the physics in fixed steps
+     * at the given rate, with at most {@value Constants#MAX_SUBSTEPS_PROPERTY}
+     * steps per frame, and prints frame pacing statistics on exit.
+     * {@value Constants#AUDIO_PROPERTY} picks how sounds are played:
+     * {@value Constants#AUDIO_MIXER} (the default) mixes them on one line,
+     * {@value Constants#AUDIO_NULL} mixes them into nothing, and
+     * {@value Constants#AUDIO_DANOGL} lets danogl play each of them.
+     * {@value Constants#JFR_PROPERTY} starts a flight recording,
+     * written to the given file on exit.
+     * {@value Constants#CHECKPOINT_PROPERTY} writes a checkpoint of the game
+     * to the given file every {@value Constants#CHECKPOINT_SECONDS_PROPERTY}
+     * seconds, and {@value Constants#RESTORE_PROPERTY} carries on the game
+     * of a checkpoint.
+     * Without a level file, replay, recording or checkpoint, the game is a campaign
+     * of levels, unless {@value Constants#CAMPAIGN_PROPERTY} is false.
+     * {@value Constants#BOTS_PROPERTY} adds helper and hostile bot paddles,
+     * as {@code helpers,hostiles}, unless a session is replayed or recorded.
+     * The images and sounds are decoded in the background while the window
+     * opens.
+     * When {@value Constants#REPORTS_PROPERTY} is true, the level switch
+     * times, the prediction times, the mixer's play counters and the times
+     * to the first frame and to the last decoded asset are printed on exit.
      *
      * @param args Command-line arguments.
+     * @throws IOException If a replay, level or checkpoint file cannot be opened.
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        // Start decoding the images before anything else
+        AsyncAssetLoader assetLoader =
+                new AsyncAssetLoader(Runtime.getRuntime().availableProcessors());
+
+        int bricksInRow = Constants.DEFAULT_BRICKS_COL;
+        int amountOfRows = Constants.DEFAULT_BRICKS_ROW;
 
         // Verify the input - decide default or costume game
-        if (args.length != Constants.INPUT_ROUND) {
-            new BrickerGameManager(Constants.WINDOW_TITLE,
-                    Constants.WINDOWS_DIMENSIONS).run();
-        } else {
-            int bricksInRow = Integer.parseInt(args[Constants.COLS]);
-            int amountOfRows = Integer.parseInt(args[Constants.ROWS]);
-            new BrickerGameManager(
-                    Constants.WINDOW_TITLE,
-                    Constants.WINDOWS_DIMENSIONS,
-                    bricksInRow,
-                    amountOfRows).run();
+        if (args.length == Constants.INPUT_ROUND) {
+            bricksInRow = Integer.parseInt(args[Constants.COLS]);
+            amountOfRows = Integer.parseInt(args[Constants.ROWS]);
+        }
+        long seed = Long.getLong(Constants.SEED_PROPERTY, System.nanoTime());
+
+        String jfrPath = System.getProperty(Constants.JFR_PROPERTY);
+        boolean reports = Boolean.getBoolean(Constants.REPORTS_PROPERTY);
+        if (jfrPath != null) {
+            GameRecording.start(Paths.get(jfrPath));
+        }
+
+        // A level brings its own layout, and maybe its seed
+        LevelFile level = null;
+        String levelPath = System.getProperty(Constants.LEVEL_PROPERTY);
+        if (levelPath != null) {
+            level = new LevelFile(Paths.get(levelPath));
+            bricksInRow = level.getCols();
+            amountOfRows = level.getRows();
+            if (level.hasSeed() && System.getProperty(Constants.SEED_PROPERTY) == null) {
+                seed = level.getSeed();
+            }
+        }
+
+        // A replay brings its own seed and brick layout
+        ReplayPlayer replayPlayer = null;
+        String replayPath = System.getProperty(Constants.REPLAY_PROPERTY);
+        if (replayPath != null) {
+            replayPlayer = new ReplayPlayer(replayPath);
+            seed = replayPlayer.getSeed();
+            bricksInRow = replayPlayer.getBricksInRow();
+            amountOfRows = replayPlayer.getAmountOfRows();
+        }
+
+        // A checkpoint brings its own seed and brick layout, and the game's state
+        GameSnapshot restoreSnapshot = null;
+        String restorePath = System.getProperty(Constants.RESTORE_PROPERTY);
+        if (restorePath != null && replayPlayer == null) {
+            restoreSnapshot = GameSnapshot.read(Paths.get(restorePath));
+            seed = restoreSnapshot.getSeed();
+            bricksInRow = restoreSnapshot.getCols();
+            amountOfRows = restoreSnapshot.getRows();
+        }
+
+        BrickerGameManager gameManager = new BrickerGameManager(
+                Constants.WINDOW_TITLE,
+                Constants.WINDOWS_DIMENSIONS,
+                bricksInRow,
+                amountOfRows,
+                seed);
+        gameManager.setReplayPlayer(replayPlayer);
+        gameManager.setLevel(level);
+        gameManager.setAssetLoader(assetLoader);
+        gameManager.setRestoreSnapshot(restoreSnapshot);
+        String checkpointPath = System.getProperty(Constants.CHECKPOINT_PROPERTY);
+        if (checkpointPath != null) {
+            CheckpointWriter checkpointWriter = new CheckpointWriter(Paths.get(checkpointPath));
+            gameManager.setCheckpointWriter(checkpointWriter, Float.parseFloat(System.getProperty(
+                    Constants.CHECKPOINT_SECONDS_PROPERTY, Constants.DEFAULT_CHECKPOINT_SECONDS)));
+            Runtime.getRuntime().addShutdownHook(new Thread(checkpointWriter::close));
+        }
+        String recordPath = System.getProperty(Constants.RECORD_PROPERTY);
+        if (recordPath != null && replayPlayer == null) {
+            gameManager.setReplayRecorder(
+                    new ReplayRecorder(recordPath, seed, bricksInRow, amountOfRows));
+        }
+
+        // Random fields are played as a campaign, unless a session is replayed,
+        // recorded or checkpointed, since none of them keeps the campaign's level
+        boolean campaign = Boolean.parseBoolean(
+                System.getProperty(Constants.CAMPAIGN_PROPERTY, "true"));
+        if (campaign && level == null && replayPlayer == null && recordPath == null &&
+                checkpointPath == null && restoreSnapshot == null) {
+            LevelSequencer levelSequencer =
+                    new LevelSequencer(LevelSequencer.defaultCampaign());
+            gameManager.setLevelSequencer(levelSequencer);
+            if (reports) {
+                Runtime.getRuntime().addShutdownHook(new Thread(() ->
+                        System.out.println(levelSequencer.report())));
+            }
+        }
+        // Bots play along, unless a session is replayed or recorded
+        String[] bots = System.getProperty(Constants.BOTS_PROPERTY, Constants.DEFAULT_BOTS)
+                .split(",");
+        int helperBots = Integer.parseInt(bots[0].trim());
+        int hostileBots = bots.length > 1 ? Integer.parseInt(bots[1].trim()) : Constants.ZERO;
+        if (replayPlayer == null && recordPath == null) {
+            gameManager.setBots(helperBots, hostileBots);
+            if (reports && helperBots + hostileBots > 0) {
+                Runtime.getRuntime().addShutdownHook(new Thread(() ->
+                        System.out.println(gameManager.reportPredictions())));
+            }
+        }
+        SoundMixer startedMixer = null;
+        String audio = System.getProperty(Constants.AUDIO_PROPERTY, Constants.AUDIO_MIXER);
+        if (!audio.equals(Constants.AUDIO_DANOGL)) {
+            SoundMixer soundMixer = new SoundMixer(audio.equals(Constants.AUDIO_NULL)
+                    ? new NullBackend(true)
+                    : new LineBackend(Constants.MIXER_LINE_BUFFER_BYTES),
+                    Constants.MIXER_VOICES, Constants.MIXER_COALESCE_NANOS);
+            try {
+                soundMixer.start();
+                gameManager.setSoundMixer(soundMixer);
+                startedMixer = soundMixer;
+                if (reports) {
+                    Runtime.getRuntime().addShutdownHook(new Thread(() ->
+                            System.out.println(soundMixer.report())));
+                }
+            } catch (IOException e) {
+                System.err.println(e.getMessage() + ", playing sounds without the mixer");
+            }
+        }
+        assetLoader.finish(startedMixer);
+        if (reports) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() ->
+                    System.out.println(assetLoader.report())));
+        }
+        int physicsHz = Integer.getInteger(Constants.PHYSICS_HZ_PROPERTY, Constants.ZERO);
+        if (physicsHz > 0) {
+            gameManager.setFixedTimestep(new FixedTimestep(1f / physicsHz,
+                    Integer.getInteger(Constants.MAX_SUBSTEPS_PROPERTY,
+                            Constants.DEFAULT_MAX_SUBSTEPS)));
+            Runtime.getRuntime().addShutdownHook(new Thread(() ->
+                    System.out.println(gameManager.reportFramePacing())));
         }
+        gameManager.run();
     }
 
     /**
@@ -71,10 +285,8 @@ public class BrickerGameManager extends GameManager {
      * @param windowDimensions The dimensions of the game window.
      */
     public BrickerGameManager(String windowTitle, Vector2 windowDimensions) {
-        super(windowTitle, windowDimensions);
-        this.bricksInRow = Constants.DEFAULT_BRICKS_COL;
-        this.amountOfRows = Constants.DEFAULT_BRICKS_ROW;
-        this.windowDimensions = windowDimensions;
+        this(windowTitle, windowDimensions,
+                Constants.DEFAULT_BRICKS_COL, Constants.DEFAULT_BRICKS_ROW);
     }
 
     /**
@@ -88,10 +300,48 @@ public class BrickerGameManager extends GameManager {
      */
     public BrickerGameManager(String windowTitle, Vector2 windowDimensions,
                               int bricksInRow, int amountOfRows) {
+        this(windowTitle, windowDimensions, bricksInRow, amountOfRows, System.nanoTime());
+    }
+
+    /**
+     * Constructs a BrickerGameManager with custom brick
+     * layout settings and a fixed random seed.
+     * <p>
+     *
+     * @param windowTitle      The title of the game window.
+     * @param windowDimensions The dimensions of the game window.
+     * @param bricksInRow      The number of bricks in each row.
+     * @param amountOfRows     The number of rows of bricks.
+     * @param seed             The seed of the session's random source.
+     */
+    public BrickerGameManager(String windowTitle, Vector2 windowDimensions,
+                              int bricksInRow, int amountOfRows, long seed) {
+        this(windowTitle, windowDimensions, bricksInRow, amountOfRows, seed, GameConfig.DEFAULT);
+    }
+
+    /**
+     * Constructs a BrickerGameManager with custom brick layout
+     * settings, a fixed random seed and custom balance settings.
+     * <p>
+     *
+     * @param windowTitle      The title of the game window.
+     * @param windowDimensions The dimensions of the game window.
+     * @param bricksInRow      The number of bricks in each row.
+     * @param amountOfRows     The number of rows of bricks.
+     * @param seed             The seed of the session's random source.
+     * @param config           The balance settings of the session.
+     */
+    public BrickerGameManager(String windowTitle, Vector2 windowDimensions,
+                              int bricksInRow, int amountOfRows, long seed,
+                              GameConfig config) {
         super(windowTitle, windowDimensions);
         this.bricksInRow = bricksInRow;
         this.amountOfRows = amountOfRows;
         this.windowDimensions = windowDimensions;
+        this.seed = seed;
+        this.brickSeed = seed;
+        this.random = new SessionRandom(seed);
+        this.config = config;
     }
 
     /**
@@ -103,10 +353,13 @@ public class BrickerGameManager extends GameManager {
      * and collision strategies.
      * <p>
      * It initializes:
+     * 0.the asset cache, decoding every image and sound once
      * 1.counters for player lives
      * 2.camera control
      * 3.bricks left to hit
-     * 4.extra paddles.
+     * 4.extra paddles
+     * 5.the brick grid resolving ball and puck contacts with bricks
+     * 6.the pool of reusable pucks.
      * It creates a CollisionStrategyFactory to generate collision strategies.
      * Finally, it calls the generateGame method to set up the game environment.
      *
@@ -123,29 +376,115 @@ public class BrickerGameManager extends GameManager {
                                WindowController windowController) {
         super.initializeGame(imageReader, soundReader, inputListener, windowController);
         this.lifeLeft = new Counter(Constants.INITIAL_LIFE_AMOUNT);
-        this.imageReader = imageReader;
-        this.soundReader = soundReader;
-        this.inputListener = inputListener;
+        this.lastLives = lifeLeft.value();
+        this.assetCache = new AssetCache(imageReader, soundReader, Constants.ASSET_CACHE_SIZE);
+        assetCache.setLoader(assetLoader);
+        assetCache.preload(soundMixer == null);
+        this.inputListener = replayPlayer != null ? replayPlayer.listener() : inputListener;
         this.cameraCounter = new Counter(Constants.ZERO);
         this.bricksLeftToHit = new Counter(amountOfRows * bricksInRow);
         this.windowController = windowController;
         this.extraPaddleCounter = new Counter(Constants.ZERO);
+        this.brickGrid = generateBrickGrid(windowDimensions);
+
+        // A campaign starts over at its first level, with that level's settings
+        if (levelSequencer != null) {
+            firstLevel = levelSequencer.start(bricksInRow, amountOfRows, seed, !isLazyField());
+            config = firstLevel.getConfig();
+        }
+        this.sweptCollisions = new SweptCollisions(brickGrid, Constants.MAX_SWEEP_HITS);
+        this.puckPool = new PuckPool(gameObjects(),
+                assetCache.readImage(Constants.PUCK_IMAGE_PATH, true),
+                readSoundEffect(Constants.SOUND_PUCK_PATH),
+                lifeLeft, Constants.PUCK_POOL_CAPACITY, config.getBallSpeed(), random, viewport);
         this.CollisionStrategyFactory = new
                 CollisionStrategyFactory(
                         doubleActionCounter,
                         gameObjects(),
+                        brickGrid,
                         this,
-                        imageReader,
-                        soundReader,
+                        assetCache,
                         lifeLeft,
-                        Constants.BALL_SPEED,
-                        inputListener,
+                        puckPool,
+                        this.inputListener,
                         extraPaddleCounter,
                         cameraCounter,
                         Constants.heartDimensions,
-                        windowDimensions);
+                        windowDimensions,
+                        random,
+                        config);
 
         generateGame();
+        generateBots();
+
+        // The later levels of a campaign are composed on its worker
+        if (levelSequencer != null) {
+            levelSequencer.setComposer(standing -> staticLayer.composeAhead(standing,
+                    Math.round(windowDimensions.x()), Math.round(windowDimensions.y())));
+        }
+
+        // Carry on a saved game
+        if (restoreSnapshot != null) {
+            restoreObjects(restoreSnapshot);
+            restoreSnapshot = null;
+        }
+    }
+
+    /**
+     * Generates the bot paddles and the trajectory predictor they share.
+     * <p>
+     * Helper bots wait just above the floor, under the player's paddle,
+     * and catch what falls. Hostile bots wait under the bricks and send
+     * back what rises, as long as the bricks leave them room above the
+     * ball's start. Bots of one kind split their lane into zones.
+     */
+    private void generateBots() {
+        if (helperBots == Constants.ZERO && hostileBots == Constants.ZERO) {
+            return;
+        }
+        this.trajectoryPredictor = new TrajectoryPredictor(brickGrid,
+                Constants.PADDING, Constants.PADDING,
+                windowDimensions.x() - Constants.PADDING,
+                windowDimensions.y() - Constants.HALF_PADDING,
+                Constants.PREDICTION_MAX_BOUNCES);
+        Vector2 botDimensions = Constants.BOT_DIMENSIONS;
+
+        float helperY = windowDimensions.y() - Constants.HALF_PADDING - botDimensions.y();
+        generateBots(helperBots, Constants.BOT_GOOD_PNG, helperY, helperY, true,
+                Constants.HELPER_BOT_SPEED);
+
+        float hostileY = brickField.getOriginY() +
+                brickField.getRows() * brickField.getCellHeight() + Constants.PADDING;
+        if (hostileY + botDimensions.y() <
+                windowDimensions.y() * Constants.HALF - Constants.BALL_DIMENSIONS.y()) {
+            generateBots(hostileBots, Constants.BOT_BAD_PNG, hostileY,
+                    hostileY + botDimensions.y(), false, Constants.HOSTILE_BOT_SPEED);
+        }
+    }
+
+    /**
+     * Generates the bot paddles of one kind, one per zone of a new lane.
+     *
+     * @param count     The number of bots.
+     * @param imagePath The path of the bots' image.
+     * @param topY      The top of the bots.
+     * @param lineY     The height of their lane.
+     * @param downward  Whether the lane is crossed downwards, or upwards.
+     * @param speed     The share of the player's paddle speed they move at.
+     */
+    private void generateBots(int count, String imagePath, float topY, float lineY,
+                              boolean downward, float speed) {
+        if (count == Constants.ZERO) {
+            return;
+        }
+        Renderable botImage = assetCache.readImage(imagePath, true);
+        int lane = trajectoryPredictor.addLane(lineY, downward, count);
+        for (int zone = 0; zone < count; zone++) {
+            BotPaddle bot = new BotPaddle(Constants.BOT_DIMENSIONS, botImage, topY,
+                    trajectoryPredictor, lane, zone, speed);
+            bots.add(bot);
+            gameObjects().addGameObject(bot);
+        }
     }
 
     /**
@@ -155,18 +494,21 @@ public class BrickerGameManager extends GameManager {
      * creating the initial game entities,
      * including the ball, text display, paddle, walls,
      * background, bricks, and hearts.
+     * Walls and bricks are drawn through the cached static layer.
      */
     private void generateGame() {
 
         generateBall(windowDimensions);
 
-        generatePaddle(imageReader, inputListener);
+        generatePaddle(assetCache, inputListener);
+
+        generateStaticLayer(windowDimensions);
 
         generateWalls(windowDimensions);
 
-        generateBackGround(imageReader, windowDimensions);
+        generateBackGround(assetCache, windowDimensions);
 
-        generateBricks(windowDimensions);
+        generateBricks();
 
         generateLifeDisplay();
     }
@@ -175,65 +517,250 @@ public class BrickerGameManager extends GameManager {
      * Generates the text display for player lives.
      * <p>
      * This method creates a text display to show the
-     * number of lives remaining for the player.
-     * It utilizes the current value of the life counter
-     * to update the text content dynamically.
+     * number of lives remaining for the player and adds
+     * it to the UI layer. The text updates itself when
+     * the life counter changes.
      */
     private Text generateText() {
         TextRenderable textRenderable = new
                 TextRenderable(String.valueOf(lifeLeft.value()));
-        return new Text(
+        Text text = new Text(
                 Constants.TEXT_LOCATION,
                 Constants.TEXT_DIMENSIONS,
                 textRenderable,
-                gameObjects(),
                 lifeLeft);
+        gameObjects().addGameObject(text, Layer.UI);
+        return text;
     }
 
     /**
-     * Generates bricks within the game environment.
+     * Generates the brick field and the grid the bricks are laid out on.
      * <p>
-     * This method creates bricks arranged in rows and columns,
-     * based on the specified dimension of the game window.
-     * It iterates through each position in the grid,
-     * assigning a collision strategy and adding the brick
-     * to the game objects' collection.
+     * All the bricks form a single BrickField object on the static
+     * objects layer, which does not collide with the default layer, so
+     * the engine never tests bricks against moving objects. Ball and puck
+     * contacts with bricks are resolved by the grid instead, looking only
+     * at the cells a body overlaps. Pucks have a layer of their own, which
+     * collides with the default layer but not with itself, so the engine
+     * tests every puck against the few default objects only, never against
+     * the other pucks.
      *
      * @param windowDimensions The dimensions of the game window.
+     * @return The brick grid over an empty brick field.
      */
-    private void generateBricks(Vector2 windowDimensions) {
+    private BrickGrid generateBrickGrid(Vector2 windowDimensions) {
+        gameObjects().layers().shouldLayersCollide(Layer.DEFAULT, Layer.STATIC_OBJECTS, false);
+        gameObjects().layers().shouldLayersCollide(Constants.PUCK_LAYER, Layer.DEFAULT, true);
+        gameObjects().layers().shouldLayersCollide(
+                Constants.PUCK_LAYER, Constants.PUCK_LAYER, false);
+
         // Read the brick image
-        Renderable brickImage = imageReader.readImage(Constants.BRICK_PNG, false);
+        Renderable brickImage = assetCache.readImage(Constants.BRICK_PNG, false);
 
         // Calculate the width of each brick
         float brickWidth = (windowDimensions.x() - Constants.FOUR_PADDING) / bricksInRow;
+        this.brickField = new BrickField(
+                new Vector2(Constants.DOUBLE_PADDING, Constants.DOUBLE_PADDING),
+                brickWidth, Constants.BRICK_LENGTH, bricksInRow, amountOfRows,
+                brickImage, bricksLeftToHit);
+        return new BrickGrid(brickField);
+    }
+
+    /**
+     * Generates bricks within the game environment.
+     * <p>
+     * This method fills the brick field row by row,
+     * assigning a collision strategy id to every cell,
+     * and adds the field to the game objects' collection.
+     * Bricks with the same strategy id share one strategy.
+     * Without a level every cell holds a brick with a random
+     * strategy; with a level, the level decides which cells hold
+     * a brick and which strategies are fixed or random.
+     * Fields of more than {@value Constants#LAZY_BRICK_CELLS} cells
+     * are loaded lazily instead, see {@link #generateLazyBricks()}.
+     */
+    private void generateBricks() {
+        // A saved game brings its own bricks
+        if (restoreSnapshot != null) {
+            restoreBricks(restoreSnapshot);
+            gameObjects().addGameObject(brickField, Layer.STATIC_OBJECTS);
+            return;
+        }
+        // A campaign brings its own first level
+        if (firstLevel != null) {
+            applyBricks(firstLevel);
+            firstLevel = null;
+            gameObjects().addGameObject(brickField, Layer.STATIC_OBJECTS);
+            return;
+        }
+        if (isLazyField()) {
+            generateLazyBricks();
+            return;
+        }
+
+        rollBricks();
 
+        // Add the whole field to the game objects
+        gameObjects().addGameObject(brickField, Layer.STATIC_OBJECTS);
+    }
+
+    /**
+     * Puts a standing brick with a newly rolled or level-given strategy in
+     * every cell that holds one, and counts the empty cells off the bricks
+     * left to hit. Reuses the field's storage and the shared strategies.
+     */
+    private void rollBricks() {
         // Generate bricks row by row
         for (int i = 0; i < amountOfRows; i++) {
             for (int j = 0; j < bricksInRow; j++) {
-                // Create collision strategy for the brick
-                BasicCollisionStrategy basic = new BasicCollisionStrategy(gameObjects());
-                CollisionStrategy collisionStrategy = CollisionStrategyFactory.RandomCollisionStrategy(
-                        Constants.DEFAULT_BOUND, basic);
-
-                // Calculate position of the brick
-                Vector2 brickPosition = new Vector2(j * brickWidth + Constants.DOUBLE_PADDING,
-                        i * Constants.BRICK_LENGTH + Constants.DOUBLE_PADDING);
+                int strategyId = LevelFile.RANDOM_STRATEGY;
+                if (level != null) {
+                    // Empty cells hold no brick to hit
+                    if (level.getType(j, i) == LevelFile.EMPTY) {
+                        bricksLeftToHit.decrement();
+                        continue;
+                    }
+                    strategyId = level.getStrategyId(j, i);
+                }
 
-                // Create a new brick object
-                Brick brick = new Brick(brickPosition,
-                        new Vector2(brickWidth, Constants.BRICK_LENGTH),
-                        brickImage, collisionStrategy, bricksLeftToHit);
+                // Roll the collision strategy of the brick
+                if (strategyId == LevelFile.RANDOM_STRATEGY) {
+                    strategyId = CollisionStrategyFactory.RandomCollisionStrategyId(
+                            config.getDefaultBound(), Constants.ZERO);
+                }
+                brickField.setBrick(j, i, strategyId,
+                        CollisionStrategyFactory.strategyOf(strategyId));
 
                 // Reset doubleActionCounter if needed
                 if (doubleActionCounter.value() != Constants.ZERO) {
                     doubleActionCounter.reset();
                 }
+            }
+        }
+    }
 
-                // Add the brick to the game objects
-                gameObjects().addGameObject(brick);
+    /**
+     * Generates the bricks of a large field lazily.
+     * <p>
+     * Only whether each cell holds a standing brick is set up front. The
+     * strategy ids are loaded chunk by chunk from a level brick source when
+     * a chunk comes near the view or a ball, and dropped again when it
+     * leaves, see {@link #retainBrickChunks()}.
+     */
+    private void generateLazyBricks() {
+        standLazyBricks();
+        brickField.setSource(newBrickSource(brickSeed));
+        retainBrickChunks();
+
+        // Add the whole field to the game objects
+        gameObjects().addGameObject(brickField, Layer.STATIC_OBJECTS);
+    }
+
+    /**
+     * Stands a brick in every cell of a lazily loaded field that holds
+     * one, and counts the empty cells off the bricks left to hit.
+     */
+    private void standLazyBricks() {
+        for (int i = 0; i < amountOfRows; i++) {
+            for (int j = 0; j < bricksInRow; j++) {
+                // Empty cells hold no brick to hit
+                if (level != null && level.getType(j, i) == LevelFile.EMPTY) {
+                    bricksLeftToHit.decrement();
+                    continue;
+                }
+                brickField.setStanding(j, i);
+            }
+        }
+    }
+
+    /**
+     * Creates the source the chunks of a lazily loaded field are loaded from.
+     *
+     * @param brickSeed The seed the random strategies are rolled from.
+     * @return The brick source of the session.
+     */
+    private LevelBrickSource newBrickSource(long brickSeed) {
+        return new LevelBrickSource(level, CollisionStrategyFactory,
+                doubleActionCounter, config.getDefaultBound(), brickSeed);
+    }
+
+    /**
+     * Puts the bricks of a prepared campaign level in the field, which
+     * must be empty, and counts them as left to hit. The field adopts the
+     * level's chunks of strategy ids as they are, only the distinct ids
+     * are bound to their strategies, and the static layer adopts the image
+     * composed for the level, if any. The strategy ids of a lazily loaded
+     * field are loaded from the level's seed instead.
+     *
+     * @param prepared The prepared level.
+     */
+    private void applyBricks(PreparedLevel prepared) {
+        if (isLazyField()) {
+            brickSeed = prepared.getSeed();
+            brickField.setSource(newBrickSource(brickSeed));
+            brickField.restoreStandingBits(prepared.getStandingBricks());
+            retainBrickChunks();
+        } else {
+            brickField.adoptChunkIds(prepared.getChunkIds());
+            for (int strategyId : prepared.getStrategyIds()) {
+                brickField.bindStrategy(strategyId,
+                        CollisionStrategyFactory.strategyOf(strategyId));
             }
+            brickField.restoreStandingBits(prepared.getStandingBricks());
+        }
+        if (staticLayer != null) {
+            staticLayer.adopt(prepared.getComposed());
+        }
+        setCounter(bricksLeftToHit, prepared.getBricks());
+    }
+
+    /**
+     * Puts the strategy ids of every cell in the field, then which cells
+     * hold a standing brick.
+     *
+     * @param strategyIds    The strategy id of every cell, row by row.
+     * @param standingBricks The standing bits of the cells.
+     */
+    private void applyBricks(short[] strategyIds, long[] standingBricks) {
+        for (int i = 0; i < strategyIds.length; i++) {
+            brickField.setBrick(i % bricksInRow, i / bricksInRow, strategyIds[i],
+                    CollisionStrategyFactory.strategyOf(strategyIds[i]));
+        }
+        brickField.restoreStandingBits(standingBricks);
+        if (staticLayer != null) {
+            staticLayer.invalidate();
+        }
+    }
+
+    /**
+     * Returns whether the brick field is too large to be generated up front.
+     *
+     * @return true if the field's strategy ids are loaded lazily.
+     */
+    private boolean isLazyField() {
+        return bricksInRow * amountOfRows > Constants.LAZY_BRICK_CELLS;
+    }
+
+    /**
+     * Keeps the strategy ids of the brick chunks near the view
+     * and near every ball and puck loaded, and folds the others.
+     */
+    private void retainBrickChunks() {
+        Camera camera = camera();
+        if (camera == null) {
+            brickField.retainRegion(0, 0, windowDimensions.x(), windowDimensions.y());
+        } else {
+            Vector2 topLeft = camera.getTopLeftCorner();
+            Vector2 bottomRight = topLeft.add(camera.getDimensions());
+            brickField.retainRegion(topLeft.x(), topLeft.y(), bottomRight.x(), bottomRight.y());
+        }
+        List<Ball> bodies = brickGrid.getBodies();
+        for (int i = 0; i < bodies.size(); i++) {
+            Vector2 topLeft = bodies.get(i).getTopLeftCorner();
+            Vector2 bottomRight = topLeft.add(bodies.get(i).getDimensions());
+            brickField.retainRegion(topLeft.x(), topLeft.y(), bottomRight.x(), bottomRight.y());
         }
+        brickField.foldUnretained();
     }
 
 
@@ -241,24 +768,24 @@ public class BrickerGameManager extends GameManager {
      * Generates the background GameObject and adds it
      * to the game objects collection.
      *
-     * @param imageReader      The image reader to load
+     * @param assetCache       The asset cache holding
      *                         the background image.
      * @param windowDimensions The dimensions of the
      *                         game window.
      */
-    private void generateBackGround(ImageReader imageReader, Vector2 windowDimensions) {
+    private void generateBackGround(AssetCache assetCache, Vector2 windowDimensions) {
         // Read the background image
-        Renderable backGroundImage = imageReader.readImage(Constants.BACKGROUND_PNG, false);
+        Renderable backGroundImage = assetCache.readImage(Constants.BACKGROUND_PNG, false);
 
         // Calculate the screen center
         Vector2 screenCenter = new Vector2(
                 windowDimensions.x() / Constants.HALF_SCREEN,
                 windowDimensions.y() / Constants.HALF_SCREEN);
 
-        // Create the background object
+        // Create the background object, drawn from a pre-scaled copy
         GameObject background = new GameObject(screenCenter,
                 new Vector2(windowDimensions.x(), windowDimensions.y()),
-                backGroundImage);
+                backGroundImage != null ? new CachedRenderable(backGroundImage) : null);
 
         // Set properties of the background object
         background.setCenter(screenCenter);
@@ -279,40 +806,54 @@ public class BrickerGameManager extends GameManager {
         // Generate left wall
         generateWall(Vector2.ZERO,
                 new Vector2(Constants.PADDING, windowDimensions.y()),
-                Constants.WALL_TAG, Color.red);
+                EntityKind.WALL, Color.red);
 
         // Generate right wall
         generateWall(new Vector2(windowDimensions.x() - Constants.PADDING, Constants.ZERO),
                 new Vector2(Constants.PADDING, windowDimensions.y()),
-                Constants.WALL_TAG, Color.red);
+                EntityKind.WALL, Color.red);
 
         // Generate ceiling
         generateWall(Vector2.ZERO,
                 new Vector2(windowDimensions.x(), Constants.PADDING),
-                Constants.CEILING_TAG, Color.red);
+                EntityKind.CEILING, Color.red);
 
         // Generate floor
         generateWall(new Vector2(Constants.ZERO, windowDimensions.y() - Constants.HALF_PADDING),
                 new Vector2(windowDimensions.x(), Constants.HALF_PADDING),
-                Constants.FLOOR_TAG, null);
+                EntityKind.FLOOR, null);
+    }
+
+    /**
+     * Generates the static layer GameObject, which draws the walls
+     * and the bricks from a cached image, and adds it to the game
+     * objects collection.
+     *
+     * @param windowDimensions The dimensions of the game window.
+     */
+    private void generateStaticLayer(Vector2 windowDimensions) {
+        this.staticLayer = new StaticLayerRenderable(windowDimensions);
+        staticLayer.setBrickField(brickField);
+        GameObject staticLayerObject = new GameObject(Vector2.ZERO, windowDimensions, staticLayer);
+        gameObjects().addGameObject(staticLayerObject, Layer.STATIC_OBJECTS);
     }
 
     /**
      * Generates a wall GameObject and adds it
      * to the game objects collection.
+     * The wall is drawn by the static layer.
      * <p>
      * @param topLeftCorner The top-left corner position of the wall.
      * @param dimensions    The dimensions of the wall.
-     * @param tag           The tag to assign to the wall GameObject.
+     * @param kind          The kind of the wall: WALL, CEILING or FLOOR.
      * @param color         The color of the wall (null if no color).
      */
-    private void generateWall(Vector2 topLeftCorner, Vector2 dimensions, String tag, Color color) {
+    private void generateWall(Vector2 topLeftCorner, Vector2 dimensions, EntityKind kind, Color color) {
         // Create a new wall GameObject
-        GameObject wall = new GameObject(topLeftCorner, dimensions,
-                color != null ? new RectangleRenderable(color) : null);
-
-        // Set the tag for the wall
-        wall.setTag(tag);
+        Wall wall = new Wall(topLeftCorner, dimensions, kind);
+        if (color != null) {
+            staticLayer.addWall(topLeftCorner, dimensions, color);
+        }
 
         // Add the wall to the game objects
         gameObjects().addGameObject(wall);
@@ -339,7 +880,7 @@ public class BrickerGameManager extends GameManager {
      * @param text The Text object for displaying the life count.
      */
     private void generateHeartDrawer(Text text) {
-        Renderable heartsImage = imageReader.readImage( Constants.HEART_PNG, true);
+        Renderable heartsImage = assetCache.readImage(Constants.HEART_PNG, true);
 
         // initiate Heart Drawer
         this.heartDrawer = new HeartDrawer(
@@ -353,20 +894,20 @@ public class BrickerGameManager extends GameManager {
      * Generates and adds a paddle GameObject to
      * the game objects collection.
      *
-     * @param imageReader   The image reader to
-     *                      load the paddle image.
+     * @param assetCache    The asset cache holding
+     *                      the paddle image.
      * @param inputListener The user input listener
      *                      for paddle control.
      */
-    private void generatePaddle(ImageReader imageReader, UserInputListener inputListener) {
+    private void generatePaddle(AssetCache assetCache, UserInputListener inputListener) {
         // Define the top-left corner of the paddle
         Vector2 paddleTLeftCorner = Constants.PADDLE_T_LEFT_CORNER;
 
         // Read the paddle image
-        Renderable paddleImage = imageReader.readImage(Constants.PADDLE_PNG, true);
+        Renderable paddleImage = assetCache.readImage(Constants.PADDLE_PNG, true);
 
         // Create a new paddle object
-        Paddle paddle = new Paddle(paddleTLeftCorner, Constants.PADDLE_DIMENSIONS, paddleImage, inputListener);
+        this.paddle = new Paddle(paddleTLeftCorner, Constants.PADDLE_DIMENSIONS, paddleImage, inputListener);
 
         // Add the paddle to the game objects
         gameObjects().addGameObject(paddle);
@@ -381,17 +922,19 @@ public class BrickerGameManager extends GameManager {
      */
     private void generateBall(Vector2 windowDimensions) {
         // Read the ball image
-        Renderable ballImage = imageReader.readImage(Constants.BALL_PNG, true);
+        Renderable ballImage = assetCache.readImage(Constants.BALL_PNG, true);
 
         // Read the collision sound
-        Sound collisionSound = soundReader.readSound(Constants.BLOP_SOUND);
+        SoundEffect collisionSound = readSoundEffect(Constants.BLOP_SOUND);
 
         // Create a new Ball object
         this.ball = new Ball(windowDimensions.mult(Constants.HALF),
-                Constants.BALL_DIMENSIONS, ballImage, collisionSound, lifeLeft);
+                Constants.BALL_DIMENSIONS, ballImage, collisionSound, lifeLeft,
+                config.getBallSpeed(), random);
 
         // Add the ball to the game objects
         gameObjects().addGameObject(ball);
+        brickGrid.track(ball);
     }
 
 
@@ -405,7 +948,46 @@ public class BrickerGameManager extends GameManager {
      */
     @Override
     public void update(float deltaTime) {
-        super.update(deltaTime);
+        FrameEvent frameEvent = new FrameEvent();
+        frameEvent.begin();
+        if (assetLoader != null) {
+            assetLoader.markFirstFrame();
+        }
+
+        // Replace or record the timing and input of the frame
+        if (replayPlayer != null) {
+            deltaTime = replayPlayer.nextFrame();
+            if (deltaTime < 0) {
+                windowController.closeWindow();
+                return;
+            }
+        } else if (replayRecorder != null) {
+            replayRecorder.recordFrame(deltaTime, inputListener);
+        }
+
+        // Load the brick chunks around the view and the balls
+        if (isLazyField()) {
+            retainBrickChunks();
+        }
+
+        // Predict the paths of the balls and pucks once, for all the bots
+        if (trajectoryPredictor != null) {
+            trajectoryPredictor.update();
+        }
+
+        // Run the physics in fixed steps, or in one step as long as the frame
+        int substeps = 1;
+        if (fixedTimestep != null) {
+            substeps = fixedTimestep.advance(deltaTime);
+            sweptCollisions.setObstacles(gameObjects().objectsInLayer(Layer.DEFAULT));
+            for (int i = 0; i < substeps; i++) {
+                physicsStep(fixedTimestep.getStep());
+            }
+        } else {
+            physicsStep(deltaTime);
+        }
+        framePacing.record(deltaTime, substeps,
+                fixedTimestep != null && fixedTimestep.wasClamped());
 
         // Generate text and draw hearts if needed
         if (heartDrawer.getHeartOnBoard() != lifeLeft.value()) {
@@ -418,9 +1000,44 @@ public class BrickerGameManager extends GameManager {
             cameraCounter.reset();
         }
 
-        // Check win or lose conditions
+        // Write a checkpoint every interval, off the game thread
+        if (checkpointWriter != null) {
+            checkpointTime += deltaTime;
+            if (checkpointTime >= checkpointInterval) {
+                checkpointTime = 0;
+                checkpointWriter.offer(snapshot());
+            }
+        }
+
+        // Follow the camera, so the pucks and hearts out of its view are culled
+        viewport.beginFrame(camera());
+
+        // Report the frame and any life change to the flight recorder
+        if (lifeLeft.value() != lastLives) {
+            LifeEvent.emit(lifeLeft.value(), lifeLeft.value() - lastLives);
+            lastLives = lifeLeft.value();
+        }
+        frameEvent.end();
+        if (frameEvent.shouldCommit()) {
+            frameEvent.deltaTime = deltaTime;
+            frameEvent.substeps = substeps;
+            for (GameObject ignored : gameObjects()) {
+                frameEvent.gameObjects++;
+            }
+            frameEvent.bodies = brickGrid.getBodies().size();
+            frameEvent.livePucks = puckPool.getLive();
+            frameEvent.bricksLeft = bricksLeftToHit.value();
+            frameEvent.drawnObjects = viewport.getDrawn();
+            frameEvent.culledObjects = viewport.getCulled();
+            frameEvent.commit();
+        }
+
+        // Move on through a campaign, or check win or lose conditions
         String prompt = "";
-        if (bricksLeftToHit.value() == Constants.ZERO ||
+        if (bricksLeftToHit.value() == Constants.ZERO &&
+                levelSequencer != null && levelSequencer.hasNext()) {
+            advanceLevel();
+        } else if (bricksLeftToHit.value() == Constants.ZERO ||
             inputListener.isKeyPressed(KeyEvent.VK_W)) {
             prompt += Constants.WIN_MSG;
             newGame(prompt);
@@ -430,11 +1047,666 @@ public class BrickerGameManager extends GameManager {
         }
     }
 
+    /**
+     * Advances the physics by one step: moves every object, then resolves
+     * the contacts with the bricks. In fixed step mode the balls and pucks
+     * are first swept along their motion, so they cannot skip over a brick,
+     * wall or paddle.
+     *
+     * @param deltaTime The length of the step.
+     */
+    private void physicsStep(float deltaTime) {
+        puckPool.recycle();
+        long start = System.nanoTime();
+        if (fixedTimestep != null) {
+            sweptCollisions.sweep(deltaTime);
+        }
+        long swept = System.nanoTime();
+        super.update(deltaTime);
+        long updated = System.nanoTime();
+        brickGrid.resolveContacts();
+        collisionNanos += swept - start + System.nanoTime() - updated;
+    }
+
+    /**
+     * Sets the camera and redraws the cached static layer,
+     * whose scale depends on the camera.
+     *
+     * @param camera The new camera, or null for the default view.
+     */
+    @Override
+    public void setCamera(Camera camera) {
+        super.setCamera(camera);
+        CameraEvent.emit(camera != null);
+        if (staticLayer != null) {
+            staticLayer.invalidate();
+        }
+    }
+
+    /**
+     * Returns the main ball of the game.
+     *
+     * @return The ball.
+     */
+    public Ball getBall() {
+        return ball;
+    }
+
+    /**
+     * Returns the paddle the player controls.
+     *
+     * @return The paddle.
+     */
+    public Paddle getPaddle() {
+        return paddle;
+    }
+
+    /**
+     * Returns the counter of the player's remaining lives.
+     *
+     * @return The lives counter.
+     */
+    public Counter getLifeLeft() {
+        return lifeLeft;
+    }
+
+    /**
+     * Returns the drawer of the hearts and the text showing the lives.
+     *
+     * @return The heart drawer.
+     */
+    public HeartDrawer getHeartDrawer() {
+        return heartDrawer;
+    }
+
+    /**
+     * Returns the balance settings of the session.
+     *
+     * @return The game config.
+     */
+    public GameConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Returns a sound effect, played through the sound mixer if there is
+     * one and the sound can be decoded for it, or by danogl otherwise.
+     * With an asset loader, the loader decodes the sounds for the mixer
+     * and the game thread never waits for them.
+     *
+     * @param path The path of the sound.
+     * @return The sound effect, or null if there is no sound.
+     */
+    private SoundEffect readSoundEffect(String path) {
+        if (soundMixer != null && assetLoader != null) {
+            return soundMixer.lookup(path);
+        }
+        if (soundMixer != null) {
+            try {
+                return soundMixer.load(path);
+            } catch (IOException e) {
+                System.err.println(e.getMessage() + ", playing it without the mixer");
+            }
+        }
+        Sound sound = assetCache.readSound(path);
+        return sound == null ? null : sound::play;
+    }
+
+    /**
+     * Adds bot paddles to the game: helpers catching the balls and pucks
+     * the player misses, and hostiles sending them back from the bricks.
+     * Must be called before the game is initialized.
+     *
+     * @param helperBots  The number of helper bots.
+     * @param hostileBots The number of hostile bots.
+     * @throws IllegalArgumentException If a number is negative.
+     */
+    public void setBots(int helperBots, int hostileBots) {
+        if (helperBots < 0 || hostileBots < 0) {
+            throw new IllegalArgumentException("The number of bots cannot be negative");
+        }
+        this.helperBots = helperBots;
+        this.hostileBots = hostileBots;
+    }
+
+    /**
+     * Plays a campaign of levels instead of a single field of random
+     * bricks. Must be called before the game is initialized; the campaign
+     * starts over whenever the game is.
+     *
+     * @param levelSequencer The campaign, or null for a single level.
+     */
+    public void setLevelSequencer(LevelSequencer levelSequencer) {
+        this.levelSequencer = levelSequencer;
+    }
+
+    /**
+     * Takes the images from a loader decoding them in the background,
+     * so the first frame does not wait for them.
+     * Must be called before the game is initialized.
+     *
+     * @param assetLoader The started loader, or null to decode images when requested.
+     */
+    public void setAssetLoader(AsyncAssetLoader assetLoader) {
+        this.assetLoader = assetLoader;
+    }
+
+    /**
+     * Plays the sound effects through a software mixer
+     * instead of letting danogl play every sound on its own line.
+     * Must be called before the game is initialized.
+     *
+     * @param soundMixer The started sound mixer, or null for danogl sounds.
+     */
+    public void setSoundMixer(SoundMixer soundMixer) {
+        this.soundMixer = soundMixer;
+    }
+
+    /**
+     * Runs the physics in fixed steps, with swept collisions
+     * for the balls and pucks, instead of one step per frame.
+     *
+     * @param fixedTimestep The fixed timestep, or null for one step per frame.
+     */
+    public void setFixedTimestep(FixedTimestep fixedTimestep) {
+        this.fixedTimestep = fixedTimestep;
+    }
+
+    /**
+     * Returns the frame pacing statistics of the session.
+     *
+     * @return The frame pacing statistics.
+     */
+    public FramePacing getFramePacing() {
+        return framePacing;
+    }
+
+    /**
+     * Summarizes the frame pacing of the session.
+     *
+     * @return A one-line report.
+     */
+    public String reportFramePacing() {
+        return framePacing.report(fixedTimestep == null ? 0 : fixedTimestep.getDroppedTime());
+    }
+
+    /**
+     * Summarizes the predictions made for the bot paddles.
+     *
+     * @return A one-line report, or an empty one without bots.
+     */
+    public String reportPredictions() {
+        return trajectoryPredictor == null ? "" : trajectoryPredictor.report();
+    }
+
+    /**
+     * Takes the bricks from a level file instead of
+     * filling every cell with a random brick.
+     * Must be set before the game is initialized.
+     *
+     * @param level The level, or null for a random layout.
+     * @throws IllegalArgumentException If the level does not match the brick layout settings.
+     */
+    public void setLevel(LevelFile level) {
+        if (level != null && (level.getCols() != bricksInRow || level.getRows() != amountOfRows)) {
+            throw new IllegalArgumentException("Level is " + level.getCols() + "x" +
+                    level.getRows() + ", game is " + bricksInRow + "x" + amountOfRows);
+        }
+        this.level = level;
+    }
+
+    /**
+     * Returns the seed of the session's random source.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Records the timing and input of every frame to a replay file.
+     * Must be set before the game is initialized.
+     *
+     * @param replayRecorder The recorder, or null to stop recording.
+     */
+    public void setReplayRecorder(ReplayRecorder replayRecorder) {
+        this.replayRecorder = replayRecorder;
+    }
+
+    /**
+     * Plays the timing and input of every frame back from a replay file,
+     * in place of the real clock and keyboard.
+     * Must be set before the game is initialized.
+     *
+     * @param replayPlayer The player, or null to play live.
+     */
+    public void setReplayPlayer(ReplayPlayer replayPlayer) {
+        this.replayPlayer = replayPlayer;
+    }
+
+    /**
+     * Returns the grid holding the bricks, which answers
+     * region and ray queries over the brick field.
+     *
+     * @return The brick grid.
+     */
+    public BrickGrid getBrickGrid() {
+        return brickGrid;
+    }
+
+    /**
+     * Returns the view the pucks and falling hearts are culled against,
+     * with the counts of those drawn and culled in the last frame.
+     *
+     * @return The viewport.
+     */
+    public Viewport getViewport() {
+        return viewport;
+    }
+
+    /**
+     * Returns the pool of the pucks spawned by extra ball bricks.
+     *
+     * @return The puck pool.
+     */
+    public PuckPool getPuckPool() {
+        return puckPool;
+    }
+
+    /**
+     * Returns the time spent resolving the contacts of the balls and pucks
+     * with the bricks, walls and paddles, outside the engine's own update.
+     *
+     * @return The total time in nanoseconds since the game was created.
+     */
+    public long getCollisionNanos() {
+        return collisionNanos;
+    }
+
+    /**
+     * Puts pucks into play at random places across the lower part of the
+     * window, as a swarm grown by extra ball bricks would be.
+     *
+     * @param count The number of pucks to spawn.
+     * @return The number spawned, fewer if the puck pool is at capacity.
+     */
+    public int spawnPucks(int count) {
+        Vector2 puckDimensions = ball.getDimensions().mult(Constants.FACTOR_2);
+        float top = windowDimensions.y() * Constants.STRESS_SPAWN_TOP;
+        float height = windowDimensions.y() * Constants.STRESS_SPAWN_HEIGHT;
+        for (int i = 0; i < count; i++) {
+            Vector2 topLeftCorner = new Vector2(
+                    random.nextFloat() * (windowDimensions.x() - puckDimensions.x()),
+                    top + random.nextFloat() * height);
+            Puck puck = puckPool.acquire(topLeftCorner, puckDimensions);
+            if (puck == null) {
+                return i;
+            }
+            gameObjects().addGameObject(puck, Constants.PUCK_LAYER);
+            brickGrid.track(puck);
+        }
+        return count;
+    }
+
+    /**
+     * Takes a snapshot of the whole game state. The state is only copied,
+     * so a snapshot is cheap enough to take in the middle of the frame loop.
+     *
+     * @return The snapshot.
+     */
+    public GameSnapshot snapshot() {
+        List<GameObject> pucks = new ArrayList<>();
+        List<Ball> bodies = brickGrid.getBodies();
+        for (int i = 0; i < bodies.size(); i++) {
+            if (bodies.get(i) != ball && bodies.get(i).isInPlay()) {
+                pucks.add(bodies.get(i));
+            }
+        }
+        List<GameObject> tempPaddles = new ArrayList<>();
+        List<GameObject> fallingHearts = new ArrayList<>();
+        for (GameObject object : gameObjects()) {
+            EntityKind kind = EntityKind.of(object);
+            if (kind == EntityKind.TEMP_PADDLE) {
+                tempPaddles.add(object);
+            } else if (kind == EntityKind.FALLING_HEART) {
+                fallingHearts.add(object);
+            }
+        }
+
+        // A lazily loaded field loads its ids again from the brick seed
+        short[] strategyIds = new short[isLazyField() ? 0 : bricksInRow * amountOfRows];
+        for (int i = 0; i < strategyIds.length; i++) {
+            strategyIds[i] = (short) brickField.getStrategyId(i);
+        }
+
+        return new GameSnapshot(seed, brickSeed, bricksInRow, amountOfRows, random.getState(),
+                lifeLeft.value(), bricksLeftToHit.value(), extraPaddleCounter.value(),
+                cameraCounter.value(), camera() != null,
+                bodiesOf(List.of(ball)), ball.getCollisionCounter(),
+                bodiesOf(List.of(paddle)), bodiesOf(tempPaddles),
+                bodiesOf(pucks), sizesOf(pucks), bodiesOf(fallingHearts),
+                brickField.getStandingBits(), strategyIds);
+    }
+
+    /**
+     * Puts the game back in the state of a snapshot, reusing the world
+     * instead of generating it again.
+     *
+     * @param snapshot A snapshot of a session with the same brick layout.
+     * @throws IllegalArgumentException If the snapshot has another brick layout.
+     */
+    public void restore(GameSnapshot snapshot) {
+        if (snapshot.getCols() != bricksInRow || snapshot.getRows() != amountOfRows) {
+            throw new IllegalArgumentException("Snapshot is " + snapshot.getCols() + "x" +
+                    snapshot.getRows() + ", game is " + bricksInRow + "x" + amountOfRows);
+        }
+        restoreBricks(snapshot);
+        restoreObjects(snapshot);
+    }
+
+    /**
+     * Restores the bricks of a snapshot: the strategy ids, or for a lazily
+     * loaded field the seed they are loaded from, and the standing bits.
+     *
+     * @param snapshot The snapshot.
+     */
+    private void restoreBricks(GameSnapshot snapshot) {
+        if (isLazyField()) {
+            brickSeed = snapshot.getBrickSeed();
+            brickField.setSource(newBrickSource(brickSeed));
+            brickField.dropLoadedChunks();
+        }
+        applyBricks(snapshot.getStrategyIds(), snapshot.getStandingBricks());
+    }
+
+    /**
+     * Restores everything in a snapshot but the bricks: the counters, the
+     * ball, the paddles, the pucks, the falling hearts, the camera and the
+     * random state.
+     *
+     * @param snapshot The snapshot.
+     */
+    private void restoreObjects(GameSnapshot snapshot) {
+        setCounter(lifeLeft, snapshot.getLives());
+        lastLives = snapshot.getLives();
+        setCounter(bricksLeftToHit, snapshot.getBricksLeft());
+        setCounter(extraPaddleCounter, snapshot.getExtraPaddleHits());
+        setCounter(cameraCounter, snapshot.getCameraCollisions());
+
+        // The ball and the paddle stay, only their state changes
+        placeBody(ball, snapshot.getBall(), 0);
+        ball.setCollisionCounter(snapshot.getBallCollisions());
+        placeBody(paddle, snapshot.getPaddle(), 0);
+
+        removeTransientObjects();
+
+        // Put those of the snapshot back in
+        float[] pucks = snapshot.getPucks();
+        float[] puckSizes = snapshot.getPuckSizes();
+        for (int i = 0; i < pucks.length; i += GameSnapshot.BODY_FLOATS) {
+            float size = puckSizes[i / GameSnapshot.BODY_FLOATS];
+            Puck puck = puckPool.acquire(Vector2.ZERO, new Vector2(size, size));
+            if (puck == null) {
+                break;
+            }
+            placeBody(puck, pucks, i);
+            gameObjects().addGameObject(puck, Constants.PUCK_LAYER);
+            brickGrid.track(puck);
+        }
+        float[] tempPaddle = snapshot.getTempPaddle();
+        if (tempPaddle.length > 0) {
+            TempPaddle restored = new TempPaddle(Vector2.ZERO, Constants.PADDLE_DIMENSIONS,
+                    assetCache.readImage(Constants.PADDLE_PNG, true), inputListener,
+                    gameObjects(), extraPaddleCounter);
+            placeBody(restored, tempPaddle, 0);
+            gameObjects().addGameObject(restored);
+        }
+        float[] hearts = snapshot.getFallingHearts();
+        Renderable heartImage = assetCache.readImage(Constants.HEART_PNG, true);
+        for (int i = 0; i < hearts.length; i += GameSnapshot.BODY_FLOATS) {
+            Heart heart = new Heart(Vector2.ZERO, Constants.heartDimensions, heartImage,
+                    gameObjects(), lifeLeft);
+            heart.setKind(EntityKind.FALLING_HEART);
+            viewport.cull(heart);
+            placeBody(heart, hearts, i);
+            gameObjects().addGameObject(heart);
+        }
+
+        setCamera(snapshot.isCameraFollowing()
+                ? new Camera(ball, Vector2.ZERO,
+                        windowDimensions.mult(Constants.FACTOR_1), windowDimensions)
+                : null);
+        forgetPredictions();
+
+        // Last, since making the objects above drew random numbers
+        random.setState(snapshot.getRandomState());
+    }
+
+    /**
+     * Takes the pucks, the temporary paddle and the falling hearts out of
+     * the game. The pucks go back to their pool.
+     */
+    private void removeTransientObjects() {
+        List<GameObject> leaving = new ArrayList<>();
+        for (GameObject object : gameObjects()) {
+            EntityKind kind = EntityKind.of(object);
+            if (kind == EntityKind.TEMP_PADDLE || kind == EntityKind.FALLING_HEART ||
+                    kind == EntityKind.PUCK && ((Puck) object).isInPlay()) {
+                leaving.add(object);
+            }
+        }
+        for (GameObject object : leaving) {
+            if (object instanceof Puck) {
+                ((Puck) object).leaveGame();
+            } else {
+                gameObjects().removeGameObject(object);
+            }
+        }
+        brickGrid.untrackLeftBodies();
+        puckPool.recycle();
+    }
+
+    /**
+     * Plays on with other balance settings, as a campaign level's: the
+     * strategies are built again and the ball and pucks change speed.
+     *
+     * @param levelConfig The balance settings.
+     */
+    private void adoptConfig(GameConfig levelConfig) {
+        if (levelConfig == config) {
+            return;
+        }
+        config = levelConfig;
+        CollisionStrategyFactory.setConfig(config);
+        brickField.clearStrategies();
+        ball.setSpeed(config.getBallSpeed());
+        puckPool.setPuckSpeed(config.getBallSpeed());
+    }
+
+    /**
+     * Starts the game over in place, keeping every object, asset and
+     * counter of the world. The lives and counters are reset, the pucks go
+     * back to their pool, the temporary paddle and the falling hearts are
+     * taken out, the camera is reset, every brick stands again with a
+     * newly rolled strategy and the ball is served again. A campaign
+     * starts over at its first level, rolled again for the new game, while
+     * the second level keeps being prepared if the last game never got there.
+     */
+    private void softReset() {
+        setCounter(lifeLeft, Constants.INITIAL_LIFE_AMOUNT);
+        removeTransientObjects();
+        setCamera(null);
+        cameraCounter.reset();
+        extraPaddleCounter.reset();
+        doubleActionCounter.reset();
+
+        // Stand every brick again
+        if (levelSequencer != null) {
+            PreparedLevel first = levelSequencer.start(
+                    bricksInRow, amountOfRows, seed, !isLazyField());
+            adoptConfig(first.getConfig());
+            if (isLazyField()) {
+                brickField.dropLoadedChunks();
+            }
+            applyBricks(first);
+            levelSwitchFrames = 0;
+        } else {
+            setCounter(bricksLeftToHit, bricksInRow * amountOfRows);
+            brickField.clearStanding();
+            if (isLazyField()) {
+                standLazyBricks();
+                brickSeed = random.nextLong();
+                brickField.setSource(newBrickSource(brickSeed));
+                brickField.dropLoadedChunks();
+                retainBrickChunks();
+            } else {
+                rollBricks();
+            }
+            if (staticLayer != null) {
+                staticLayer.invalidate();
+            }
+        }
+
+        // Serve the ball again
+        ball.repositionBall();
+        ball.setCollisionCounter(Constants.ZERO);
+        paddle.setTopLeftCorner(Constants.PADDLE_T_LEFT_CORNER);
+        for (BotPaddle bot : bots) {
+            bot.returnHome();
+        }
+        forgetPredictions();
+    }
+
+    /**
+     * Makes the bots' predictor compute every path again, after
+     * bricks were stood up again.
+     */
+    private void forgetPredictions() {
+        if (trajectoryPredictor != null) {
+            trajectoryPredictor.invalidate();
+        }
+    }
+
+    /**
+     * Moves on to the next level of the campaign, once it is prepared.
+     * Until then the cleared field is played on, and the frames it waits
+     * are counted. The switch swaps the prepared bricks in, adopts the
+     * level's settings, clears the pucks, hearts and temporary paddle,
+     * resets the camera and serves the ball again. The lives carry over.
+     */
+    private void advanceLevel() {
+        if (!levelSequencer.isNextReady()) {
+            levelSwitchFrames++;
+            return;
+        }
+        long start = System.nanoTime();
+        PreparedLevel next = levelSequencer.takeNext(
+                bricksInRow, amountOfRows, seed, !isLazyField());
+
+        adoptConfig(next.getConfig());
+        removeTransientObjects();
+        setCamera(null);
+        cameraCounter.reset();
+        extraPaddleCounter.reset();
+        brickField.clear();
+        applyBricks(next);
+        ball.repositionBall();
+        forgetPredictions();
+
+        levelSequencer.recordSwitch(levelSwitchFrames, System.nanoTime() - start);
+        levelSwitchFrames = 0;
+    }
+
+    /**
+     * Flattens the positions and velocities of objects for a snapshot.
+     *
+     * @param objects The objects.
+     * @return {@value GameSnapshot#BODY_FLOATS} floats per object.
+     */
+    private static float[] bodiesOf(List<? extends GameObject> objects) {
+        float[] bodies = new float[objects.size() * GameSnapshot.BODY_FLOATS];
+        for (int i = 0; i < objects.size(); i++) {
+            GameObject object = objects.get(i);
+            int at = i * GameSnapshot.BODY_FLOATS;
+            bodies[at] = object.getTopLeftCorner().x();
+            bodies[at + 1] = object.getTopLeftCorner().y();
+            bodies[at + 2] = object.getVelocity().x();
+            bodies[at + 3] = object.getVelocity().y();
+        }
+        return bodies;
+    }
+
+    /**
+     * Lists the widths of objects for a snapshot.
+     *
+     * @param objects The objects.
+     * @return One float per object.
+     */
+    private static float[] sizesOf(List<? extends GameObject> objects) {
+        float[] sizes = new float[objects.size()];
+        for (int i = 0; i < objects.size(); i++) {
+            sizes[i] = objects.get(i).getDimensions().x();
+        }
+        return sizes;
+    }
+
+    /**
+     * Gives an object the position and velocity of a body of a snapshot.
+     *
+     * @param object The object.
+     * @param bodies The bodies of the snapshot.
+     * @param at     The index of the body's first float.
+     */
+    private static void placeBody(GameObject object, float[] bodies, int at) {
+        object.setTopLeftCorner(new Vector2(bodies[at], bodies[at + 1]));
+        object.setVelocity(new Vector2(bodies[at + 2], bodies[at + 3]));
+    }
+
+    /**
+     * Sets a counter to a value.
+     *
+     * @param counter The counter.
+     * @param value   The value.
+     */
+    private static void setCounter(Counter counter, int value) {
+        counter.reset();
+        counter.increaseBy(value);
+    }
+
+    /**
+     * Carries on a saved game instead of starting a new one. The bricks
+     * are taken from the snapshot instead of being generated.
+     * Must be called before the game is initialized.
+     *
+     * @param snapshot The snapshot, or null to start a new game.
+     * @throws IllegalArgumentException If the snapshot has another brick layout.
+     */
+    public void setRestoreSnapshot(GameSnapshot snapshot) {
+        if (snapshot != null &&
+                (snapshot.getCols() != bricksInRow || snapshot.getRows() != amountOfRows)) {
+            throw new IllegalArgumentException("Snapshot is " + snapshot.getCols() + "x" +
+                    snapshot.getRows() + ", game is " + bricksInRow + "x" + amountOfRows);
+        }
+        this.restoreSnapshot = snapshot;
+    }
+
+    /**
+     * Writes a checkpoint of the game at a fixed interval.
+     *
+     * @param checkpointWriter The writer, or null for no checkpoints.
+     * @param intervalSeconds  The game time between two checkpoints.
+     */
+    public void setCheckpointWriter(CheckpointWriter checkpointWriter, float intervalSeconds) {
+        this.checkpointWriter = checkpointWriter;
+        this.checkpointInterval = intervalSeconds;
+    }
+
     /**
      * Initiates a new game session based
      * on the provided prompt message.
      * If the user confirms the prompt, the
-     * game is reset with initial life amount.
+     * game is started over in place, see {@link #softReset()}.
      * If the user declines, the game window
      * is closed.
      *
@@ -443,9 +1715,8 @@ public class BrickerGameManager extends GameManager {
     private void newGame(String prompt) {
         // Open a yes/no dialog with the provided prompt
         if (windowController.openYesNoDialog(prompt)) {
-            // If the user selects "Yes", reset the game
-            lifeLeft = new Counter(Constants.INITIAL_LIFE_AMOUNT);
-            windowController.resetGame();
+            // If the user selects "Yes", start over without rebuilding the world
+            softReset();
         } else {
             // If the user selects "No", close the window
             windowController.closeWindow();
@@ -101,14 +101,14 @@ import java.awt.*;
  * <p>The HeartDrawer class handles the display of heart objects representing
  * the remaining lives of the player in the game. It updates the display based
  * on the current number of lives left.
+ *
+ * <p>All the side hearts are created and added to the game once. A change
+ * in the number of lives only shows or hides the hearts that changed.
  */
 public class HeartDrawer {
-    private final Vector2 initialPosition;
     private final Counter heartsLeft;
     private int heartOnBoard;
     private final Renderable heartImage;
-    private final GameObjectCollection gameObjects;
-    private final Vector2 dimensions;
     private final Heart[] sideHearts;
     private final Text text;
 
@@ -120,26 +120,49 @@ public class HeartDrawer {
      * @param heartsLeft The counter for the remaining hearts.
      * @param heartImage The renderable image for the heart object.
      * @param gameObjects The collection of game objects.
+     * @param text The text object displaying the life count.
      */
     public HeartDrawer(Vector2 initialPosition, Vector2 dimensions,
                        Counter heartsLeft, Renderable heartImage,
                        GameObjectCollection gameObjects,
                        Text text) {
-        this.initialPosition = initialPosition;
-        this.dimensions = dimensions;
         this.heartsLeft = heartsLeft;
         this.heartImage = heartImage;
-        this.gameObjects = gameObjects;
         this.sideHearts = new Heart[Constants.MAX_HEARTS];
         this.text = text;
+        createHearts(initialPosition, dimensions, gameObjects);
+    }
+
+    /**
+     * Creates every side heart, hidden, and adds it to the game.
+     *
+     * @param initialPosition The position of the lowest heart.
+     * @param dimensions The dimensions of the hearts.
+     * @param gameObjects The collection of game objects.
+     */
+    private void createHearts(Vector2 initialPosition, Vector2 dimensions,
+                              GameObjectCollection gameObjects) {
+        // Calculate vertical jump between hearts
+        float jump = dimensions.y() * Constants.SPACES;
+
+        // Initialize starting position
+        float dx = initialPosition.x();
+        float dy = initialPosition.y();
+
+        for (int i = 0; i < Constants.MAX_HEARTS; i++) {
+            Heart heart = new Heart(new Vector2(dx, dy - i * jump),
+                    dimensions, null, gameObjects, heartsLeft);
+            sideHearts[i] = heart;
+            gameObjects.addGameObject(heart);
+        }
     }
 
     /**
      * Draws the hearts representing player lives.
      *
      * <p>This method updates the display of hearts based on the current
-     * number of lives left. It removes existing heart objects from the
-     * game and creates new ones to reflect the updated number of lives.
+     * number of lives left. Only the hearts between the previous and the
+     * current number of lives are shown or hidden.
      * It also updates the text object to display the remaining lives.
      */
     public void Draw() {
@@ -148,35 +171,20 @@ public class HeartDrawer {
             return; // No need to redraw if they are the same
         }
 
-        for (int i = 0; i < Constants.MAX_HEARTS; i++) {
-            gameObjects.removeGameObject(sideHearts[i]);
-        }
+        int lives = Math.min(Math.max(heartsLeft.value(), 0), Constants.MAX_HEARTS);
 
-        drawHearts();
-        text.generateText();
-    }
-
-    /**
-     * Iterates over the number of lives left and creates new heart
-     * objects at appropriate positions on the game board.
-     */
-    private void drawHearts() {
-        // Calculate vertical jump between hearts
-        float jump = dimensions.y() * Constants.SPACES;
-
-        // Initialize starting position
-        float dx = initialPosition.x();
-        float dy = initialPosition.y();
+        // Show the hearts that were gained
+        for (int i = heartOnBoard; i < lives; i++) {
+            sideHearts[i].renderer().setRenderable(heartImage);
+        }
 
-        // Loop through each heart to draw
-        for (int i = 0; i < heartsLeft.value(); i++) {
-            // Create a new Heart object
-            Heart heart = new Heart(new Vector2(dx, dy - i * jump),
-                    dimensions, heartImage, gameObjects, heartsLeft);
-            sideHearts[i] = heart;
-            gameObjects.addGameObject(heart);
+        // Hide the hearts that were lost
+        for (int i = lives; i < heartOnBoard; i++) {
+            sideHearts[i].renderer().setRenderable(null);
         }
-        heartOnBoard = heartsLeft.value();
+
+        heartOnBoard = lives;
+        text.generateText();
     }
     /**
      * return number of hearts on board
@@ -184,4 +192,12 @@ public class HeartDrawer {
     public int getHeartOnBoard(){
         return this.heartOnBoard;
     }
+    /**
+     * Returns the text object displaying the life count.
+     *
+     * @return The text.
+     */
+    public Text getText() {
+        return text;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,338 @@
+package bricker.physics;
+
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.BrickField;
+import danogl.util.Vector2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Uniform grid broad-phase over the brick field.
+ *
+ * <p>Bricks are laid out on a regular grid, so every brick owns exactly one
+ * cell. The grid resolves the contacts of the moving balls and pucks by
+ * looking only at the few cells their bounding box overlaps, which keeps the
+ * cost of a contact independent of the number of bricks. It also answers
+ * region and ray queries for gameplay code and trajectory prediction.
+ * Bricks are identified by their cell index in the field.
+ */
+public class BrickGrid {
+    private final BrickField field;
+    private final float originX;
+    private final float originY;
+    private final float cellWidth;
+    private final float cellHeight;
+    private final int cols;
+    private final int rows;
+    private final List<Ball> bodies = new ArrayList<>();
+    private final List<Ball> bodiesView = Collections.unmodifiableList(bodies);
+    private final SweepHit rayHit = new SweepHit();
+
+    /**
+     * Constructs a BrickGrid over a brick field.
+     *
+     * @param field The field holding the bricks.
+     */
+    public BrickGrid(BrickField field) {
+        this.field = field;
+        this.originX = field.getOriginX();
+        this.originY = field.getOriginY();
+        this.cellWidth = field.getCellWidth();
+        this.cellHeight = field.getCellHeight();
+        this.cols = field.getCols();
+        this.rows = field.getRows();
+    }
+
+    /**
+     * Starts resolving the brick contacts of a moving ball or puck.
+     *
+     * @param body The moving body.
+     */
+    public void track(Ball body) {
+        bodies.add(body);
+    }
+
+    /**
+     * Returns the tracked balls and pucks.
+     *
+     * @return A read-only view of the tracked bodies.
+     */
+    public List<Ball> getBodies() {
+        return bodiesView;
+    }
+
+    /**
+     * Stops tracking the bodies that left the game.
+     */
+    public void untrackLeftBodies() {
+        for (int i = bodies.size() - 1; i >= 0; i--) {
+            if (!bodies.get(i).isInPlay()) {
+                bodies.remove(i);
+            }
+        }
+    }
+
+    /**
+     * Resolves the contacts between every tracked body and the bricks.
+     * <p>
+     * A body overlapping one or more bricks hits all of them and bounces off
+     * the most penetrated one. Bodies that left the game stop being tracked.
+     */
+    public void resolveContacts() {
+        for (int i = bodies.size() - 1; i >= 0; i--) {
+            Ball body = bodies.get(i);
+            if (!body.isInPlay()) {
+                bodies.remove(i);
+                continue;
+            }
+            resolveContacts(body);
+        }
+    }
+
+    /**
+     * Resolves the contacts between a body and the bricks.
+     *
+     * @param body The moving body.
+     */
+    private void resolveContacts(Ball body) {
+        Vector2 topLeft = body.getTopLeftCorner();
+        Vector2 dimensions = body.getDimensions();
+        float minX = topLeft.x();
+        float minY = topLeft.y();
+        float maxX = minX + dimensions.x();
+        float maxY = minY + dimensions.y();
+
+        int firstCol = Math.max(0, colOf(minX));
+        int lastCol = Math.min(cols - 1, colOf(maxX));
+        int firstRow = Math.max(0, rowOf(minY));
+        int lastRow = Math.min(rows - 1, rowOf(maxY));
+
+        int deepest = -1;
+        Vector2 deepestNormal = null;
+        float deepestPenetration = 0;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                int index = field.indexOf(col, row);
+                if (!field.isAlive(index)) {
+                    continue;
+                }
+                float cellMinX = originX + col * cellWidth;
+                float cellMinY = originY + row * cellHeight;
+                float penetrationX = Math.min(maxX - cellMinX, cellMinX + cellWidth - minX);
+                float penetrationY = Math.min(maxY - cellMinY, cellMinY + cellHeight - minY);
+                if (penetrationX <= 0 || penetrationY <= 0) {
+                    continue;
+                }
+                float penetration = Math.min(penetrationX, penetrationY);
+                if (penetration > deepestPenetration) {
+                    deepest = index;
+                    deepestPenetration = penetration;
+                    deepestNormal = penetrationX < penetrationY ? Vector2.RIGHT : Vector2.DOWN;
+                }
+                field.hit(index, body);
+            }
+        }
+
+        if (deepest >= 0 && isMovingInto(body, deepest, deepestNormal)) {
+            body.handleCollision(field, deepestNormal);
+        }
+    }
+
+    /**
+     * Returns whether a body moves towards a brick along a normal, so it
+     * does not bounce twice off the same surface.
+     *
+     * @param body   The moving body.
+     * @param index  The cell index of the brick it touches.
+     * @param normal The normal of the touched side.
+     * @return true if the body should bounce.
+     */
+    private boolean isMovingInto(Ball body, int index, Vector2 normal) {
+        Vector2 velocity = body.getVelocity();
+        Vector2 center = body.getCenter();
+        if (normal == Vector2.RIGHT) {
+            float brickCenterX = originX + (index % cols + 0.5f) * cellWidth;
+            return (brickCenterX - center.x()) * velocity.x() > 0;
+        }
+        float brickCenterY = originY + (index / cols + 0.5f) * cellHeight;
+        return (brickCenterY - center.y()) * velocity.y() > 0;
+    }
+
+    /**
+     * Finds the first standing brick a moving box touches during a motion.
+     * Only the cells the swept box covers are tested. Bricks the box
+     * already overlaps are left to {@link #resolveContacts()}.
+     *
+     * @param minX    The left edge of the box.
+     * @param minY    The top edge of the box.
+     * @param width   The width of the box.
+     * @param height  The height of the box.
+     * @param motionX The horizontal motion of the box.
+     * @param motionY The vertical motion of the box.
+     * @param hit     The contact found so far, replaced if a brick is touched earlier.
+     */
+    public void sweep(float minX, float minY, float width, float height,
+                      float motionX, float motionY, SweepHit hit) {
+        float sweptMinX = Math.min(minX, minX + motionX);
+        float sweptMinY = Math.min(minY, minY + motionY);
+        float sweptMaxX = Math.max(minX, minX + motionX) + width;
+        float sweptMaxY = Math.max(minY, minY + motionY) + height;
+        int firstCol = Math.max(0, colOf(sweptMinX));
+        int lastCol = Math.min(cols - 1, colOf(sweptMaxX));
+        int firstRow = Math.max(0, rowOf(sweptMinY));
+        int lastRow = Math.min(rows - 1, rowOf(sweptMaxY));
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                int index = field.indexOf(col, row);
+                if (!field.isAlive(index)) {
+                    continue;
+                }
+                float cellMinX = originX + col * cellWidth;
+                float cellMinY = originY + row * cellHeight;
+                float time = SweepHit.timeOfImpact(minX, minY, width, height, motionX, motionY,
+                        cellMinX, cellMinY, cellMinX + cellWidth, cellMinY + cellHeight);
+                if (time >= 0 && time < hit.getTime()) {
+                    hit.offerCell(time, SweepHit.normalOfImpact(minX, minY, width, height,
+                            motionX, motionY, cellMinX, cellMinY,
+                            cellMinX + cellWidth, cellMinY + cellHeight), index);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the standing bricks whose cells overlap a region.
+     *
+     * @param topLeftCorner The top-left corner of the region.
+     * @param dimensions    The dimensions of the region.
+     * @param result        The array receiving the cell indices.
+     * @return The number of indices written, at most the array length.
+     */
+    public int overlap(Vector2 topLeftCorner, Vector2 dimensions, int[] result) {
+        int firstCol = Math.max(0, colOf(topLeftCorner.x()));
+        int lastCol = Math.min(cols - 1, colOf(topLeftCorner.x() + dimensions.x()));
+        int firstRow = Math.max(0, rowOf(topLeftCorner.y()));
+        int lastRow = Math.min(rows - 1, rowOf(topLeftCorner.y() + dimensions.y()));
+        int count = 0;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol && count < result.length; col++) {
+                int index = field.indexOf(col, row);
+                if (field.isAlive(index)) {
+                    result[count++] = index;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Finds the first standing brick along a ray, walking the grid cell by cell.
+     * Unlike {@link #castRay}, a brick the ray starts in is found.
+     *
+     * @param origin      The start of the ray.
+     * @param direction   The direction of the ray (need not be normalized).
+     * @param maxDistance The length of the ray, in units of direction.
+     * @return The cell index of the first brick hit, or -1 if the ray hits none.
+     */
+    public int raycast(Vector2 origin, Vector2 direction, float maxDistance) {
+        int col = colOf(origin.x());
+        int row = rowOf(origin.y());
+        if (col >= 0 && col < cols && row >= 0 && row < rows &&
+                field.isAlive(field.indexOf(col, row))) {
+            return field.indexOf(col, row);
+        }
+        rayHit.clear();
+        castRay(origin.x(), origin.y(), direction.x() * maxDistance,
+                direction.y() * maxDistance, rayHit);
+        return rayHit.getCell();
+    }
+
+    /**
+     * Finds the first standing brick a moving point enters during a motion,
+     * walking the grid cell by cell along the motion. The cell the point
+     * starts in is left out, as in {@link #sweep}.
+     *
+     * @param x       The x coordinate of the point.
+     * @param y       The y coordinate of the point.
+     * @param motionX The horizontal motion of the point.
+     * @param motionY The vertical motion of the point.
+     * @param hit     The contact found so far, replaced if a brick is entered earlier.
+     */
+    public void castRay(float x, float y, float motionX, float motionY, SweepHit hit) {
+        float gridX = (x - originX) / cellWidth;
+        float gridY = (y - originY) / cellHeight;
+        float dx = motionX / cellWidth;
+        float dy = motionY / cellHeight;
+        int col = (int) Math.floor(gridX);
+        int row = (int) Math.floor(gridY);
+        int stepCol = dx > 0 ? 1 : -1;
+        int stepRow = dy > 0 ? 1 : -1;
+        float deltaX = dx == 0 ? Float.POSITIVE_INFINITY : Math.abs(1 / dx);
+        float deltaY = dy == 0 ? Float.POSITIVE_INFINITY : Math.abs(1 / dy);
+        float nextX = dx == 0 ? Float.POSITIVE_INFINITY :
+                (dx > 0 ? col + 1 - gridX : gridX - col) * deltaX;
+        float nextY = dy == 0 ? Float.POSITIVE_INFINITY :
+                (dy > 0 ? row + 1 - gridY : gridY - row) * deltaY;
+
+        while (true) {
+            float time;
+            Vector2 normal;
+            if (nextX < nextY) {
+                time = nextX;
+                nextX += deltaX;
+                col += stepCol;
+                normal = Vector2.RIGHT;
+            } else {
+                time = nextY;
+                nextY += deltaY;
+                row += stepRow;
+                normal = Vector2.DOWN;
+            }
+            if (time > 1 || time >= hit.getTime()) {
+                return;
+            }
+            if (col >= 0 && col < cols && row >= 0 && row < rows) {
+                int index = field.indexOf(col, row);
+                if (field.isAlive(index)) {
+                    hit.offerCell(time, normal, index);
+                    return;
+                }
+            } else if ((col < 0 && stepCol < 0) || (col >= cols && stepCol > 0) ||
+                    (row < 0 && stepRow < 0) || (row >= rows && stepRow > 0)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the field the grid runs over.
+     *
+     * @return The brick field.
+     */
+    public BrickField getField() {
+        return field;
+    }
+
+    /**
+     * Returns the column containing an x coordinate.
+     *
+     * @param x The x coordinate.
+     * @return The column, possibly outside the grid.
+     */
+    private int colOf(float x) {
+        return (int) Math.floor((x - originX) / cellWidth);
+    }
+
+    /**
+     * Returns the row containing a y coordinate.
+     *
+     * @param y The y coordinate.
+     * @return The row, possibly outside the grid.
+     */
+    private int rowOf(float y) {
+        return (int) Math.floor((y - originY) / cellHeight);
+    }
+}
@@ -0,0 +1,71 @@
+package bricker.physics;
+
+import danogl.GameObject;
+
+/**
+ * Which kinds of game objects collide with each other.
+ *
+ * <p>Game objects consult the matrix in {@code shouldCollideWith}, so the
+ * engine skips pairs that would not react to each other before testing
+ * them. The matrix is symmetric:
+ * <ul>
+ *     <li>balls collide with balls, pucks, paddles, bot paddles, walls,
+ *     the ceiling, the floor and bricks;</li>
+ *     <li>pucks collide with the same, except other pucks, so a swarm of
+ *     pucks costs the engine no pairwise tests;</li>
+ *     <li>falling hearts collide with the player's paddle and the floor;</li>
+ *     <li>nothing else collides.</li>
+ * </ul>
+ */
+public final class CollisionMatrix {
+    private static final int KINDS = EntityKind.values().length;
+    private static final boolean[] COLLIDES = new boolean[KINDS * KINDS];
+
+    static {
+        EntityKind[] bodyTargets = {
+                EntityKind.BALL, EntityKind.PADDLE, EntityKind.TEMP_PADDLE,
+                EntityKind.BOT_PADDLE, EntityKind.WALL, EntityKind.CEILING, EntityKind.FLOOR, EntityKind.BRICK};
+        allow(EntityKind.BALL, bodyTargets);
+        allow(EntityKind.BALL, EntityKind.PUCK);
+        allow(EntityKind.PUCK, bodyTargets);
+        allow(EntityKind.FALLING_HEART, EntityKind.PADDLE, EntityKind.FLOOR);
+    }
+
+    private CollisionMatrix() {
+    }
+
+    /**
+     * Lets a kind collide with other kinds, both ways.
+     *
+     * @param kind   The kind.
+     * @param others The kinds it collides with.
+     */
+    private static void allow(EntityKind kind, EntityKind... others) {
+        for (EntityKind other : others) {
+            COLLIDES[kind.ordinal() * KINDS + other.ordinal()] = true;
+            COLLIDES[other.ordinal() * KINDS + kind.ordinal()] = true;
+        }
+    }
+
+    /**
+     * Returns whether two kinds collide.
+     *
+     * @param kind  The first kind.
+     * @param other The second kind.
+     * @return true if objects of the two kinds collide.
+     */
+    public static boolean canCollide(EntityKind kind, EntityKind other) {
+        return COLLIDES[kind.ordinal() * KINDS + other.ordinal()];
+    }
+
+    /**
+     * Returns whether an object of a kind collides with a game object.
+     *
+     * @param kind  The kind of the asking object.
+     * @param other The other game object.
+     * @return true if they collide.
+     */
+    public static boolean canCollide(EntityKind kind, GameObject other) {
+        return canCollide(kind, EntityKind.of(other));
+    }
+}
@@ -0,0 +1,48 @@
+package bricker.physics;
+
+import danogl.GameObject;
+
+/**
+ * The kinds of game objects, as far as collisions are concerned.
+ *
+ * <p>Game objects of the game carry their kind through {@link HasKind}.
+ * Collision filtering and collision reactions switch on the kind instead
+ * of comparing tags. Objects that carry no kind, such as the background,
+ * are of kind {@link #OTHER}.
+ */
+public enum EntityKind {
+    /** The main ball. */
+    BALL,
+    /** A puck spawned by an extra ball brick. */
+    PUCK,
+    /** The paddle of the player. */
+    PADDLE,
+    /** A temporary paddle spawned by an extra paddle brick. */
+    TEMP_PADDLE,
+    /** A paddle moved by the game, helping or hindering the player. */
+    BOT_PADDLE,
+    /** The left or right wall. */
+    WALL,
+    /** The ceiling. */
+    CEILING,
+    /** The floor, where balls are lost. */
+    FLOOR,
+    /** A brick. */
+    BRICK,
+    /** A heart of the life display. */
+    HEART,
+    /** A heart falling from an extra life brick. */
+    FALLING_HEART,
+    /** Any other object, which collides with nothing. */
+    OTHER;
+
+    /**
+     * Returns the kind of a game object.
+     *
+     * @param gameObject The game object.
+     * @return Its kind, or OTHER if it carries none.
+     */
+    public static EntityKind of(GameObject gameObject) {
+        return gameObject instanceof HasKind ? ((HasKind) gameObject).getKind() : OTHER;
+    }
+}
@@ -0,0 +1,80 @@
+package bricker.physics;
+
+/**
+ * Splits variable frame times into fixed physics steps.
+ *
+ * <p>Frame times are added to an accumulator, and every whole step in it
+ * is one physics step. At most {@code maxSubsteps} steps run per frame;
+ * the time beyond them is dropped, so one very slow frame slows the game
+ * down instead of making every following frame slower still.
+ */
+public class FixedTimestep {
+    private final float step;
+    private final int maxSubsteps;
+    private float accumulator;
+    private double droppedTime;
+    private boolean clamped;
+
+    /**
+     * Constructs a FixedTimestep.
+     *
+     * @param step        The length of a physics step, in seconds.
+     * @param maxSubsteps The most physics steps run in one frame.
+     * @throws IllegalArgumentException If the step or the substep limit is not positive.
+     */
+    public FixedTimestep(float step, int maxSubsteps) {
+        if (step <= 0 || maxSubsteps < 1) {
+            throw new IllegalArgumentException("Step and substeps must be positive");
+        }
+        this.step = step;
+        this.maxSubsteps = maxSubsteps;
+    }
+
+    /**
+     * Adds the time of a frame and returns how many physics steps to run.
+     *
+     * @param deltaTime The time of the frame, in seconds.
+     * @return The number of physics steps, between 0 and the substep limit.
+     */
+    public int advance(float deltaTime) {
+        accumulator += deltaTime;
+        int substeps = (int) (accumulator / step);
+        clamped = substeps > maxSubsteps;
+        if (clamped) {
+            droppedTime += (substeps - maxSubsteps) * (double) step;
+            substeps = maxSubsteps;
+            accumulator -= (int) (accumulator / step) * step;
+        } else {
+            accumulator -= substeps * step;
+        }
+        return substeps;
+    }
+
+    /**
+     * Returns whether the last frame needed more steps than the limit.
+     *
+     * @return true if time was dropped in the last frame.
+     */
+    public boolean wasClamped() {
+        return clamped;
+    }
+
+    /**
+     * Returns the length of a physics step.
+     *
+     * @return The step, in seconds.
+     */
+    public float getStep() {
+        return step;
+    }
+
+    /**
+     * Returns the frame time that was dropped because
+     * a frame needed more steps than the limit.
+     *
+     * @return The dropped time, in seconds.
+     */
+    public double getDroppedTime() {
+        return droppedTime;
+    }
+}
@@ -0,0 +1,89 @@
+package bricker.physics;
+
+/**
+ * Frame pacing statistics: how long frames take, how much their length
+ * jitters, and how many physics steps they run.
+ *
+ * <p>Jitter is reported two ways: the standard deviation of the frame
+ * times, and the mean change of the frame time from one frame to the next.
+ */
+public class FramePacing {
+    private long frames;
+    private double sum;
+    private double sumOfSquares;
+    private double sumOfChanges;
+    private float minimum = Float.POSITIVE_INFINITY;
+    private float maximum;
+    private float previous = Float.NaN;
+    private long substeps;
+    private long clampedFrames;
+
+    /**
+     * Records one frame.
+     *
+     * @param deltaTime The time of the frame, in seconds.
+     * @param substeps  The physics steps run in the frame.
+     * @param clamped   Whether the frame hit the substep limit.
+     */
+    public void record(float deltaTime, int substeps, boolean clamped) {
+        frames++;
+        sum += deltaTime;
+        sumOfSquares += (double) deltaTime * deltaTime;
+        if (!Float.isNaN(previous)) {
+            sumOfChanges += Math.abs(deltaTime - previous);
+        }
+        previous = deltaTime;
+        minimum = Math.min(minimum, deltaTime);
+        maximum = Math.max(maximum, deltaTime);
+        this.substeps += substeps;
+        if (clamped) {
+            clampedFrames++;
+        }
+    }
+
+    /**
+     * Returns the mean frame time.
+     *
+     * @return The mean, in seconds.
+     */
+    public double getMean() {
+        return frames == 0 ? 0 : sum / frames;
+    }
+
+    /**
+     * Returns the standard deviation of the frame times.
+     *
+     * @return The standard deviation, in seconds.
+     */
+    public double getStandardDeviation() {
+        if (frames == 0) {
+            return 0;
+        }
+        double mean = getMean();
+        return Math.sqrt(Math.max(0, sumOfSquares / frames - mean * mean));
+    }
+
+    /**
+     * Returns the mean change of the frame time between consecutive frames.
+     *
+     * @return The mean change, in seconds.
+     */
+    public double getMeanChange() {
+        return frames < 2 ? 0 : sumOfChanges / (frames - 1);
+    }
+
+    /**
+     * Summarizes the recorded frames.
+     *
+     * @param droppedTime The frame time dropped by the substep limit, in seconds.
+     * @return A one-line report, with times in milliseconds.
+     */
+    public String report(double droppedTime) {
+        return String.format(
+                "frames=%d meanMs=%.2f minMs=%.2f maxMs=%.2f stdDevMs=%.2f jitterMs=%.2f "
+                        + "substepsPerFrame=%.2f clampedFrames=%d droppedMs=%.1f",
+                frames, getMean() * 1e3, frames == 0 ? 0 : minimum * 1e3, maximum * 1e3,
+                getStandardDeviation() * 1e3, getMeanChange() * 1e3,
+                frames == 0 ? 0 : (double) substeps / frames, clampedFrames, droppedTime * 1e3);
+    }
+}
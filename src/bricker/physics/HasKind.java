@@ -0,0 +1,13 @@
+package bricker.physics;
+
+/**
+ * A game object that carries its {@link EntityKind}.
+ */
+public interface HasKind {
+    /**
+     * Returns the kind of the game object.
+     *
+     * @return The kind.
+     */
+    EntityKind getKind();
+}
@@ -0,0 +1,201 @@
+package bricker.physics;
+
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+/**
+ * The earliest contact found by a swept collision test.
+ *
+ * <p>A SweepHit is reused from test to test: a test only replaces the
+ * contact when it finds an earlier one.
+ */
+public class SweepHit {
+    private float time;
+    private Vector2 normal;
+    private int cell;
+    private GameObject obstacle;
+
+    /**
+     * Constructs an empty SweepHit.
+     */
+    public SweepHit() {
+        clear();
+    }
+
+    /**
+     * Forgets the contact.
+     */
+    public void clear() {
+        time = Float.POSITIVE_INFINITY;
+        normal = null;
+        cell = -1;
+        obstacle = null;
+    }
+
+    /**
+     * Records a contact with a brick if it is earlier than the current one.
+     *
+     * @param time   The time of impact, as a fraction of the motion.
+     * @param normal The normal of the touched side.
+     * @param cell   The cell index of the brick.
+     */
+    void offerCell(float time, Vector2 normal, int cell) {
+        if (time < this.time) {
+            this.time = time;
+            this.normal = normal;
+            this.cell = cell;
+            this.obstacle = null;
+        }
+    }
+
+    /**
+     * Records a contact with an obstacle if it is earlier than the current one.
+     *
+     * @param time     The time of impact, as a fraction of the motion.
+     * @param normal   The normal of the touched side.
+     * @param obstacle The obstacle.
+     */
+    void offerObstacle(float time, Vector2 normal, GameObject obstacle) {
+        if (time < this.time) {
+            this.time = time;
+            this.normal = normal;
+            this.cell = -1;
+            this.obstacle = obstacle;
+        }
+    }
+
+    /**
+     * Returns whether a contact was found.
+     *
+     * @return true if a test found a contact.
+     */
+    public boolean isHit() {
+        return normal != null;
+    }
+
+    /**
+     * Returns the time of impact, as a fraction of the motion.
+     *
+     * @return The time of impact, between 0 and 1.
+     */
+    public float getTime() {
+        return time;
+    }
+
+    /**
+     * Returns the normal of the touched side.
+     *
+     * @return Vector2.RIGHT for a vertical side, Vector2.DOWN for a horizontal one.
+     */
+    public Vector2 getNormal() {
+        return normal;
+    }
+
+    /**
+     * Returns the touched brick.
+     *
+     * @return The cell index of the brick, or -1 if an obstacle was touched.
+     */
+    public int getCell() {
+        return cell;
+    }
+
+    /**
+     * Returns the touched obstacle.
+     *
+     * @return The obstacle, or null if a brick was touched.
+     */
+    public GameObject getObstacle() {
+        return obstacle;
+    }
+
+    /**
+     * Finds when a moving box first touches a fixed box.
+     *
+     * @param minX    The left edge of the moving box.
+     * @param minY    The top edge of the moving box.
+     * @param width   The width of the moving box.
+     * @param height  The height of the moving box.
+     * @param motionX The horizontal motion of the moving box.
+     * @param motionY The vertical motion of the moving box.
+     * @param boxMinX The left edge of the fixed box.
+     * @param boxMinY The top edge of the fixed box.
+     * @param boxMaxX The right edge of the fixed box.
+     * @param boxMaxY The bottom edge of the fixed box.
+     * @return The time of impact as a fraction of the motion, negative
+     *         if the boxes already overlap, or NaN if they never touch.
+     */
+    static float timeOfImpact(float minX, float minY, float width, float height,
+                              float motionX, float motionY,
+                              float boxMinX, float boxMinY, float boxMaxX, float boxMaxY) {
+        float entryX;
+        float exitX;
+        if (motionX > 0) {
+            entryX = (boxMinX - (minX + width)) / motionX;
+            exitX = (boxMaxX - minX) / motionX;
+        } else if (motionX < 0) {
+            entryX = (boxMaxX - minX) / motionX;
+            exitX = (boxMinX - (minX + width)) / motionX;
+        } else if (minX + width > boxMinX && minX < boxMaxX) {
+            entryX = Float.NEGATIVE_INFINITY;
+            exitX = Float.POSITIVE_INFINITY;
+        } else {
+            return Float.NaN;
+        }
+
+        float entryY;
+        float exitY;
+        if (motionY > 0) {
+            entryY = (boxMinY - (minY + height)) / motionY;
+            exitY = (boxMaxY - minY) / motionY;
+        } else if (motionY < 0) {
+            entryY = (boxMaxY - minY) / motionY;
+            exitY = (boxMinY - (minY + height)) / motionY;
+        } else if (minY + height > boxMinY && minY < boxMaxY) {
+            entryY = Float.NEGATIVE_INFINITY;
+            exitY = Float.POSITIVE_INFINITY;
+        } else {
+            return Float.NaN;
+        }
+
+        float entry = Math.max(entryX, entryY);
+        float exit = Math.min(exitX, exitY);
+        if (entry > exit || entry > 1 || exit <= 0) {
+            return Float.NaN;
+        }
+        return entry;
+    }
+
+    /**
+     * Returns the normal of the side a moving box touches first.
+     *
+     * @param minX    The left edge of the moving box.
+     * @param minY    The top edge of the moving box.
+     * @param width   The width of the moving box.
+     * @param height  The height of the moving box.
+     * @param motionX The horizontal motion of the moving box.
+     * @param motionY The vertical motion of the moving box.
+     * @param boxMinX The left edge of the fixed box.
+     * @param boxMinY The top edge of the fixed box.
+     * @param boxMaxX The right edge of the fixed box.
+     * @param boxMaxY The bottom edge of the fixed box.
+     * @return Vector2.RIGHT if a vertical side is touched, otherwise Vector2.DOWN.
+     */
+    static Vector2 normalOfImpact(float minX, float minY, float width, float height,
+                                  float motionX, float motionY,
+                                  float boxMinX, float boxMinY, float boxMaxX, float boxMaxY) {
+        float entryX = Float.NEGATIVE_INFINITY;
+        if (motionX > 0) {
+            entryX = (boxMinX - (minX + width)) / motionX;
+        } else if (motionX < 0) {
+            entryX = (boxMaxX - minX) / motionX;
+        }
+        float entryY = Float.NEGATIVE_INFINITY;
+        if (motionY > 0) {
+            entryY = (boxMinY - (minY + height)) / motionY;
+        } else if (motionY < 0) {
+            entryY = (boxMaxY - minY) / motionY;
+        }
+        return entryX > entryY ? Vector2.RIGHT : Vector2.DOWN;
+    }
+}
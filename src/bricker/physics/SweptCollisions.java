@@ -0,0 +1,160 @@
+package bricker.physics;
+
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.Paddle;
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Continuous collision detection for the balls and pucks.
+ *
+ * <p>Before a physics step, every body tracked by the brick grid is swept
+ * along its motion for the step against the standing bricks and the
+ * obstacles (walls and paddles). At every contact the body is moved to the
+ * point of impact and bounces, and the rest of the motion is swept again,
+ * up to {@code maxHits} times. The body is then placed so that the engine's
+ * own integration over the step ends at the swept end position. A fast
+ * ball therefore cannot pass through a thin brick or paddle between two
+ * steps, however long the step.
+ */
+public class SweptCollisions {
+    private static final Set<EntityKind> OBSTACLE_KINDS = EnumSet.of(
+            EntityKind.PADDLE, EntityKind.TEMP_PADDLE, EntityKind.BOT_PADDLE,
+            EntityKind.WALL, EntityKind.CEILING, EntityKind.FLOOR);
+    private final BrickGrid brickGrid;
+    private final int maxHits;
+    private final List<GameObject> obstacles = new ArrayList<>();
+    private final SweepHit hit = new SweepHit();
+
+    /**
+     * Constructs SweptCollisions over a brick grid.
+     *
+     * @param brickGrid The grid holding the bricks and the tracked bodies.
+     * @param maxHits   The most contacts resolved for one body in one step.
+     */
+    public SweptCollisions(BrickGrid brickGrid, int maxHits) {
+        this.brickGrid = brickGrid;
+        this.maxHits = maxHits;
+    }
+
+    /**
+     * Replaces the obstacles the bodies are swept against.
+     *
+     * @param candidates Game objects; the paddles, walls, ceiling
+     *                   and floor among them become obstacles.
+     */
+    public void setObstacles(Iterable<GameObject> candidates) {
+        obstacles.clear();
+        for (GameObject candidate : candidates) {
+            if (OBSTACLE_KINDS.contains(EntityKind.of(candidate))) {
+                obstacles.add(candidate);
+            }
+        }
+    }
+
+    /**
+     * Sweeps every tracked body along its motion for one step.
+     *
+     * @param deltaTime The length of the step.
+     */
+    public void sweep(float deltaTime) {
+        List<Ball> bodies = brickGrid.getBodies();
+        for (int i = 0; i < bodies.size(); i++) {
+            Ball body = bodies.get(i);
+            if (body.isInPlay()) {
+                sweep(body, deltaTime);
+            }
+        }
+    }
+
+    /**
+     * Sweeps one body along its motion for one step.
+     *
+     * @param body      The moving body.
+     * @param deltaTime The length of the step.
+     */
+    private void sweep(Ball body, float deltaTime) {
+        Vector2 dimensions = body.getDimensions();
+        float width = dimensions.x();
+        float height = dimensions.y();
+        float x = body.getTopLeftCorner().x();
+        float y = body.getTopLeftCorner().y();
+        float remaining = deltaTime;
+        boolean touched = false;
+
+        for (int hits = 0; hits < maxHits && remaining > 0; hits++) {
+            Vector2 velocity = body.getVelocity();
+            float motionX = velocity.x() * remaining;
+            float motionY = velocity.y() * remaining;
+
+            hit.clear();
+            brickGrid.sweep(x, y, width, height, motionX, motionY, hit);
+            sweepObstacles(x, y, width, height, motionX, motionY);
+            if (!hit.isHit()) {
+                break;
+            }
+
+            // Move to the point of impact and bounce
+            x += motionX * hit.getTime();
+            y += motionY * hit.getTime();
+            remaining -= remaining * hit.getTime();
+            body.setTopLeftCorner(new Vector2(x, y));
+            touched = true;
+            if (hit.getObstacle() == null) {
+                brickGrid.getField().hit(hit.getCell(), body);
+                body.handleCollision(brickGrid.getField(), hit.getNormal());
+            } else {
+                body.handleCollision(hit.getObstacle(), hit.getNormal());
+                if (hit.getObstacle() instanceof Paddle) {
+                    ((Paddle) hit.getObstacle()).handleHit(body);
+                }
+            }
+
+            // A body that lost a life or left the game was placed by itself
+            Vector2 topLeft = body.getTopLeftCorner();
+            if (!body.isInPlay() || topLeft.x() != x || topLeft.y() != y) {
+                return;
+            }
+        }
+
+        if (touched) {
+            // Let the engine's integration over the step end where the sweep ended
+            Vector2 velocity = body.getVelocity();
+            body.setTopLeftCorner(new Vector2(
+                    x + velocity.x() * remaining - velocity.x() * deltaTime,
+                    y + velocity.y() * remaining - velocity.y() * deltaTime));
+        }
+    }
+
+    /**
+     * Sweeps a moving box against the obstacles.
+     *
+     * @param minX    The left edge of the box.
+     * @param minY    The top edge of the box.
+     * @param width   The width of the box.
+     * @param height  The height of the box.
+     * @param motionX The horizontal motion of the box.
+     * @param motionY The vertical motion of the box.
+     */
+    private void sweepObstacles(float minX, float minY, float width, float height,
+                                float motionX, float motionY) {
+        for (int i = 0; i < obstacles.size(); i++) {
+            GameObject obstacle = obstacles.get(i);
+            Vector2 topLeft = obstacle.getTopLeftCorner();
+            Vector2 dimensions = obstacle.getDimensions();
+            float time = SweepHit.timeOfImpact(minX, minY, width, height, motionX, motionY,
+                    topLeft.x(), topLeft.y(),
+                    topLeft.x() + dimensions.x(), topLeft.y() + dimensions.y());
+            if (time >= 0 && time < hit.getTime()) {
+                hit.offerObstacle(time, SweepHit.normalOfImpact(minX, minY, width, height,
+                        motionX, motionY, topLeft.x(), topLeft.y(),
+                        topLeft.x() + dimensions.x(), topLeft.y() + dimensions.y()), obstacle);
+            }
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package bricker.physics;
+
+import bricker.gameobjects.Ball;
+import danogl.util.Vector2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Predicts where the balls and pucks are going, for the bot paddles.
+ *
+ * <p>Once per frame, the path of every body tracked by the brick grid is
+ * followed ahead of it: it bounces off the walls and the ceiling, steps
+ * through the brick grid cell by cell to bounce off the first standing
+ * brick, and ends on the floor or after {@code maxBounces} bounces. A path
+ * is kept until the body's velocity changes, the body leaves the path, or
+ * a brick it bounces off is cleared, so most frames compute no path at all.
+ *
+ * <p>The bots do not query the paths themselves. They watch a lane, a
+ * horizontal line crossed downwards or upwards, split into zones side by
+ * side. Every frame, the first crossing of each path is offered to each
+ * lane, which keeps the soonest crossing in every zone. So the cost of a
+ * frame grows with the bodies and the lanes, not with the bots.
+ */
+public class TrajectoryPredictor {
+    private static final float ON_PATH_TOLERANCE = 1;
+    private final BrickGrid brickGrid;
+    private final float minX;
+    private final float minY;
+    private final float maxX;
+    private final float maxY;
+    private final int maxBounces;
+    private final Map<Ball, Path> paths = new IdentityHashMap<>();
+    private final List<Lane> lanes = new ArrayList<>();
+    private final SweepHit hit = new SweepHit();
+    private long computedPaths;
+    private long updates;
+    private long predictionNanos;
+
+    /**
+     * Constructs a TrajectoryPredictor.
+     *
+     * @param brickGrid  The grid holding the bricks and the tracked bodies.
+     * @param minX       The inner side of the left wall.
+     * @param minY       The inner side of the ceiling.
+     * @param maxX       The inner side of the right wall.
+     * @param maxY       The top of the floor.
+     * @param maxBounces The most bounces followed along a path.
+     */
+    public TrajectoryPredictor(BrickGrid brickGrid, float minX, float minY,
+                               float maxX, float maxY, int maxBounces) {
+        this.brickGrid = brickGrid;
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxBounces = maxBounces;
+    }
+
+    /**
+     * Adds a lane for bots to watch.
+     *
+     * @param lineY    The height of the lane.
+     * @param downward Whether the lane is crossed downwards, or upwards.
+     * @param zones    The number of zones the lane is split into, side by side.
+     * @return The index of the lane.
+     * @throws IllegalArgumentException If the lane has no zone.
+     */
+    public int addLane(float lineY, boolean downward, int zones) {
+        if (zones < 1) {
+            throw new IllegalArgumentException("A lane needs at least one zone");
+        }
+        lanes.add(new Lane(lineY, downward, zones));
+        return lanes.size() - 1;
+    }
+
+    /**
+     * Returns the center of a zone of a lane, where its bot waits.
+     *
+     * @param lane The index of the lane.
+     * @param zone The index of the zone.
+     * @return The x coordinate of the zone's center.
+     */
+    public float zoneCenter(int lane, int zone) {
+        return minX + (zone + 0.5f) * (maxX - minX) / lanes.get(lane).targetX.length;
+    }
+
+    /**
+     * Brings the paths of the tracked bodies up to date and finds the
+     * soonest crossing in every zone of every lane. Called once per frame.
+     */
+    public void update() {
+        long start = System.nanoTime();
+        for (int i = 0; i < lanes.size(); i++) {
+            lanes.get(i).clear();
+        }
+        List<Ball> bodies = brickGrid.getBodies();
+        for (int i = 0; i < bodies.size(); i++) {
+            Ball body = bodies.get(i);
+            if (!body.isInPlay()) {
+                continue;
+            }
+            Path path = paths.get(body);
+            if (path == null) {
+                path = new Path(maxBounces);
+                paths.put(body, path);
+            }
+            Vector2 center = body.getCenter();
+            float elapsed = path.elapsedAt(center, body.getVelocity());
+            if (Float.isNaN(elapsed) || !bricksStand(path)) {
+                compute(path, body, center);
+                computedPaths++;
+                elapsed = 0;
+            }
+            for (int j = 0; j < lanes.size(); j++) {
+                lanes.get(j).offer(path, elapsed);
+            }
+        }
+        updates++;
+        predictionNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * Forgets every path, after bricks were stood up again.
+     * The paths are computed again on the next update.
+     */
+    public void invalidate() {
+        for (Path path : paths.values()) {
+            path.velocityX = Float.NaN;
+        }
+    }
+
+    /**
+     * Follows the path of a body from its center, until it reaches the
+     * floor or bounced {@code maxBounces} times.
+     *
+     * @param path   The path to fill.
+     * @param body   The moving body.
+     * @param center The center of the body.
+     */
+    private void compute(Path path, Ball body, Vector2 center) {
+        Vector2 velocity = body.getVelocity();
+        Vector2 dimensions = body.getDimensions();
+        float left = minX + dimensions.x() / 2;
+        float right = maxX - dimensions.x() / 2;
+        float top = minY + dimensions.y() / 2;
+        float bottom = maxY - dimensions.y() / 2;
+        float x = center.x();
+        float y = center.y();
+        float velocityX = velocity.x();
+        float velocityY = velocity.y();
+        float time = 0;
+        path.start(x, y, velocityX, velocityY);
+
+        for (int bounce = 0; bounce < maxBounces; bounce++) {
+            float wallTime = velocityX > 0 ? (right - x) / velocityX :
+                    velocityX < 0 ? (left - x) / velocityX : Float.POSITIVE_INFINITY;
+            float floorTime = velocityY > 0 ? (bottom - y) / velocityY :
+                    velocityY < 0 ? (top - y) / velocityY : Float.POSITIVE_INFINITY;
+            float step = Math.max(0, Math.min(wallTime, floorTime));
+            if (Float.isInfinite(step)) {
+                break;
+            }
+            hit.clear();
+            brickGrid.castRay(x, y, velocityX * step, velocityY * step, hit);
+            if (hit.isHit()) {
+                step *= hit.getTime();
+            }
+            x += velocityX * step;
+            y += velocityY * step;
+            time += step;
+            path.add(x, y, time);
+
+            // Bounce, or stop on the floor
+            if (hit.isHit()) {
+                path.addBrick(hit.getCell());
+                if (hit.getNormal().x() != 0) {
+                    velocityX = -velocityX;
+                } else {
+                    velocityY = -velocityY;
+                }
+            } else if (wallTime < floorTime) {
+                velocityX = -velocityX;
+            } else if (velocityY > 0) {
+                break;
+            } else {
+                velocityY = -velocityY;
+            }
+        }
+    }
+
+    /**
+     * Returns whether every brick a path bounces off still stands.
+     *
+     * @param path The path.
+     * @return true if none was cleared.
+     */
+    private boolean bricksStand(Path path) {
+        for (int i = 0; i < path.brickCount; i++) {
+            if (!brickGrid.getField().isAlive(path.bricks[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the soonest crossing of a zone of a lane.
+     *
+     * @param lane The index of the lane.
+     * @param zone The index of the zone.
+     * @return The x coordinate of the crossing, or NaN if no body crosses the zone.
+     */
+    public float getTargetX(int lane, int zone) {
+        return lanes.get(lane).targetX[zone];
+    }
+
+    /**
+     * Returns the time until the soonest crossing of a zone of a lane.
+     *
+     * @param lane The index of the lane.
+     * @param zone The index of the zone.
+     * @return The time in seconds, or infinity if no body crosses the zone.
+     */
+    public float getTargetTime(int lane, int zone) {
+        return lanes.get(lane).targetTime[zone];
+    }
+
+    /**
+     * Returns the number of paths computed so far.
+     *
+     * @return The computed path count.
+     */
+    public long getComputedPaths() {
+        return computedPaths;
+    }
+
+    /**
+     * Summarizes the predictions.
+     *
+     * @return A one-line report, with times in milliseconds.
+     */
+    public String report() {
+        return String.format("lanes=%d paths=%d computedPaths=%d meanPredictionMs=%.3f",
+                lanes.size(), paths.size(), computedPaths,
+                updates == 0 ? 0 : predictionNanos / (double) updates / 1e6);
+    }
+
+    /**
+     * The predicted path of one body: the points it bounces at,
+     * the times it reaches them and the bricks it bounces off.
+     */
+    private static class Path {
+        private final float[] xs;
+        private final float[] ys;
+        private final float[] times;
+        private final int[] bricks;
+        private int points;
+        private int brickCount;
+        private float velocityX = Float.NaN;
+        private float velocityY;
+
+        /**
+         * Constructs an empty Path.
+         *
+         * @param maxBounces The most bounces followed along a path.
+         */
+        Path(int maxBounces) {
+            this.xs = new float[maxBounces + 1];
+            this.ys = new float[maxBounces + 1];
+            this.times = new float[maxBounces + 1];
+            this.bricks = new int[maxBounces];
+        }
+
+        /**
+         * Starts the path over from a body's center and velocity.
+         *
+         * @param x         The x coordinate of the center.
+         * @param y         The y coordinate of the center.
+         * @param velocityX The horizontal velocity.
+         * @param velocityY The vertical velocity.
+         */
+        void start(float x, float y, float velocityX, float velocityY) {
+            this.velocityX = velocityX;
+            this.velocityY = velocityY;
+            points = 0;
+            brickCount = 0;
+            add(x, y, 0);
+        }
+
+        /**
+         * Adds a point to the path.
+         *
+         * @param x    The x coordinate of the point.
+         * @param y    The y coordinate of the point.
+         * @param time The time the body reaches it.
+         */
+        void add(float x, float y, float time) {
+            xs[points] = x;
+            ys[points] = y;
+            times[points] = time;
+            points++;
+        }
+
+        /**
+         * Records a brick the path bounces off.
+         *
+         * @param cell The cell index of the brick.
+         */
+        void addBrick(int cell) {
+            bricks[brickCount++] = cell;
+        }
+
+        /**
+         * Returns how far along its first segment the body is, if the
+         * path still holds: the body has the velocity the path was
+         * computed for and lies on the first segment.
+         *
+         * @param center   The center of the body.
+         * @param velocity The velocity of the body.
+         * @return The time since the start of the path, or NaN if it does not hold.
+         */
+        float elapsedAt(Vector2 center, Vector2 velocity) {
+            if (velocity.x() != velocityX || velocity.y() != velocityY) {
+                return Float.NaN;
+            }
+            float speedSquared = velocityX * velocityX + velocityY * velocityY;
+            if (speedSquared == 0) {
+                return Float.NaN;
+            }
+            float dx = center.x() - xs[0];
+            float dy = center.y() - ys[0];
+            float cross = dx * velocityY - dy * velocityX;
+            float elapsed = (dx * velocityX + dy * velocityY) / speedSquared;
+            float end = points > 1 ? times[1] : Float.POSITIVE_INFINITY;
+            if (cross * cross > ON_PATH_TOLERANCE * ON_PATH_TOLERANCE * speedSquared ||
+                    elapsed < 0 || elapsed > end) {
+                return Float.NaN;
+            }
+            return elapsed;
+        }
+    }
+
+    /**
+     * A horizontal line the bots watch, split into zones side by side.
+     */
+    private class Lane {
+        private final float lineY;
+        private final boolean downward;
+        private final float[] targetX;
+        private final float[] targetTime;
+
+        /**
+         * Constructs a Lane.
+         *
+         * @param lineY    The height of the lane.
+         * @param downward Whether the lane is crossed downwards, or upwards.
+         * @param zones    The number of zones.
+         */
+        Lane(float lineY, boolean downward, int zones) {
+            this.lineY = lineY;
+            this.downward = downward;
+            this.targetX = new float[zones];
+            this.targetTime = new float[zones];
+            clear();
+        }
+
+        /**
+         * Forgets the crossings of the last frame.
+         */
+        void clear() {
+            Arrays.fill(targetX, Float.NaN);
+            Arrays.fill(targetTime, Float.POSITIVE_INFINITY);
+        }
+
+        /**
+         * Finds the first crossing of the lane along a path, from where
+         * the body is now, and keeps it if it is the soonest in its zone.
+         *
+         * @param path    The path.
+         * @param elapsed The time since the start of the path.
+         */
+        void offer(Path path, float elapsed) {
+            for (int i = 0; i + 1 < path.points; i++) {
+                float fromY = path.ys[i];
+                float toY = path.ys[i + 1];
+                boolean crosses = downward
+                        ? fromY < lineY && toY >= lineY
+                        : fromY > lineY && toY <= lineY;
+                if (!crosses) {
+                    continue;
+                }
+                float fraction = (lineY - fromY) / (toY - fromY);
+                float time = path.times[i] + fraction * (path.times[i + 1] - path.times[i]);
+                if (time < elapsed) {
+                    continue;
+                }
+                float x = path.xs[i] + fraction * (path.xs[i + 1] - path.xs[i]);
+                int zone = (int) ((x - minX) / (maxX - minX) * targetX.length);
+                zone = Math.max(0, Math.min(targetX.length - 1, zone));
+                if (time - elapsed < targetTime[zone]) {
+                    targetTime[zone] = time - elapsed;
+                    targetX[zone] = x;
+                }
+                return;
+            }
+        }
+    }
+}
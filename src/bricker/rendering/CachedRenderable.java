@@ -0,0 +1,69 @@
+package bricker.rendering;
+
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * A renderable drawn once into an offscreen image and then copied.
+ *
+ * <p>The wrapped renderable is rasterized at the size it is displayed at.
+ * As long as that size does not change, every frame costs a single unscaled
+ * image copy instead of scaling the source again. A source that is still
+ * being loaded is drawn directly, so its placeholder is never cached.
+ */
+public class CachedRenderable implements Renderable {
+    private final Renderable source;
+    private BufferedImage cache;
+
+    /**
+     * Constructs a CachedRenderable.
+     *
+     * @param source The renderable to cache.
+     */
+    public CachedRenderable(Renderable source) {
+        this.source = source;
+    }
+
+    /**
+     * Draws the cached image, rasterizing the source first if
+     * nothing is cached at the requested size yet.
+     *
+     * @param g                       The graphics to draw on.
+     * @param topLeftCorner           The top-left corner on screen.
+     * @param dimensions              The size on screen.
+     * @param degreesCounterClockwise Ignored, the cache is never rotated.
+     * @param isFlippedHorizontally   Ignored.
+     * @param isFlippedVertically     Ignored.
+     * @param opaqueness              The opaqueness of the source.
+     */
+    @Override
+    public void render(Graphics2D g, Vector2 topLeftCorner, Vector2 dimensions,
+                       double degreesCounterClockwise, boolean isFlippedHorizontally,
+                       boolean isFlippedVertically, double opaqueness) {
+        if (DeferredRenderable.isPending(source)) {
+            source.render(g, topLeftCorner, dimensions, degreesCounterClockwise,
+                    isFlippedHorizontally, isFlippedVertically, opaqueness);
+            return;
+        }
+        int width = Math.max(1, Math.round(dimensions.x()));
+        int height = Math.max(1, Math.round(dimensions.y()));
+        if (cache == null || cache.getWidth() != width || cache.getHeight() != height) {
+            cache = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D cacheGraphics = cache.createGraphics();
+            source.render(cacheGraphics, Vector2.ZERO, dimensions,
+                    0, false, false, opaqueness);
+            cacheGraphics.dispose();
+        }
+        g.drawImage(cache, Math.round(topLeftCorner.x()), Math.round(topLeftCorner.y()), null);
+    }
+
+    /**
+     * Drops the cached image, so the source is rasterized again.
+     */
+    public void invalidate() {
+        cache = null;
+    }
+}
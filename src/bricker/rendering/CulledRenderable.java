@@ -0,0 +1,67 @@
+package bricker.rendering;
+
+import danogl.GameObject;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.awt.*;
+
+/**
+ * A renderable that is not drawn while its object is out of view.
+ *
+ * <p>The test uses the object's bounds in the world against the viewport's
+ * cached world rectangle, so it costs a few comparisons per object and
+ * frame, and nothing is drawn or transformed for a culled object.
+ */
+public class CulledRenderable implements Renderable {
+    private final Renderable source;
+    private final GameObject owner;
+    private final Viewport viewport;
+
+    /**
+     * Constructs a CulledRenderable.
+     *
+     * @param source   The renderable drawn while the object is in view.
+     * @param owner    The object drawn with it.
+     * @param viewport The view the object is culled against.
+     */
+    public CulledRenderable(Renderable source, GameObject owner, Viewport viewport) {
+        this.source = source;
+        this.owner = owner;
+        this.viewport = viewport;
+    }
+
+    /**
+     * Draws the source if the object is in view.
+     *
+     * @param g                       The graphics to draw on.
+     * @param topLeftCorner           The top-left corner on screen.
+     * @param dimensions              The size on screen.
+     * @param degreesCounterClockwise The rotation of the source.
+     * @param isFlippedHorizontally   Whether the source is flipped horizontally.
+     * @param isFlippedVertically     Whether the source is flipped vertically.
+     * @param opaqueness              The opaqueness of the source.
+     */
+    @Override
+    public void render(Graphics2D g, Vector2 topLeftCorner, Vector2 dimensions,
+                       double degreesCounterClockwise, boolean isFlippedHorizontally,
+                       boolean isFlippedVertically, double opaqueness) {
+        if (!viewport.isVisible(owner)) {
+            viewport.countCulled();
+            return;
+        }
+        viewport.countDrawn();
+        source.render(g, topLeftCorner, dimensions, degreesCounterClockwise,
+                isFlippedHorizontally, isFlippedVertically, opaqueness);
+    }
+
+    /**
+     * Advances the source, for animated renderables.
+     *
+     * @param deltaTime The time elapsed since the last update.
+     */
+    @Override
+    public void update(float deltaTime) {
+        source.update(deltaTime);
+    }
+}
@@ -0,0 +1,77 @@
+package bricker.rendering;
+
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.awt.*;
+
+/**
+ * A renderable that is still being loaded.
+ *
+ * <p>Until the real renderable arrives, a lightweight placeholder is drawn
+ * in its place, so objects can be created and the window shown before the
+ * assets are decoded. The real renderable may arrive from any thread.
+ * Renderables that cache what they draw should not cache a placeholder;
+ * see {@link #isPending(Renderable)}.
+ */
+public class DeferredRenderable implements Renderable {
+    private final Renderable placeholder;
+    private volatile Renderable loaded;
+
+    /**
+     * Constructs a DeferredRenderable.
+     *
+     * @param placeholder The renderable drawn until the real one arrives.
+     */
+    public DeferredRenderable(Renderable placeholder) {
+        this.placeholder = placeholder;
+    }
+
+    /**
+     * Hands over the real renderable.
+     *
+     * @param loaded The loaded renderable.
+     */
+    public void complete(Renderable loaded) {
+        this.loaded = loaded;
+    }
+
+    /**
+     * Returns whether the real renderable arrived.
+     *
+     * @return true once the renderable is loaded.
+     */
+    public boolean isReady() {
+        return loaded != null;
+    }
+
+    /**
+     * Returns whether a renderable is a placeholder for one still being loaded.
+     *
+     * @param renderable Any renderable, or null.
+     * @return true if the renderable is a deferred renderable that is not ready.
+     */
+    public static boolean isPending(Renderable renderable) {
+        return renderable instanceof DeferredRenderable && !((DeferredRenderable) renderable).isReady();
+    }
+
+    /**
+     * Draws the real renderable, or the placeholder until it arrives.
+     *
+     * @param g                       The graphics to draw on.
+     * @param topLeftCorner           The top-left corner on screen.
+     * @param dimensions              The size on screen.
+     * @param degreesCounterClockwise The rotation.
+     * @param isFlippedHorizontally   Whether to flip horizontally.
+     * @param isFlippedVertically     Whether to flip vertically.
+     * @param opaqueness              The opaqueness.
+     */
+    @Override
+    public void render(Graphics2D g, Vector2 topLeftCorner, Vector2 dimensions,
+                       double degreesCounterClockwise, boolean isFlippedHorizontally,
+                       boolean isFlippedVertically, double opaqueness) {
+        Renderable renderable = loaded != null ? loaded : placeholder;
+        renderable.render(g, topLeftCorner, dimensions, degreesCounterClockwise,
+                isFlippedHorizontally, isFlippedVertically, opaqueness);
+    }
+}
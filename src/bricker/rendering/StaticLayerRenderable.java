@@ -0,0 +1,211 @@
+package bricker.rendering;
+
+import bricker.gameobjects.BrickField;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The static content of the world, composed into one offscreen image.
+ *
+ * <p>The walls and the brick field are drawn once into an image covering the
+ * world. Each frame copies that image to the screen, so the cost does not
+ * grow with the number of bricks. When a brick is destroyed only its cell is
+ * cleared from the image. When the displayed size of the world changes, for
+ * example because the camera zooms, or when {@link #invalidate()} is called,
+ * the image is composed again from scratch. It is also composed again once
+ * the brick image it was composed with a placeholder of has been loaded.
+ * The image for the bricks of a coming level can be composed ahead, on
+ * another thread, and adopted when the level starts.
+ */
+public class StaticLayerRenderable implements Renderable {
+    private final Vector2 worldDimensions;
+    private final List<Rectangle> wallRects = new ArrayList<>();
+    private final List<Color> wallColors = new ArrayList<>();
+    private final BitSet dirtyCells = new BitSet();
+    private BrickField brickField;
+    private BufferedImage cache;
+    private boolean composedWithPlaceholder;
+    private float scaleX;
+    private float scaleY;
+
+    /**
+     * Constructs an empty StaticLayerRenderable.
+     *
+     * @param worldDimensions The dimensions of the world area it covers.
+     */
+    public StaticLayerRenderable(Vector2 worldDimensions) {
+        this.worldDimensions = worldDimensions;
+    }
+
+    /**
+     * Adds a filled wall rectangle to the layer.
+     *
+     * @param topLeftCorner The top-left corner of the wall in the world.
+     * @param dimensions    The dimensions of the wall.
+     * @param color         The color of the wall.
+     */
+    public void addWall(Vector2 topLeftCorner, Vector2 dimensions, Color color) {
+        wallRects.add(new Rectangle(Math.round(topLeftCorner.x()), Math.round(topLeftCorner.y()),
+                Math.round(dimensions.x()), Math.round(dimensions.y())));
+        wallColors.add(color);
+        invalidate();
+    }
+
+    /**
+     * Sets the brick field drawn in the layer. Destroyed
+     * bricks are cleared from the cached image.
+     *
+     * @param brickField The brick field.
+     */
+    public void setBrickField(BrickField brickField) {
+        this.brickField = brickField;
+        brickField.setClearListener(dirtyCells::set);
+        invalidate();
+    }
+
+    /**
+     * Drops the cached image, so the layer is composed again.
+     */
+    public void invalidate() {
+        cache = null;
+        dirtyCells.clear();
+    }
+
+    /**
+     * Composes the layer for other standing bricks into a new image,
+     * leaving the cached one alone. Reads only the walls and the fixed
+     * layout of the brick field, so once every wall was added it is safe
+     * on any thread.
+     *
+     * @param standing The standing bits of the cells.
+     * @param width    The width of the image.
+     * @param height   The height of the image.
+     * @return The image, or null while the brick image is not loaded.
+     */
+    public BufferedImage composeAhead(BitSet standing, int width, int height) {
+        if (brickField == null || DeferredRenderable.isPending(brickField.getBrickImage())) {
+            return null;
+        }
+        return draw(width, height, standing);
+    }
+
+    /**
+     * Adopts an image composed ahead for the bricks now standing,
+     * or composes the layer again if there is none.
+     *
+     * @param composed The image from {@link #composeAhead}, or null.
+     */
+    public void adopt(BufferedImage composed) {
+        if (composed == null) {
+            invalidate();
+            return;
+        }
+        cache = composed;
+        scaleX = composed.getWidth() / worldDimensions.x();
+        scaleY = composed.getHeight() / worldDimensions.y();
+        composedWithPlaceholder = false;
+        dirtyCells.clear();
+    }
+
+    /**
+     * Draws the cached layer, composing it first if needed and
+     * clearing the cells of the bricks destroyed since the last frame.
+     *
+     * @param g                       The graphics to draw on.
+     * @param topLeftCorner           The top-left corner of the world on screen.
+     * @param dimensions              The size of the world on screen.
+     * @param degreesCounterClockwise Ignored, the layer is never rotated.
+     * @param isFlippedHorizontally   Ignored.
+     * @param isFlippedVertically     Ignored.
+     * @param opaqueness              Ignored, the layer is opaque.
+     */
+    @Override
+    public void render(Graphics2D g, Vector2 topLeftCorner, Vector2 dimensions,
+                       double degreesCounterClockwise, boolean isFlippedHorizontally,
+                       boolean isFlippedVertically, double opaqueness) {
+        int width = Math.max(1, Math.round(dimensions.x()));
+        int height = Math.max(1, Math.round(dimensions.y()));
+        if (cache == null || cache.getWidth() != width || cache.getHeight() != height ||
+                composedWithPlaceholder && !DeferredRenderable.isPending(brickField.getBrickImage())) {
+            compose(width, height);
+        } else if (!dirtyCells.isEmpty()) {
+            clearDirtyCells();
+        }
+        g.drawImage(cache, Math.round(topLeftCorner.x()), Math.round(topLeftCorner.y()), null);
+    }
+
+    /**
+     * Draws the walls and the standing bricks into a new image.
+     *
+     * @param width  The width of the image.
+     * @param height The height of the image.
+     */
+    private void compose(int width, int height) {
+        cache = draw(width, height, null);
+        scaleX = width / worldDimensions.x();
+        scaleY = height / worldDimensions.y();
+        composedWithPlaceholder = brickField != null
+                && DeferredRenderable.isPending(brickField.getBrickImage());
+        dirtyCells.clear();
+    }
+
+    /**
+     * Draws the walls and the standing bricks into a new image.
+     *
+     * @param width    The width of the image.
+     * @param height   The height of the image.
+     * @param standing The standing bits of the cells, or null for the field's own.
+     * @return The image.
+     */
+    private BufferedImage draw(int width, int height, BitSet standing) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        float imageScaleX = width / worldDimensions.x();
+        float imageScaleY = height / worldDimensions.y();
+        Graphics2D imageGraphics = image.createGraphics();
+        imageGraphics.setClip(0, 0, width, height);
+        for (int i = 0; i < wallRects.size(); i++) {
+            Rectangle wall = wallRects.get(i);
+            imageGraphics.setColor(wallColors.get(i));
+            imageGraphics.fillRect(Math.round(wall.x * imageScaleX),
+                    Math.round(wall.y * imageScaleY),
+                    Math.round(wall.width * imageScaleX), Math.round(wall.height * imageScaleY));
+        }
+        if (brickField != null) {
+            if (standing == null) {
+                brickField.drawBricks(imageGraphics, imageScaleX, imageScaleY);
+            } else {
+                brickField.drawBricks(imageGraphics, imageScaleX, imageScaleY, standing);
+            }
+        }
+        imageGraphics.dispose();
+        return image;
+    }
+
+    /**
+     * Clears the cells of the bricks destroyed since the last frame.
+     */
+    private void clearDirtyCells() {
+        Graphics2D cacheGraphics = cache.createGraphics();
+        cacheGraphics.setComposite(AlphaComposite.Clear);
+        int cols = brickField.getCols();
+        float cellWidth = brickField.getCellWidth() * scaleX;
+        float cellHeight = brickField.getCellHeight() * scaleY;
+        float originX = brickField.getOriginX() * scaleX;
+        float originY = brickField.getOriginY() * scaleY;
+        for (int i = dirtyCells.nextSetBit(0); i >= 0; i = dirtyCells.nextSetBit(i + 1)) {
+            int left = Math.round(originX + (i % cols) * cellWidth);
+            int top = Math.round(originY + (i / cols) * cellHeight);
+            int right = Math.round(originX + (i % cols + 1) * cellWidth);
+            int bottom = Math.round(originY + (i / cols + 1) * cellHeight);
+            cacheGraphics.fillRect(left, top, right - left, bottom - top);
+        }
+        cacheGraphics.dispose();
+        dirtyCells.clear();
+    }
+}
@@ -0,0 +1,126 @@
+package bricker.rendering;
+
+import danogl.GameObject;
+import danogl.gui.rendering.Camera;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+/**
+ * The part of the world the camera shows, for culling what it does not.
+ *
+ * <p>While a camera is set, objects whose bounds lie completely outside its
+ * world rectangle are not drawn, and may skip other cosmetic work such as
+ * their sounds. The rectangle is read from the camera once per frame, by
+ * {@link #beginFrame(Camera)}, and only replaced when the camera moved or
+ * was resized. Without a camera the whole window is shown and nothing is
+ * culled. The objects drawn and culled are counted per frame.
+ */
+public class Viewport {
+    private boolean culling;
+    private float minX;
+    private float minY;
+    private float maxX;
+    private float maxY;
+    private int drawn;
+    private int culled;
+    private int lastDrawn;
+    private int lastCulled;
+
+    /**
+     * Starts a frame: keeps the counts of the frame drawn last and
+     * follows the camera, if it moved. Called once per frame, after the
+     * objects and the camera were updated and before they are drawn.
+     *
+     * @param camera The camera of the game, or null for the default view.
+     */
+    public void beginFrame(Camera camera) {
+        lastDrawn = drawn;
+        lastCulled = culled;
+        drawn = 0;
+        culled = 0;
+        culling = camera != null;
+        if (!culling) {
+            return;
+        }
+        Vector2 topLeft = camera.getTopLeftCorner();
+        Vector2 dimensions = camera.getDimensions();
+        if (topLeft.x() != minX || topLeft.y() != minY ||
+                topLeft.x() + dimensions.x() != maxX || topLeft.y() + dimensions.y() != maxY) {
+            minX = topLeft.x();
+            minY = topLeft.y();
+            maxX = topLeft.x() + dimensions.x();
+            maxY = topLeft.y() + dimensions.y();
+        }
+    }
+
+    /**
+     * Returns whether any part of an object is shown.
+     *
+     * @param object The object, in world coordinates.
+     * @return false if the object lies completely outside the camera's view.
+     */
+    public boolean isVisible(GameObject object) {
+        if (!culling) {
+            return true;
+        }
+        Vector2 topLeft = object.getTopLeftCorner();
+        Vector2 dimensions = object.getDimensions();
+        return topLeft.x() < maxX && topLeft.x() + dimensions.x() > minX &&
+                topLeft.y() < maxY && topLeft.y() + dimensions.y() > minY;
+    }
+
+    /**
+     * Makes an object skip drawing while it is outside the view.
+     * An object without a renderable, as in headless games, is left as is.
+     *
+     * @param object The object, drawn in world coordinates.
+     */
+    public void cull(GameObject object) {
+        Renderable renderable = object.renderer().getRenderable();
+        if (renderable == null) {
+            return;
+        }
+        object.renderer().setRenderable(new CulledRenderable(renderable, object, this));
+    }
+
+    /**
+     * Counts an object drawn in the current frame.
+     */
+    void countDrawn() {
+        drawn++;
+    }
+
+    /**
+     * Counts an object culled in the current frame.
+     */
+    void countCulled() {
+        culled++;
+    }
+
+    /**
+     * Returns whether a camera is set, so objects may be culled.
+     *
+     * @return true while the view follows a camera.
+     */
+    public boolean isCulling() {
+        return culling;
+    }
+
+    /**
+     * Returns the number of culled objects drawn in the last frame.
+     *
+     * @return The drawn count.
+     */
+    public int getDrawn() {
+        return lastDrawn;
+    }
+
+    /**
+     * Returns the number of objects culled in the last frame.
+     *
+     * @return The culled count.
+     */
+    public int getCulled() {
+        return lastCulled;
+    }
+}
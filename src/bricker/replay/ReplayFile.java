@@ -0,0 +1,39 @@
+package bricker.replay;
+
+import java.awt.event.KeyEvent;
+
+/**
+ * Layout of a replay file.
+ *
+ * <p>A replay starts with a header: the magic number, the format version,
+ * the random seed of the session and the size of the brick grid. Then comes
+ * one record per frame: the frame's delta time as a float and one byte
+ * holding the state of the keys the game reads, one bit per key of
+ * {@link #KEYS}.
+ */
+public final class ReplayFile {
+    /** Marks a Bricker replay file ("BRKR"). */
+    public static final int MAGIC = 0x42524B52;
+    /** The version of the format written by this code. */
+    public static final int VERSION = 1;
+    /** The keys whose state is recorded, in bit order. */
+    static final int[] KEYS = {KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT, KeyEvent.VK_W};
+
+    private ReplayFile() {
+    }
+
+    /**
+     * Returns the bit of a key in a frame record.
+     *
+     * @param keyCode The key code, as in KeyEvent.
+     * @return The bit mask of the key, or 0 if the key is not recorded.
+     */
+    static int bitOf(int keyCode) {
+        for (int i = 0; i < KEYS.length; i++) {
+            if (KEYS[i] == keyCode) {
+                return 1 << i;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,123 @@
+package bricker.replay;
+
+import bricker.utills.DefaultValues;
+import danogl.gui.UserInputListener;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+
+/**
+ * Plays back a replay file written by a {@link ReplayRecorder}.
+ *
+ * <p>The player stands in for the keyboard: the game reads the recorded key
+ * state of the current frame through {@link #listener()}, and takes the
+ * recorded delta time from {@link #nextFrame()}.
+ */
+public class ReplayPlayer {
+    private final DataInputStream in;
+    private final long seed;
+    private final int bricksInRow;
+    private final int amountOfRows;
+    private final UserInputListener inputListener;
+    private int keys;
+
+    /**
+     * Opens a replay file and reads its header.
+     *
+     * @param path The path of the replay file.
+     * @throws IOException If the file cannot be read or is not a replay.
+     */
+    public ReplayPlayer(String path) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(path)));
+        if (in.readInt() != ReplayFile.MAGIC) {
+            throw new IOException(path + " is not a replay file");
+        }
+        int version = in.readInt();
+        if (version != ReplayFile.VERSION) {
+            throw new IOException("Unsupported replay version " + version);
+        }
+        this.seed = in.readLong();
+        this.bricksInRow = in.readInt();
+        this.amountOfRows = in.readInt();
+        this.inputListener = (UserInputListener) Proxy.newProxyInstance(
+                UserInputListener.class.getClassLoader(),
+                new Class<?>[]{UserInputListener.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("isKeyPressed")) {
+                        return (keys & ReplayFile.bitOf((Integer) args[0])) != 0;
+                    }
+                    return DefaultValues.of(method.getReturnType());
+                });
+    }
+
+    /**
+     * Advances to the next recorded frame.
+     *
+     * @return The delta time of the frame, or a negative value
+     * once the replay is over.
+     */
+    public float nextFrame() {
+        try {
+            float deltaTime = in.readFloat();
+            keys = in.readUnsignedByte();
+            return deltaTime;
+        } catch (EOFException e) {
+            keys = 0;
+            return -1;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Closes the replay file.
+     */
+    public void close() {
+        try {
+            in.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the keyboard stand-in reporting the recorded keys.
+     *
+     * @return The replay input listener.
+     */
+    public UserInputListener listener() {
+        return inputListener;
+    }
+
+    /**
+     * Returns the random seed of the recorded session.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the number of bricks in each row of the recorded session.
+     *
+     * @return The number of columns.
+     */
+    public int getBricksInRow() {
+        return bricksInRow;
+    }
+
+    /**
+     * Returns the number of rows of bricks of the recorded session.
+     *
+     * @return The number of rows.
+     */
+    public int getAmountOfRows() {
+        return amountOfRows;
+    }
+}
@@ -0,0 +1,82 @@
+package bricker.replay;
+
+import danogl.gui.UserInputListener;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes the input and timing of a game session to a replay file.
+ *
+ * <p>Together with the seed of the session, the recorded key state and
+ * delta time of every frame are enough for a {@link ReplayPlayer} to play
+ * the same game again.
+ */
+public class ReplayRecorder {
+    private final DataOutputStream out;
+    private final long seed;
+    private final int bricksInRow;
+    private final int amountOfRows;
+    private boolean headerWritten;
+
+    /**
+     * Constructs a ReplayRecorder writing to a file.
+     *
+     * @param path         The path of the replay file.
+     * @param seed         The random seed of the session.
+     * @param bricksInRow  The number of bricks in each row.
+     * @param amountOfRows The number of rows of bricks.
+     * @throws IOException If the file cannot be created.
+     */
+    public ReplayRecorder(String path, long seed, int bricksInRow, int amountOfRows)
+            throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)));
+        this.seed = seed;
+        this.bricksInRow = bricksInRow;
+        this.amountOfRows = amountOfRows;
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close));
+    }
+
+    /**
+     * Records one frame.
+     *
+     * @param deltaTime     The delta time of the frame.
+     * @param inputListener The input as the game reads it this frame.
+     */
+    public synchronized void recordFrame(float deltaTime, UserInputListener inputListener) {
+        int keys = 0;
+        for (int i = 0; i < ReplayFile.KEYS.length; i++) {
+            if (inputListener.isKeyPressed(ReplayFile.KEYS[i])) {
+                keys |= 1 << i;
+            }
+        }
+        try {
+            if (!headerWritten) {
+                out.writeInt(ReplayFile.MAGIC);
+                out.writeInt(ReplayFile.VERSION);
+                out.writeLong(seed);
+                out.writeInt(bricksInRow);
+                out.writeInt(amountOfRows);
+                headerWritten = true;
+            }
+            out.writeFloat(deltaTime);
+            out.writeByte(keys);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Flushes and closes the replay file.
+     */
+    public synchronized void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
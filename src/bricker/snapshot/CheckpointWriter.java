@@ -0,0 +1,135 @@
+package bricker.snapshot;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes checkpoints of a session on a background thread.
+ *
+ * <p>The game thread only takes the snapshot, which copies the state; the
+ * encoding and the file writing happen on the writer's own thread, so the
+ * frame loop never waits for the disk. Each checkpoint is written next to
+ * the destination and then moved over it, so the destination always holds
+ * a complete checkpoint, even if the JVM dies mid-write. While a checkpoint
+ * is still being written, or once the writer is closed, new ones are skipped.
+ */
+public class CheckpointWriter {
+    private static final long CLOSE_TIMEOUT_SECONDS = 5;
+    private final Path destination;
+    private final Path temporary;
+    private final ExecutorService executor;
+    private final AtomicBoolean writing = new AtomicBoolean();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private volatile IOException lastError;
+
+    /**
+     * Constructs a CheckpointWriter.
+     *
+     * @param destination The file that holds the latest checkpoint.
+     */
+    public CheckpointWriter(Path destination) {
+        this.destination = destination;
+        this.temporary = destination.resolveSibling(destination.getFileName() + ".tmp");
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bricker-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Hands a snapshot to the writer thread, unless it is still busy
+     * or the writer was closed.
+     *
+     * @param snapshot The snapshot to write.
+     * @return true if the snapshot will be written, false if it was skipped.
+     */
+    public boolean offer(GameSnapshot snapshot) {
+        if (executor.isShutdown() || !writing.compareAndSet(false, true)) {
+            skipped.incrementAndGet();
+            return false;
+        }
+        try {
+            executor.execute(() -> write(snapshot));
+        } catch (RejectedExecutionException e) {
+            // Closed since the check above
+            writing.set(false);
+            skipped.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes a snapshot next to the destination and moves it over,
+     * on the writer thread.
+     *
+     * @param snapshot The snapshot to write.
+     */
+    private void write(GameSnapshot snapshot) {
+        try {
+            snapshot.write(temporary);
+            try {
+                Files.move(temporary, destination, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, destination, StandardCopyOption.REPLACE_EXISTING);
+            }
+            written.incrementAndGet();
+        } catch (IOException e) {
+            lastError = e;
+        } finally {
+            writing.set(false);
+        }
+    }
+
+    /**
+     * Finishes the checkpoint being written and stops the writer thread.
+     */
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the number of checkpoints written.
+     *
+     * @return The written count.
+     */
+    public long getWritten() {
+        return written.get();
+    }
+
+    /**
+     * Returns the number of checkpoints skipped because the previous one
+     * was still being written or the writer was closed.
+     *
+     * @return The skipped count.
+     */
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    /**
+     * Returns the error of the last checkpoint that failed to be written.
+     *
+     * @return The error, or null if none failed.
+     */
+    public IOException getLastError() {
+        return lastError;
+    }
+}
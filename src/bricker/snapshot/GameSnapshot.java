@@ -0,0 +1,411 @@
+package bricker.snapshot;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The full state of a game session at one frame.
+ *
+ * <p>A snapshot holds everything that changes while a session is played:
+ * the random state, the counters, the ball, the paddles, the pucks and
+ * falling hearts in play, the camera, and the bricks. Bricks are stored as
+ * the standing bitmap, one bit per cell, and the strategy id of every cell.
+ * The ids are left out for lazily loaded fields, whose chunks load their ids
+ * again from the brick seed, the session's seed until the game is restarted. Moving objects are stored as their top
+ * left corner and velocity, {@value #BODY_FLOATS} floats each; the
+ * pucks, which come in more than one size, also have their width.
+ *
+ * <p>A snapshot is a plain value: it is taken on the game thread and may be
+ * written from any thread. The binary encoding starts with the magic number
+ * and the format version, followed by the fields in the order they are
+ * declared here, big-endian.
+ */
+public class GameSnapshot {
+    /** Marks a Bricker snapshot file ("BRKS"). */
+    public static final int MAGIC = 0x42524B53;
+    /** The version of the format written by this code. */
+    public static final int VERSION = 3;
+    /** The floats describing one moving object: x, y, velocity x, velocity y. */
+    public static final int BODY_FLOATS = 4;
+
+    private final long seed;
+    private final long brickSeed;
+    private final int cols;
+    private final int rows;
+    private final long randomState;
+    private final int lives;
+    private final int bricksLeft;
+    private final int extraPaddleHits;
+    private final int cameraCollisions;
+    private final boolean cameraFollowing;
+    private final float[] ball;
+    private final int ballCollisions;
+    private final float[] paddle;
+    private final float[] tempPaddle;
+    private final float[] pucks;
+    private final float[] puckSizes;
+    private final float[] fallingHearts;
+    private final long[] standingBricks;
+    private final short[] strategyIds;
+
+    /**
+     * Constructs a GameSnapshot.
+     *
+     * @param seed             The seed of the session.
+     * @param brickSeed        The seed a lazily loaded field rolls its strategy ids from.
+     * @param cols             The number of bricks in each row.
+     * @param rows             The number of rows of bricks.
+     * @param randomState      The state of the session's random source.
+     * @param lives            The lives left.
+     * @param bricksLeft       The bricks left to hit.
+     * @param extraPaddleHits  The hits left to the temporary paddle.
+     * @param cameraCollisions The ball collision count at which the camera is reset.
+     * @param cameraFollowing  Whether the camera follows the ball.
+     * @param ball             The ball, as one body.
+     * @param ballCollisions   The collision count of the ball.
+     * @param paddle           The paddle, as one body.
+     * @param tempPaddle       The temporary paddle as one body, or an empty array.
+     * @param pucks            The pucks in play, one body each.
+     * @param puckSizes        The width of every puck, in the order of the pucks.
+     * @param fallingHearts    The falling hearts, one body each.
+     * @param standingBricks   The standing bits of the cells, as in BitSet.toLongArray.
+     * @param strategyIds      The strategy id of every cell, or an empty array.
+     */
+    public GameSnapshot(long seed, long brickSeed, int cols, int rows, long randomState,
+                        int lives, int bricksLeft, int extraPaddleHits, int cameraCollisions,
+                        boolean cameraFollowing, float[] ball, int ballCollisions,
+                        float[] paddle, float[] tempPaddle, float[] pucks, float[] puckSizes,
+                        float[] fallingHearts, long[] standingBricks, short[] strategyIds) {
+        this.seed = seed;
+        this.brickSeed = brickSeed;
+        this.cols = cols;
+        this.rows = rows;
+        this.randomState = randomState;
+        this.lives = lives;
+        this.bricksLeft = bricksLeft;
+        this.extraPaddleHits = extraPaddleHits;
+        this.cameraCollisions = cameraCollisions;
+        this.cameraFollowing = cameraFollowing;
+        this.ball = ball;
+        this.ballCollisions = ballCollisions;
+        this.paddle = paddle;
+        this.tempPaddle = tempPaddle;
+        this.pucks = pucks;
+        this.puckSizes = puckSizes;
+        this.fallingHearts = fallingHearts;
+        this.standingBricks = standingBricks;
+        this.strategyIds = strategyIds;
+    }
+
+    /**
+     * Writes the snapshot to a file.
+     *
+     * @param path The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void write(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(seed);
+            out.writeLong(brickSeed);
+            out.writeInt(cols);
+            out.writeInt(rows);
+            out.writeLong(randomState);
+            out.writeInt(lives);
+            out.writeInt(bricksLeft);
+            out.writeInt(extraPaddleHits);
+            out.writeInt(cameraCollisions);
+            out.writeBoolean(cameraFollowing);
+            writeFloats(out, ball);
+            out.writeInt(ballCollisions);
+            writeFloats(out, paddle);
+            writeFloats(out, tempPaddle);
+            writeFloats(out, pucks);
+            writeFloats(out, puckSizes);
+            writeFloats(out, fallingHearts);
+            out.writeInt(standingBricks.length);
+            for (long word : standingBricks) {
+                out.writeLong(word);
+            }
+            out.writeInt(strategyIds.length);
+            for (short id : strategyIds) {
+                out.writeShort(id);
+            }
+        }
+    }
+
+    /**
+     * Reads a snapshot from a file.
+     *
+     * @param path The file to read.
+     * @return The snapshot.
+     * @throws IOException If the file cannot be read or is not a snapshot of this version.
+     */
+    public static GameSnapshot read(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(path + " is not a Bricker snapshot");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version);
+            }
+            long seed = in.readLong();
+            long brickSeed = in.readLong();
+            int cols = in.readInt();
+            int rows = in.readInt();
+            long randomState = in.readLong();
+            int lives = in.readInt();
+            int bricksLeft = in.readInt();
+            int extraPaddleHits = in.readInt();
+            int cameraCollisions = in.readInt();
+            boolean cameraFollowing = in.readBoolean();
+            float[] ball = readFloats(in);
+            int ballCollisions = in.readInt();
+            float[] paddle = readFloats(in);
+            float[] tempPaddle = readFloats(in);
+            float[] pucks = readFloats(in);
+            float[] puckSizes = readFloats(in);
+            if (puckSizes.length * BODY_FLOATS != pucks.length) {
+                throw new IOException("Corrupt snapshot: " + puckSizes.length
+                        + " puck sizes for " + pucks.length / BODY_FLOATS + " pucks");
+            }
+            float[] fallingHearts = readFloats(in);
+            long[] standingBricks = new long[readLength(in)];
+            for (int i = 0; i < standingBricks.length; i++) {
+                standingBricks[i] = in.readLong();
+            }
+            short[] strategyIds = new short[readLength(in)];
+            for (int i = 0; i < strategyIds.length; i++) {
+                strategyIds[i] = in.readShort();
+            }
+            return new GameSnapshot(seed, brickSeed, cols, rows, randomState, lives, bricksLeft,
+                    extraPaddleHits, cameraCollisions, cameraFollowing, ball, ballCollisions,
+                    paddle, tempPaddle, pucks, puckSizes, fallingHearts, standingBricks, strategyIds);
+        }
+    }
+
+    /**
+     * Writes an array of floats, preceded by its length.
+     *
+     * @param out    The stream to write to.
+     * @param floats The floats.
+     * @throws IOException If the stream cannot be written.
+     */
+    private static void writeFloats(DataOutputStream out, float[] floats) throws IOException {
+        out.writeInt(floats.length);
+        for (float value : floats) {
+            out.writeFloat(value);
+        }
+    }
+
+    /**
+     * Reads an array of floats, preceded by its length.
+     *
+     * @param in The stream to read from.
+     * @return The floats.
+     * @throws IOException If the stream cannot be read.
+     */
+    private static float[] readFloats(DataInputStream in) throws IOException {
+        float[] floats = new float[readLength(in)];
+        for (int i = 0; i < floats.length; i++) {
+            floats[i] = in.readFloat();
+        }
+        return floats;
+    }
+
+    /**
+     * Reads the length of an array.
+     *
+     * @param in The stream to read from.
+     * @return The length.
+     * @throws IOException If the stream cannot be read or the length is negative.
+     */
+    private static int readLength(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Corrupt snapshot: negative length " + length);
+        }
+        return length;
+    }
+
+    /**
+     * Returns the seed of the session.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the seed a lazily loaded field rolls its strategy ids from.
+     *
+     * @return The brick seed.
+     */
+    public long getBrickSeed() {
+        return brickSeed;
+    }
+
+    /**
+     * Returns the number of bricks in each row.
+     *
+     * @return The number of columns.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Returns the number of rows of bricks.
+     *
+     * @return The number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the state of the session's random source.
+     *
+     * @return The random state.
+     */
+    public long getRandomState() {
+        return randomState;
+    }
+
+    /**
+     * Returns the lives left.
+     *
+     * @return The lives.
+     */
+    public int getLives() {
+        return lives;
+    }
+
+    /**
+     * Returns the bricks left to hit.
+     *
+     * @return The bricks left.
+     */
+    public int getBricksLeft() {
+        return bricksLeft;
+    }
+
+    /**
+     * Returns the hits left to the temporary paddle.
+     *
+     * @return The extra paddle counter.
+     */
+    public int getExtraPaddleHits() {
+        return extraPaddleHits;
+    }
+
+    /**
+     * Returns the ball collision count at which the camera is reset.
+     *
+     * @return The camera counter.
+     */
+    public int getCameraCollisions() {
+        return cameraCollisions;
+    }
+
+    /**
+     * Returns whether the camera follows the ball.
+     *
+     * @return true if the camera follows the ball.
+     */
+    public boolean isCameraFollowing() {
+        return cameraFollowing;
+    }
+
+    /**
+     * Returns the ball.
+     *
+     * @return The ball, as one body.
+     */
+    public float[] getBall() {
+        return ball;
+    }
+
+    /**
+     * Returns the collision count of the ball.
+     *
+     * @return The ball's collisions.
+     */
+    public int getBallCollisions() {
+        return ballCollisions;
+    }
+
+    /**
+     * Returns the paddle.
+     *
+     * @return The paddle, as one body.
+     */
+    public float[] getPaddle() {
+        return paddle;
+    }
+
+    /**
+     * Returns the temporary paddle.
+     *
+     * @return The temporary paddle as one body, or an empty array.
+     */
+    public float[] getTempPaddle() {
+        return tempPaddle;
+    }
+
+    /**
+     * Returns the pucks in play.
+     *
+     * @return The pucks, one body each.
+     */
+    public float[] getPucks() {
+        return pucks;
+    }
+
+    /**
+     * Returns the sizes of the pucks in play. A puck spawned by another
+     * puck is smaller than one spawned by the ball.
+     *
+     * @return The width of every puck, in the order of the pucks.
+     */
+    public float[] getPuckSizes() {
+        return puckSizes;
+    }
+
+    /**
+     * Returns the falling hearts.
+     *
+     * @return The hearts, one body each.
+     */
+    public float[] getFallingHearts() {
+        return fallingHearts;
+    }
+
+    /**
+     * Returns the standing bits of the cells.
+     *
+     * @return The bits, as in BitSet.toLongArray.
+     */
+    public long[] getStandingBricks() {
+        return standingBricks;
+    }
+
+    /**
+     * Returns the strategy id of every cell.
+     *
+     * @return The ids, or an empty array for a lazily loaded field.
+     */
+    public short[] getStrategyIds() {
+        return strategyIds;
+    }
+}
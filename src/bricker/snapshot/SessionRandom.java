@@ -0,0 +1,70 @@
+package bricker.snapshot;
+
+import java.util.Random;
+
+/**
+ * The random source of a game session, whose state can be saved and restored.
+ *
+ * <p>It runs the same linear congruential generator as {@link Random}, so a
+ * SessionRandom gives exactly the numbers a Random with the same seed gives.
+ * Unlike Random, it exposes the generator's 48-bit state, so a snapshot can
+ * carry on the session's random numbers where they stopped. It is meant for
+ * the game thread and is not safe to share between threads.
+ */
+public class SessionRandom extends Random {
+    private static final long serialVersionUID = 1L;
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+    private long state;
+
+    /**
+     * Constructs a SessionRandom.
+     *
+     * @param seed The seed of the session.
+     */
+    public SessionRandom(long seed) {
+        super(seed);
+    }
+
+    /**
+     * Sets the seed, as {@link Random#setSeed(long)} does.
+     *
+     * @param seed The seed.
+     */
+    @Override
+    public void setSeed(long seed) {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    /**
+     * Advances the generator and returns its next bits.
+     *
+     * @param bits The number of random bits.
+     * @return The next random bits.
+     */
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    /**
+     * Returns the state of the generator.
+     *
+     * @return The 48-bit state.
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Puts the generator back in a saved state.
+     *
+     * @param state A state returned by {@link #getState()}.
+     */
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+}
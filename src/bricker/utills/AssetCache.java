@@ -0,0 +1,151 @@
+package bricker.utills;
+
+import danogl.gui.ImageReader;
+import danogl.gui.Sound;
+import danogl.gui.SoundReader;
+import danogl.gui.rendering.Renderable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of the decoded images and sounds of the game.
+ *
+ * <p>Every asset is read from disk and decoded once, the first time it is
+ * requested or when it is preloaded, and is shared by all the game objects
+ * that use it. The cache holds a bounded number of entries and evicts the
+ * least recently used one when it is full. With an {@link AsyncAssetLoader},
+ * images are decoded in the background and drawn as placeholders until then.
+ */
+public class AssetCache {
+    static final String[] IMAGES = {
+            Constants.BALL_PNG, Constants.PADDLE_PNG, Constants.BRICK_PNG,
+            Constants.BACKGROUND_PNG, Constants.HEART_PNG, Constants.PUCK_IMAGE_PATH};
+    static final boolean[] IMAGES_TRANSPARENCY = {
+            true, true, false, false, true, true};
+    static final String[] SOUNDS = {
+            Constants.BLOP_SOUND, Constants.SOUND_PUCK_PATH};
+
+    private final ImageReader imageReader;
+    private final SoundReader soundReader;
+    private final Map<String, Renderable> images;
+    private final Map<String, Sound> sounds;
+    private AsyncAssetLoader loader;
+    private int hits;
+    private int misses;
+
+    /**
+     * Constructs an AssetCache.
+     *
+     * @param imageReader The reader used to decode images.
+     * @param soundReader The reader used to decode sounds.
+     * @param maxEntries  The maximal number of images and of sounds kept.
+     */
+    public AssetCache(ImageReader imageReader, SoundReader soundReader, int maxEntries) {
+        this.imageReader = imageReader;
+        this.soundReader = soundReader;
+        this.images = boundedMap(maxEntries);
+        this.sounds = boundedMap(maxEntries);
+    }
+
+    /**
+     * Creates a map that keeps at most the given number of
+     * entries, evicting the least recently used one.
+     *
+     * @param maxEntries The maximal number of entries.
+     * @param <V>        The type of the cached assets.
+     * @return A new bounded map.
+     */
+    private static <V> Map<String, V> boundedMap(int maxEntries) {
+        return new LinkedHashMap<>(maxEntries, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Takes the images from a background loader instead of decoding them
+     * on the calling thread.
+     *
+     * @param loader The loader, or null to decode images when requested.
+     */
+    public void setLoader(AsyncAssetLoader loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Decodes all the assets of the game ahead of time.
+     *
+     * @param sounds Whether to decode the sounds too, which is left out
+     *               when they are played through the sound mixer.
+     */
+    public void preload(boolean sounds) {
+        for (int i = 0; i < IMAGES.length; i++) {
+            readImage(IMAGES[i], IMAGES_TRANSPARENCY[i]);
+        }
+        if (sounds) {
+            for (String sound : SOUNDS) {
+                readSound(sound);
+            }
+        }
+    }
+
+    /**
+     * Returns a decoded image, reading it only on the first request.
+     *
+     * @param path                         The path of the image.
+     * @param useTopLeftPixelAsTransparent Whether the top-left pixel's
+     *                                     color is transparent.
+     * @return The decoded image.
+     */
+    public Renderable readImage(String path, boolean useTopLeftPixelAsTransparent) {
+        String key = useTopLeftPixelAsTransparent ? path : path + '#';
+        if (images.containsKey(key)) {
+            hits++;
+            return images.get(key);
+        }
+        misses++;
+        Renderable image = loader != null
+                ? loader.readImage(path, useTopLeftPixelAsTransparent)
+                : imageReader.readImage(path, useTopLeftPixelAsTransparent);
+        images.put(key, image);
+        return image;
+    }
+
+    /**
+     * Returns a decoded sound, reading it only on the first request.
+     *
+     * @param path The path of the sound.
+     * @return The decoded sound.
+     */
+    public Sound readSound(String path) {
+        if (sounds.containsKey(path)) {
+            hits++;
+            return sounds.get(path);
+        }
+        misses++;
+        Sound sound = soundReader.readSound(path);
+        sounds.put(path, sound);
+        return sound;
+    }
+
+    /**
+     * Returns the number of requests served from the cache.
+     *
+     * @return The hit count.
+     */
+    public int getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of requests that had to decode the asset.
+     *
+     * @return The miss count.
+     */
+    public int getMisses() {
+        return misses;
+    }
+}
@@ -0,0 +1,187 @@
+package bricker.utills;
+
+import bricker.audio.SoundMixer;
+import bricker.rendering.DeferredRenderable;
+import danogl.gui.rendering.ImageRenderable;
+import danogl.gui.rendering.Renderable;
+import danogl.gui.rendering.RectangleRenderable;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decodes the assets of the game in parallel, in the background.
+ *
+ * <p>It is started as soon as the game starts, before the window opens. Every
+ * image is decoded on a worker thread and handed out right away as a
+ * {@link DeferredRenderable}, which draws a plain placeholder until the
+ * image arrives. The sounds are decoded into the sound mixer the same way.
+ * The time from the start to the first frame and to the last decoded asset
+ * are measured.
+ */
+public class AsyncAssetLoader {
+    private final long startNanos = System.nanoTime();
+    private final ExecutorService workers;
+    private final Map<String, DeferredRenderable> images = new HashMap<>();
+    private final List<CompletableFuture<?>> pending = new ArrayList<>();
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile long firstFrameNanos = -1;
+    private volatile long fullyLoadedNanos = -1;
+
+    /**
+     * Constructs an AsyncAssetLoader and starts decoding the images of the game.
+     *
+     * @param threads The number of worker threads.
+     */
+    public AsyncAssetLoader(int threads) {
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "bricker-assets");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < AssetCache.IMAGES.length; i++) {
+            readImage(AssetCache.IMAGES[i], AssetCache.IMAGES_TRANSPARENCY[i]);
+        }
+    }
+
+    /**
+     * Starts decoding the sounds of the game into a sound mixer, and
+     * starts waiting for every asset requested so far. Called once, after
+     * the images of the game were requested.
+     *
+     * @param soundMixer The mixer the sounds are played through, or null for none.
+     */
+    public synchronized void finish(SoundMixer soundMixer) {
+        if (soundMixer != null) {
+            for (String sound : AssetCache.SOUNDS) {
+                pending.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        soundMixer.load(sound);
+                    } catch (IOException e) {
+                        failures.incrementAndGet();
+                    }
+                }, workers));
+            }
+        }
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0]))
+                .whenComplete((result, error) -> allLoaded());
+    }
+
+    /**
+     * Records the time every asset was decoded at and stops the workers.
+     * Images requested later are decoded on the requesting thread.
+     */
+    private synchronized void allLoaded() {
+        fullyLoadedNanos = System.nanoTime() - startNanos;
+        workers.shutdown();
+    }
+
+    /**
+     * Returns an image, decoding it on a worker thread on the first request.
+     *
+     * @param path                         The path of the image.
+     * @param useTopLeftPixelAsTransparent Whether the top-left pixel's
+     *                                     color is transparent.
+     * @return The image, drawn as a placeholder until it is decoded.
+     */
+    public synchronized Renderable readImage(String path, boolean useTopLeftPixelAsTransparent) {
+        String key = useTopLeftPixelAsTransparent ? path : path + '#';
+        DeferredRenderable image = images.get(key);
+        if (image == null) {
+            DeferredRenderable deferred = new DeferredRenderable(
+                    new RectangleRenderable(Constants.PLACEHOLDER_COLOR));
+            images.put(key, deferred);
+            if (!workers.isShutdown()) {
+                pending.add(CompletableFuture.runAsync(
+                        () -> decode(path, useTopLeftPixelAsTransparent, deferred), workers));
+            } else {
+                decode(path, useTopLeftPixelAsTransparent, deferred);
+            }
+            image = deferred;
+        }
+        return image;
+    }
+
+    /**
+     * Decodes an image and hands it to its deferred renderable.
+     * An image that cannot be decoded keeps its placeholder.
+     *
+     * @param path        The path of the image.
+     * @param transparent Whether the top-left pixel's color is transparent.
+     * @param deferred    The renderable waiting for the image.
+     */
+    private void decode(String path, boolean transparent, DeferredRenderable deferred) {
+        try {
+            BufferedImage source = ImageIO.read(new File(path));
+            if (source == null) {
+                throw new IOException("Unknown image format");
+            }
+            BufferedImage image = new BufferedImage(source.getWidth(), source.getHeight(),
+                    BufferedImage.TYPE_INT_ARGB);
+            Graphics2D graphics = image.createGraphics();
+            graphics.drawImage(source, 0, 0, null);
+            graphics.dispose();
+            if (transparent) {
+                int background = image.getRGB(0, 0);
+                for (int y = 0; y < image.getHeight(); y++) {
+                    for (int x = 0; x < image.getWidth(); x++) {
+                        if (image.getRGB(x, y) == background) {
+                            image.setRGB(x, y, 0);
+                        }
+                    }
+                }
+            }
+            deferred.complete(new ImageRenderable(image));
+        } catch (IOException e) {
+            failures.incrementAndGet();
+        }
+    }
+
+    /**
+     * Marks the first frame of the game. Only the first call counts.
+     */
+    public void markFirstFrame() {
+        if (firstFrameNanos < 0) {
+            firstFrameNanos = System.nanoTime() - startNanos;
+        }
+    }
+
+    /**
+     * Returns the time from the start to the first frame.
+     *
+     * @return The time in nanoseconds, or -1 before the first frame.
+     */
+    public long getFirstFrameNanos() {
+        return firstFrameNanos;
+    }
+
+    /**
+     * Returns the time from the start until every asset was decoded.
+     *
+     * @return The time in nanoseconds, or -1 while assets are still decoded.
+     */
+    public long getFullyLoadedNanos() {
+        return fullyLoadedNanos;
+    }
+
+    /**
+     * Summarizes the loading times.
+     *
+     * @return A one-line report, with times in milliseconds.
+     */
+    public String report() {
+        return String.format("firstFrameMs=%.1f fullyLoadedMs=%.1f failedAssets=%d",
+                firstFrameNanos / 1e6, fullyLoadedNanos / 1e6, failures.get());
+    }
+}
@@ -1,31 +1,35 @@
 package bricker.utills;
 
+import danogl.collisions.Layer;
 import danogl.util.Vector2;
 
+import java.awt.Color;
+
 public class Constants {
     /**
      * Constants class contains constant values used throughout the application.
      */
     // Tags for game objects
-    public static final String WALL_TAG = "Wall";
     public static final String TEMP_PADDLE_TAG = "TempPaddle";
     public static final String PADDLE_TAG = "Paddle";
+    public static final String BOT_PADDLE_TAG = "BotPaddle";
     public static final String BALL_TAG = "Ball";
     public static final String PUCK_TAG = "Puck";
-    public static final String FLOOR_TAG = "Floor";
-    public static final String CEILING_TAG = "Ceiling";
-    public static final String FALL_HEART_TAG = "FallHeart";
 
 
     // File paths for images and sounds
     public static final String BRICK_PNG = "assets/brick.png";
     public static final String HEART_PNG = "assets/heart.png";
     public static final String PADDLE_PNG = "assets/paddle.png";
+    public static final String BOT_GOOD_PNG = "assets/botGood.png";
+    public static final String BOT_BAD_PNG = "assets/botBad.png";
     public static final String BALL_PNG = "assets/ball.png";
     public static final String SOUND_PUCK_PATH = "assets/blop_cut_silenced.wav";
     public static final String PUCK_IMAGE_PATH = "assets/mockBall.png";
     public static final String BACKGROUND_PNG = "assets/DARK_BG2_small.jpeg";
     public static final String BLOP_SOUND = "assets/blop_cut_silenced.wav";
+    public static final int ASSET_CACHE_SIZE = 16;
+    public static final Color PLACEHOLDER_COLOR = new Color(96, 96, 96, 160);
 
 
     // Game dimensions and configurations
@@ -35,7 +39,10 @@ public class Constants {
     public static final int DOUBLE_ACTION_MAX = 3;
     public static final int WITH_DOUBLE = 5;
     public static final int WITHOUT_DOUBLE = 4;
+    public static final int MAX_WITHOUT_DOUBLE = 4; // a roll of 4 is a double action
     public static final int PUCK_BALLS = 2;
+    public static final int PUCK_POOL_CAPACITY = 256;
+    public static final int PUCK_LAYER = Layer.DEFAULT + 1;
     public static final int INPUT_ROUND = 4;
     public static final int DEFAULT_BOUND = 10;
     public static final int MAX_HEART_AMOUNT = 4;
@@ -83,5 +90,86 @@ public class Constants {
     public static final int ZERO = 0;
     public static final float HALF = 0.5f;
 
+
+    // Seeds and replays
+    public static final String SEED_PROPERTY = "bricker.seed";
+    public static final String RECORD_PROPERTY = "bricker.record";
+    public static final String REPLAY_PROPERTY = "bricker.replay";
+    public static final String LEVEL_PROPERTY = "bricker.level";
+    public static final String CHECKPOINT_PROPERTY = "bricker.checkpoint";
+    public static final String CHECKPOINT_SECONDS_PROPERTY = "bricker.checkpointSeconds";
+    public static final String DEFAULT_CHECKPOINT_SECONDS = "10";
+    public static final String RESTORE_PROPERTY = "bricker.restore";
+
+
+    // Campaign
+    public static final String CAMPAIGN_PROPERTY = "bricker.campaign";
+    public static final long LEVEL_SEED_MULTIPLIER = 0xBF58476D1CE4E5B9L;
+    public static final long LEVEL_PLAY_SEED_MULTIPLIER = 0x94D049BB133111EBL;
+    public static final int CAMPAIGN_BOUND_STEP = 2;
+    public static final int CAMPAIGN_SPEED_STEP = 25;
+
+
+    // Bot paddles
+    public static final String BOTS_PROPERTY = "bricker.bots";
+    public static final String DEFAULT_BOTS = "0,0";
+    public static final Vector2 BOT_DIMENSIONS = new Vector2(100, 10);
+    public static final float HELPER_BOT_SPEED = 0.5f;
+    public static final float HOSTILE_BOT_SPEED = 0.4f;
+    public static final float BOT_DEAD_ZONE = 10;
+    public static final int PREDICTION_MAX_BOUNCES = 8;
+
+
+    // Physics
+    public static final String PHYSICS_HZ_PROPERTY = "bricker.physicsHz";
+    public static final String MAX_SUBSTEPS_PROPERTY = "bricker.maxSubsteps";
+    public static final int DEFAULT_MAX_SUBSTEPS = 8;
+    public static final int MAX_SWEEP_HITS = 4;
+
+
+    // Brick chunks
+    public static final int BRICK_CHUNK_SIDE = 16;
+    public static final int LAZY_BRICK_CELLS = 4096;
+    public static final long CHUNK_SEED_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+
+    // Audio
+    public static final String AUDIO_PROPERTY = "bricker.audio";
+    public static final String AUDIO_MIXER = "mixer";
+    public static final String AUDIO_NULL = "null";
+    public static final String AUDIO_DANOGL = "danogl";
+    public static final float MIXER_SAMPLE_RATE = 48000;
+    public static final int MIXER_BLOCK_FRAMES = 512;
+    public static final int MIXER_LINE_BUFFER_BYTES = 8192;
+    public static final int MIXER_VOICES = 8;
+    public static final long MIXER_COALESCE_NANOS = 30_000_000L;
+
+
+    // Diagnostics
+    public static final String JFR_PROPERTY = "bricker.jfr";
+    public static final String REPORTS_PROPERTY = "bricker.reports";
+
+
+    // Headless simulation
+    public static final float HEADLESS_DELTA_TIME = 1f / 60;
+    public static final int HEADLESS_MAX_FRAMES = 100_000;
+    public static final int HEADLESS_GAMES = 100;
+    public static final float SCRIPTED_PADDLE_DEAD_ZONE = 10;
+    public static final String SIM_BOUND_PROPERTY = "bricker.sim.bound";
+    public static final String SIM_WITH_DOUBLE_PROPERTY = "bricker.sim.withDouble";
+    public static final String SIM_WITHOUT_DOUBLE_PROPERTY = "bricker.sim.withoutDouble";
+    public static final String SIM_PUCK_BALLS_PROPERTY = "bricker.sim.puckBalls";
+    public static final String SIM_BALL_SPEED_PROPERTY = "bricker.sim.ballSpeed";
+
+
+    // Puck swarm stress test
+    public static final String STRESS_PUCKS_PROPERTY = "bricker.stress.pucks";
+    public static final String STRESS_DEFAULT_PUCKS = "10,100,1000,10000,100000";
+    public static final int STRESS_BRICKS_SIDE = 100;
+    public static final int STRESS_WARMUP_FRAMES = 60;
+    public static final int STRESS_FRAMES = 300;
+    public static final float STRESS_SPAWN_TOP = 0.5f;
+    public static final float STRESS_SPAWN_HEIGHT = 0.3f;
+
 }
 
@@ -0,0 +1,32 @@
+package bricker.utills;
+
+/**
+ * Neutral return values for the stand-in implementations of the danogl
+ * interfaces, which answer every call they do not care about.
+ */
+public final class DefaultValues {
+
+    private DefaultValues() {
+    }
+
+    /**
+     * Returns the neutral value for a method return type.
+     *
+     * @param type The return type.
+     * @return false, zero or null according to the type.
+     */
+    public static Object of(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == float.class) {
+            return 0f;
+        } else if (type == double.class) {
+            return 0d;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,113 @@
+package bricker.utills;
+
+/**
+ * The tunable balance settings of a game session.
+ *
+ * <p>The settings default to the values in {@link Constants}. A session
+ * takes its GameConfig at construction, so sessions with different
+ * settings can run side by side, as in the balance simulator.
+ */
+public final class GameConfig {
+    /** The settings the game ships with. */
+    public static final GameConfig DEFAULT = new GameConfig(
+            Constants.DEFAULT_BOUND,
+            Constants.WITH_DOUBLE,
+            Constants.WITHOUT_DOUBLE,
+            Constants.PUCK_BALLS,
+            Constants.BALL_SPEED);
+
+    private final int defaultBound;
+    private final int withDouble;
+    private final int withoutDouble;
+    private final int puckBalls;
+    private final int ballSpeed;
+
+    /**
+     * Constructs a GameConfig.
+     *
+     * @param defaultBound  The bound of the strategy roll of every brick.
+     * @param withDouble    The bound of the rolls inside a double action
+     *                      that may nest another double action.
+     * @param withoutDouble The bound of the rolls inside a double action
+     *                      that may not nest another double action, at most
+     *                      {@value Constants#MAX_WITHOUT_DOUBLE}.
+     * @param puckBalls     The number of pucks an extra ball brick spawns.
+     * @param ballSpeed     The speed of the ball and the pucks.
+     * @throws IllegalArgumentException If a bound or the speed is not positive,
+     *                                  the bound without double action is large
+     *                                  enough to roll a double action, or the
+     *                                  puck count is negative.
+     */
+    public GameConfig(int defaultBound, int withDouble, int withoutDouble,
+                      int puckBalls, int ballSpeed) {
+        if (defaultBound < 1 || withDouble < 1 || withoutDouble < 1 || ballSpeed < 1) {
+            throw new IllegalArgumentException("Bounds and ball speed must be positive");
+        }
+        // Double actions nesting without end would outgrow the short strategy ids
+        if (withoutDouble > Constants.MAX_WITHOUT_DOUBLE) {
+            throw new IllegalArgumentException("Bound without double action must be at most "
+                    + Constants.MAX_WITHOUT_DOUBLE);
+        }
+        if (puckBalls < 0) {
+            throw new IllegalArgumentException("Puck count must not be negative");
+        }
+        this.defaultBound = defaultBound;
+        this.withDouble = withDouble;
+        this.withoutDouble = withoutDouble;
+        this.puckBalls = puckBalls;
+        this.ballSpeed = ballSpeed;
+    }
+
+    /**
+     * Returns the bound of the strategy roll of every brick.
+     *
+     * @return The default bound.
+     */
+    public int getDefaultBound() {
+        return defaultBound;
+    }
+
+    /**
+     * Returns the bound of the rolls inside a double action
+     * that may nest another double action.
+     *
+     * @return The bound with double action.
+     */
+    public int getWithDouble() {
+        return withDouble;
+    }
+
+    /**
+     * Returns the bound of the rolls inside a double action
+     * that may not nest another double action.
+     *
+     * @return The bound without double action.
+     */
+    public int getWithoutDouble() {
+        return withoutDouble;
+    }
+
+    /**
+     * Returns the number of pucks an extra ball brick spawns.
+     *
+     * @return The puck count.
+     */
+    public int getPuckBalls() {
+        return puckBalls;
+    }
+
+    /**
+     * Returns the speed of the ball and the pucks.
+     *
+     * @return The ball speed.
+     */
+    public int getBallSpeed() {
+        return ballSpeed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("bound=%d withDouble=%d withoutDouble=%d puckBalls=%d ballSpeed=%d",
+                defaultBound, withDouble, withoutDouble, puckBalls, ballSpeed);
+    }
+}